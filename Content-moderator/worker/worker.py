@@ -16,6 +16,9 @@ preserved through partitioning):
     {"v":1, "contentType":"POST", "contentId":"...", "version":3,
      "flagged":true, "scores":{"toxic":0.98, "severe_toxic":0.02}}
 
+The request may also carry an opaque "cacheKey"; it is echoed on the verdict
+untouched (the backend files the verdict under it to skip re-scoring the same text).
+
 Malformed requests are forwarded to the DLQ topic instead of wedging the
 partition. Batching is natural here: one consume() call returns up to MAX_BATCH
 messages, topped up within LINGER_MS — one inference call per batch.
@@ -114,6 +117,7 @@ def flush(consumer: Consumer, producer: Producer, batch: list) -> None:
                 "version": req.get("version"),
                 "flagged": flagged,
                 "scores": s,
+                "cacheKey": req.get("cacheKey"),
             }
             producer.produce(
                 VERDICTS_TOPIC,
@@ -0,0 +1,122 @@
+package org.example.backend.moderation.inference;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The JVM counterpart of {@code bench/bench_inference.py}: same corpus mix, seed, batch sizes,
+ * iteration counts and percentile interpolation, timing tokenize + forward pass exactly as the
+ * in-process worker calls them, so its table lines up with docs/performance.md §A. A plain
+ * harness rather than JMH so the percentiles mean the same thing in both tables.
+ *
+ * <pre>
+ * mvn -Pinproc-moderation test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *      org.example.backend.moderation.inference.InferenceBench /path/to/model [maxSeqLen]
+ * </pre>
+ */
+public class InferenceBench {
+
+    private static final List<String> SHORT = List.of(
+            "great movie, loved the ending",
+            "this take is so wrong lol",
+            "who else rewatched this last night?",
+            "the pacing dragged in act two honestly",
+            "underrated performance, deserved an oscar",
+            "you clearly have no idea what you're talking about",
+            "nah the book was way better",
+            "cinematography carried the whole thing");
+    private static final List<String> MEDIUM = List.of(
+            "I think the third act completely undercuts the emotional setup from the first "
+                    + "hour. The director clearly wanted a twist but it lands flat because we were "
+                    + "never given a reason to trust the narrator in the first place.",
+            "Hot take: the sequel is better than the original. The world-building finally "
+                    + "pays off, the side characters get real arcs, and the score is genuinely one of "
+                    + "the best of the decade. Fight me in the replies.",
+            "honestly this forum has gone downhill, half the posts are just people being "
+                    + "obnoxious and picking fights instead of actually discussing the films");
+    private static final List<String> LONG = List.of(
+            "Long-form review incoming. " + ("This film rewards patience in ways modern "
+                    + "blockbusters rarely attempt; every frame is composed with intent, and the "
+                    + "restraint in the first ninety minutes is precisely what makes the final "
+                    + "sequence detonate. ").repeat(6));
+
+    // {batch, iters, warmup}, as in the Python script
+    private static final int[][] CONFIGS = {{1, 300, 20}, {8, 200, 10}, {16, 200, 10}, {32, 150, 10}};
+
+    private final Random random = new Random(1234);
+    private final WordPieceTokenizer tokenizer;
+    private final ToxicityScorer scorer;
+
+    InferenceBench(WordPieceTokenizer tokenizer, ToxicityScorer scorer) {
+        this.tokenizer = tokenizer;
+        this.scorer = scorer;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path modelDir = Path.of(args[0]);
+        int maxSeqLen = args.length > 1 ? Integer.parseInt(args[1]) : 256;
+        WordPieceTokenizer tokenizer = WordPieceTokenizer.load(modelDir.resolve("vocab.txt"), true, maxSeqLen);
+        OnnxToxicityScorer scorer = new OnnxToxicityScorer(modelDir, 1, tokenizer);
+        System.out.printf("ort_threads=1 max_seq_len=%d model_dir=%s%n%n", maxSeqLen, modelDir);
+
+        InferenceBench bench = new InferenceBench(tokenizer, scorer);
+        System.out.printf("%5s %6s | per-CALL latency (ms)                           | per-ITEM (ms)        | items/s%n", "batch", "iters");
+        System.out.printf("%5s %6s | %7s %7s %7s %7s %7s %7s | %6s %6s %6s |%n", "", "", "p50", "p90", "p95", "p99", "max", "mean", "p50", "p95", "p99");
+        System.out.println("-".repeat(108));
+        for (int[] config : CONFIGS) {
+            bench.run(config[0], config[1], config[2]);
+        }
+        scorer.close();
+    }
+
+    void run(int batchSize, int iters, int warmup) {
+        for (int i = 0; i < warmup; i++) {
+            score(batch(batchSize));
+        }
+        double[] callMs = new double[iters];
+        for (int i = 0; i < iters; i++) {
+            List<String> batch = batch(batchSize);
+            long start = System.nanoTime();
+            score(batch);
+            callMs[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(callMs);
+        double total = Arrays.stream(callMs).sum();
+        System.out.printf("%5d %6d | %7.2f %7.2f %7.2f %7.2f %7.2f %7.2f | %6.2f %6.2f %6.2f | %7.0f%n",
+                batchSize, iters,
+                pctl(callMs, 50), pctl(callMs, 90), pctl(callMs, 95), pctl(callMs, 99),
+                callMs[iters - 1], total / iters,
+                pctl(callMs, 50) / batchSize, pctl(callMs, 95) / batchSize, pctl(callMs, 99) / batchSize,
+                batchSize * iters / (total / 1000));
+    }
+
+    // One padded call per batch, like inference.score(): the worker's bucketing is not applied here.
+    private void score(List<String> texts) {
+        List<int[]> ids = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            ids.add(tokenizer.encode(text));
+        }
+        scorer.score(ids);
+    }
+
+    private List<String> batch(int size) {
+        List<String> batch = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            double r = random.nextDouble();
+            List<String> pool = r < 0.60 ? SHORT : r < 0.92 ? MEDIUM : LONG;
+            batch.add(pool.get(random.nextInt(pool.size())));
+        }
+        return batch;
+    }
+
+    private static double pctl(double[] sorted, double p) {
+        double k = (sorted.length - 1) * (p / 100.0);
+        int lo = (int) k;
+        int hi = Math.min(lo + 1, sorted.length - 1);
+        return sorted[lo] + (sorted[hi] - sorted[lo]) * (k - lo);
+    }
+}
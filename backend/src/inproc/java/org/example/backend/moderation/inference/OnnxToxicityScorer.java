@@ -0,0 +1,121 @@
+package org.example.backend.moderation.inference;
+
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.LongBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * {@link ToxicityScorer} over the worker's model ({@code MiniLMv2-toxic-jigsaw-lite}, INT8
+ * ONNX export) on ONNX Runtime's CPU provider, configured like the Python worker's session:
+ * the first {@code *.onnx} in the model directory, one intra-op and one inter-op thread (the
+ * inference executor supplies the parallelism), and only the inputs the graph declares.
+ * Logits go through a sigmoid; column 0 is toxic, column 1 severe_toxic.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "moderation.engine", havingValue = InProcessModerationWorker.ENGINE)
+public class OnnxToxicityScorer implements ToxicityScorer {
+
+    private final OrtEnvironment environment;
+    private final OrtSession session;
+    private final Set<String> inputs;
+    private final long padId;
+
+    public OnnxToxicityScorer(@Value("${moderation.inproc.model-dir}") Path modelDir,
+                              @Value("${moderation.inproc.ort-threads:1}") int ortThreads,
+                              WordPieceTokenizer tokenizer) throws OrtException {
+        this.environment = OrtEnvironment.getEnvironment();
+        try (OrtSession.SessionOptions options = new OrtSession.SessionOptions()) {
+            options.setIntraOpNumThreads(ortThreads);
+            options.setInterOpNumThreads(ortThreads);
+            Path model = findModel(modelDir);
+            this.session = environment.createSession(model.toString(), options);
+            log.info("Loaded moderation model {} (inputs {})", model, session.getInputNames());
+        }
+        this.inputs = session.getInputNames();
+        this.padId = tokenizer.padId();
+    }
+
+    private static Path findModel(Path modelDir) {
+        try (Stream<Path> files = Files.list(modelDir)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(".onnx"))
+                    .sorted()
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No .onnx model in " + modelDir));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public List<ToxicityScores> score(List<int[]> tokenIds) {
+        if (tokenIds.isEmpty()) {
+            return List.of();
+        }
+        int rows = tokenIds.size();
+        int width = tokenIds.stream().mapToInt(ids -> ids.length).max().orElse(0);
+        long[] ids = new long[rows * width];
+        long[] mask = new long[rows * width];
+        for (int r = 0; r < rows; r++) {
+            int[] row = tokenIds.get(r);
+            for (int c = 0; c < width; c++) {
+                boolean present = c < row.length;
+                ids[r * width + c] = present ? row[c] : padId;
+                mask[r * width + c] = present ? 1 : 0;
+            }
+        }
+        long[] shape = {rows, width};
+
+        Map<String, OnnxTensor> feed = new HashMap<>();
+        try {
+            if (inputs.contains("input_ids")) {
+                feed.put("input_ids", OnnxTensor.createTensor(environment, LongBuffer.wrap(ids), shape));
+            }
+            if (inputs.contains("attention_mask")) {
+                feed.put("attention_mask", OnnxTensor.createTensor(environment, LongBuffer.wrap(mask), shape));
+            }
+            if (inputs.contains("token_type_ids")) {
+                feed.put("token_type_ids", OnnxTensor.createTensor(environment, LongBuffer.wrap(new long[rows * width]), shape));
+            }
+            try (OrtSession.Result result = session.run(feed)) {
+                float[][] logits = (float[][]) result.get(0).getValue();
+                List<ToxicityScores> scores = new ArrayList<>(rows);
+                for (float[] row : logits) {
+                    scores.add(new ToxicityScores(sigmoid(row[0]), sigmoid(row[1])));
+                }
+                return scores;
+            }
+        } catch (OrtException e) {
+            throw new IllegalStateException("ONNX inference failed", e);
+        } finally {
+            feed.values().forEach(OnnxTensor::close);
+        }
+    }
+
+    private static double sigmoid(float logit) {
+        return 1.0 / (1.0 + Math.exp(-logit));
+    }
+
+    @PreDestroy
+    public void close() throws OrtException {
+        session.close();
+    }
+}
@@ -50,9 +50,17 @@ public class Comment extends SoftDeletable implements Moderatable {
     @Column(name = "score", insertable = false, updatable = false)
     private Integer score;
 
-    @Column(nullable = false)
-    @Builder.Default
-    private Integer depth = 0;   // 0 = top-level, 1 = reply, 2 = nested reply
+    // path (root-first ancestor ids, V13) and depth are set from the parent's row by the
+    // comment_path insert trigger, never written by the application.
+    @Column(name = "path", nullable = false, insertable = false, updatable = false, columnDefinition = "text")
+    private String path;
+
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Integer depth;   // 0 = top-level, 1 = reply, 2 = nested reply
+
+    // Deepest allowed depth (V13 comment_depth_limit: depth < 64); a comment this deep
+    // takes no replies.
+    public static final int MAX_DEPTH = 63;
 
     // Direct-children count. Maintained by CommentService via atomic @Modifying increments
     // (not a trigger — a comments→comments trigger collides with bulk subtree soft-deletes).
@@ -4,7 +4,8 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.util.UUID;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.example.backend.common.paging.Totals;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -29,12 +30,13 @@ public class CommentController {
         return ResponseEntity.ok("Comment deleted successfully");
     }
     @GetMapping("/v1/post/{postId}")
-    public ResponseEntity<Page<CommentView>> getAllComments(HttpServletRequest request,
+    public ResponseEntity<Slice<CommentView>> getAllComments(HttpServletRequest request,
                                                         @PathVariable UUID postId,
                                                         @RequestParam(defaultValue = "0") int page,
                                                         @RequestParam(defaultValue = "20") int size,
-                                                        @RequestParam(defaultValue = "score") String sortBy) {
-        return ResponseEntity.ok(commentService.getPostComments(postId, page, size, sortBy));
+                                                        @RequestParam(defaultValue = "score") String sortBy,
+                                                        @RequestParam(defaultValue = "exact") String totals) {
+        return ResponseEntity.ok(commentService.getPostComments(postId, page, size, sortBy, Totals.from(totals)));
     }
     @GetMapping("/v1/{parentId}/replies")
     public ResponseEntity<List<CommentView>> getAllReplies(HttpServletRequest request,
@@ -42,4 +44,33 @@ public class CommentController {
                                                        @RequestParam(defaultValue = "score") String sortBy) {
         return ResponseEntity.ok(commentService.getReplies(parentId,sortBy));
     }
+    /** Every reply under a comment at any depth, depth-first; pass the last id back as after. */
+    @GetMapping("/v1/{commentId}/subtree")
+    public ResponseEntity<Slice<CommentView>> getSubtree(@PathVariable UUID commentId,
+                                                         @RequestParam(required = false) UUID after,
+                                                         @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(commentService.getDescendants(commentId, after, size));
+    }
+    @GetMapping("/v1/{commentId}/subtree/count")
+    public ResponseEntity<Long> countSubtree(@PathVariable UUID commentId) {
+        return ResponseEntity.ok(commentService.countDescendants(commentId));
+    }
+
+    /**
+     * Whole discussion in one call: a bounded comment tree, flattened depth-first with
+     * parentIndex links; truncated branches carry a moreReplies token, and nextCursor
+     * continues the root list. Pass either token back as cursor (same sortBy). withVotes
+     * embeds the caller's vote on every comment, so no per-comment vote lookups are needed.
+     */
+    @GetMapping("/v1/post/{postId}/thread")
+    public ResponseEntity<CommentThreadResponse> getThread(HttpServletRequest request,
+                                                           @PathVariable UUID postId,
+                                                           @RequestParam(defaultValue = "score") String sortBy,
+                                                           @RequestParam(defaultValue = "3") int depth,
+                                                           @RequestParam(defaultValue = "20") int limit,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "false") boolean withVotes) {
+        Long voterId = withVotes ? (Long) request.getAttribute("userId") : null;
+        return ResponseEntity.ok(commentService.getThread(postId, sortBy, depth, limit, cursor, voterId));
+    }
 }
@@ -1,37 +1,71 @@
 package org.example.backend.comment;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface CommentRepository extends JpaRepository<Comment, UUID> {
     // CommentView (not Comment) so the controller never serializes the raw entity (CQ-NEW-03).
     Page<CommentView> findByPostIdAndIsDeletedAndDepth(UUID postId, Boolean isDeleted, Integer depth, Pageable pageable);
+    Slice<CommentView> findSliceByPostIdAndIsDeletedAndDepth(UUID postId, Boolean isDeleted, Integer depth, Pageable pageable);
+    // Forum export: every live comment under the forum's live posts, in the same post order
+    // as PostRepository.streamForumExport so the two cursors can be merged in one pass.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c.id as id, c.postId as postId, c.parentId as parentId, c.ownerId as ownerId, " +
+           "c.content as content, c.upvoteCount as upvoteCount, c.downvoteCount as downvoteCount, " +
+           "c.score as score, c.depth as depth, c.createdAt as createdAt, " +
+           "c.numberOfReplies as numberOfReplies, c.isDeleted as isDeleted " +
+           "from Comment c join Post p on p.id = c.postId " +
+           "where p.forumId = :forumId and p.isDeleted = false and c.isDeleted = false " +
+           "order by c.postId, c.id")
+    Stream<CommentView> streamForumExport(@Param("forumId") UUID forumId);
+
     // Pageable (not Sort) caps replies at a fixed size (API-NEW-01) — one viral comment
     // could otherwise have an unbounded number of direct replies.
     List<CommentView> findByParentIdAndIsDeleted(UUID parentId, Boolean isDeleted, Pageable pageable);
 
-    // Recursive subtree soft-delete (replaces the Mongo $graphLookup). Triggers keep
-    // posts.comment_count and parents' number_of_replies correct as each row flips.
+    // Subtree operations are one range over idx_comment_path (V13): a comment's subtree is
+    // every path that starts with its own. The root's path is read by primary key in the
+    // same statement. Triggers keep posts.comment_count correct as each row flips.
     @Modifying
     @Query(value = """
-            WITH RECURSIVE subtree AS (
-                SELECT id FROM comments WHERE id = :root
-                UNION ALL
-                SELECT c.id FROM comments c JOIN subtree s ON c.parent_id = s.id
-            )
-            UPDATE comments SET is_deleted = true, deleted_at = :ts
-            WHERE id IN (SELECT id FROM subtree) AND is_deleted = false
+            UPDATE comments c SET is_deleted = true, deleted_at = :ts
+            FROM comments r
+            WHERE r.id = :root
+              AND c.path >= r.path AND c.path < r.path || 'g' AND NOT c.is_deleted
             """, nativeQuery = true)
     int softDeleteSubtree(@Param("root") UUID root, @Param("ts") Instant ts);
 
+    @Query("select count(c) from Comment c, Comment r where r.id = :root " +
+           "and c.path > r.path and c.path < concat(r.path, 'g') and c.isDeleted = false")
+    long countDescendants(@Param("root") UUID root);
+
+    // Every live descendant in path (depth-first) order, resuming after the descendant
+    // `after` (the root itself for the first page).
+    @Query("select c.id as id, c.postId as postId, c.parentId as parentId, c.ownerId as ownerId, " +
+           "c.content as content, c.upvoteCount as upvoteCount, c.downvoteCount as downvoteCount, " +
+           "c.score as score, c.depth as depth, c.createdAt as createdAt, " +
+           "c.numberOfReplies as numberOfReplies, c.isDeleted as isDeleted " +
+           "from Comment c, Comment r, Comment a where r.id = :root and a.id = :after " +
+           "and c.path > a.path and c.path < concat(r.path, 'g') and c.isDeleted = false " +
+           "order by c.path")
+    Slice<CommentView> findDescendants(@Param("root") UUID root, @Param("after") UUID after, Pageable pageable);
+
     @Modifying
     @Query("update Comment c set c.isDeleted = true, c.deletedAt = :ts where c.postId = :postId and c.isDeleted = false")
     int softDeleteByPost(@Param("postId") UUID postId, @Param("ts") Instant ts);
@@ -49,8 +83,15 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
     // a comments→comments trigger can't collide with bulk subtree soft-deletes. Atomic +/-
     // is also concurrency-safe (two replies to the same parent can't lose an update).
     @Modifying
-    @Query("update Comment c set c.numberOfReplies = c.numberOfReplies + 1 where c.id = :id")
-    int incrementReplies(@Param("id") UUID id);
+    // Also the parent check for a new reply: 0 rows means no live parent on that post, or
+    // one already at the maximum depth.
+    @Query("update Comment c set c.numberOfReplies = c.numberOfReplies + 1 " +
+           "where c.id = :id and c.postId = :postId and c.isDeleted = false " +
+           "and c.depth < " + Comment.MAX_DEPTH)
+    int incrementReplies(@Param("id") UUID id, @Param("postId") UUID postId);
+
+    // Tells the two cases apart once incrementReplies has matched nothing.
+    boolean existsByIdAndIsDeletedFalseAndDepthGreaterThanEqual(UUID id, Integer depth);
 
     @Modifying
     @Query("update Comment c set c.numberOfReplies = c.numberOfReplies - 1 where c.id = :id")
@@ -63,6 +104,15 @@ public interface CommentRepository extends JpaRepository<Comment, UUID> {
            "and c.moderationStatus = org.example.backend.moderation.ModerationStatus.PENDING")
     int approveModeration(@Param("id") UUID id, @Param("version") long version);
 
+    // Batched form for the verdict listener — see PostRepository.
+    @Modifying
+    @Query(value = """
+            UPDATE comments t SET moderation_status = 'APPROVED'
+            FROM unnest(CAST(:ids AS uuid[]), CAST(:versions AS bigint[])) AS v(id, version)
+            WHERE t.id = v.id AND t.moderation_version = v.version AND t.moderation_status = 'PENDING'
+            """, nativeQuery = true)
+    int approveModerationBatch(@Param("ids") UUID[] ids, @Param("versions") Long[] versions);
+
     @Modifying
     @Query("update Comment c set c.moderationStatus = org.example.backend.moderation.ModerationStatus.REMOVED where c.id = :id")
     int markModerationRemoved(@Param("id") UUID id);
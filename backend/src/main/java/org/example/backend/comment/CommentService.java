@@ -1,22 +1,33 @@
 package org.example.backend.comment;
 
 import lombok.RequiredArgsConstructor;
+import org.example.backend.common.paging.Paging;
+import org.example.backend.common.paging.RowEstimator;
+import org.example.backend.common.paging.Totals;
 import org.example.backend.deletion.AccessService;
 import org.example.backend.deletion.CascadeDeletionService;
 import org.example.backend.moderation.ContentType;
 import org.example.backend.moderation.ModerationOutboxService;
 import org.example.backend.post.Post;
+import org.example.backend.post.PostActivityTracker;
 import org.example.backend.post.PostRepository;
-import org.springframework.data.domain.Page;
+import org.example.backend.vote.VoteService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -24,33 +35,47 @@ import java.util.UUID;
 public class CommentService {
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
+    private final PostActivityTracker activityTracker;
     private final CascadeDeletionService deletionService;
     private final AccessService accessService;
     private final ModerationOutboxService moderationOutboxService;
+    private final RowEstimator rowEstimator;
+    private final CommentThreadQuery threadQuery;
+    private final VoteService voteService;
+
+    // Per-level reply caps for thread reads: first level below the roots, second, …; the last
+    // entry repeats for deeper levels.
+    @Value("${comment.thread.fanout:10,5,3}")
+    private int[] threadFanout;
 
     // Optimistic-publish moderation. The comment insert + outbox entry commit in one
-    // transaction; the comment-count and reply-count are maintained by DB triggers (no
-    // more manual $inc), and we bump the post's lastActivityAt for the "hot" ranking.
+    // transaction; the comment-count is maintained by a DB trigger, depth/path by the
+    // comment_path insert trigger (the parent is never loaded), and the post's
+    // lastActivityAt for the "hot" ranking is written behind by PostActivityTracker.
     @Transactional
     public Comment addComment(Long ownerId, AddCommentDTO addCommentDTO) {
         Post post = canComment(addCommentDTO.getPostId());
-        Comment parentComment = getParentComment(addCommentDTO.getParentId());
-        UUID parentId = (parentComment != null) ? parentComment.getId() : null;
+        UUID parentId = addCommentDTO.getParentId();
+        // The reply-count bump doubles as the parent check, and its row lock holds the
+        // parent in place until this reply commits.
+        if (parentId != null && commentRepository.incrementReplies(parentId, post.getId()) == 0) {
+            if (commentRepository.existsByIdAndIsDeletedFalseAndDepthGreaterThanEqual(parentId, Comment.MAX_DEPTH)) {
+                throw new IllegalArgumentException("Maximum reply depth reached: comment " + parentId
+                        + " can't take further replies");
+            }
+            throw new IllegalArgumentException("Parent comment not found with id: " + parentId);
+        }
 
         Comment comment = Comment.builder()
                 .ownerId(ownerId)
                 .postId(post.getId())
                 .parentId(parentId)
                 .content(addCommentDTO.getContent())
-                .depth(parentComment == null ? 0 : parentComment.getDepth() + 1)
                 .createdAt(Instant.now())
                 .build();
 
         Comment saved = commentRepository.save(comment);
-        if (parentId != null) {
-            commentRepository.incrementReplies(parentId);
-        }
-        postRepository.touchLastActivity(post.getId(), Instant.now());
+        activityTracker.record(post.getId());
         moderationOutboxService.enqueue(ContentType.COMMENT, saved.getId(),
                 saved.getModerationVersion(), saved.getContent());
         return saved;
@@ -68,7 +93,7 @@ public class CommentService {
 
     @Transactional
     public void systemDeleteComment(Comment comment) {
-        postRepository.touchLastActivity(comment.getPostId(), Instant.now());
+        activityTracker.record(comment.getPostId());
         deletionService.deleteComment(comment.getId());
         // The surviving parent loses exactly one direct child (the subtree root); the rest
         // of the subtree is deleted too, so no other reply-counts matter (REL-07).
@@ -77,10 +102,16 @@ public class CommentService {
         }
     }
 
+    private static final String TOP_LEVEL_ESTIMATE =
+            "SELECT 1 FROM comments WHERE post_id = %L AND depth = 0 AND NOT is_deleted";
+
     @Transactional(readOnly = true)
-    public Page<CommentView> getPostComments(UUID postId, int page, int size, String sortBy) {
+    public Slice<CommentView> getPostComments(UUID postId, int page, int size, String sortBy, Totals totals) {
         Pageable pageable = PageRequest.of(page, size, getSort(sortBy));
-        return commentRepository.findByPostIdAndIsDeletedAndDepth(postId, false, 0, pageable);
+        return Paging.fetch(totals, pageable,
+                p -> commentRepository.findByPostIdAndIsDeletedAndDepth(postId, false, 0, p),
+                p -> commentRepository.findSliceByPostIdAndIsDeletedAndDepth(postId, false, 0, p),
+                () -> rowEstimator.estimate(TOP_LEVEL_ESTIMATE, postId));
     }
 
     // Cap on direct replies returned for one comment (API-NEW-01).
@@ -92,9 +123,103 @@ public class CommentService {
         return commentRepository.findByParentIdAndIsDeleted(commentId, false, pageable);
     }
 
+    static final int MAX_SUBTREE_PAGE = 500;
+
+    /**
+     * A comment's whole reply subtree, depth-first, as one index range over the materialized
+     * path. Paged by the last descendant returned ({@code after}), not by offset.
+     */
+    @Transactional(readOnly = true)
+    public Slice<CommentView> getDescendants(UUID commentId, UUID after, int size) {
+        if (size < 1 || size > MAX_SUBTREE_PAGE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_SUBTREE_PAGE);
+        }
+        return commentRepository.findDescendants(commentId, after == null ? commentId : after,
+                PageRequest.of(0, size));
+    }
+
+    @Transactional(readOnly = true)
+    public long countDescendants(UUID commentId) {
+        return commentRepository.countDescendants(commentId);
+    }
+
+    static final int MAX_THREAD_DEPTH = 10;
+    static final int MAX_THREAD_ROOTS = 100;
+
+    /**
+     * A post's discussion as one bounded tree, read in a single statement (see
+     * {@link CommentThreadQuery}): up to {@code limit} top-level comments — or, with a
+     * {@code cursor}, the next siblings of the list it was cut from — each expanded
+     * {@code depth} levels deep under the configured fan-out caps. Truncated lists carry
+     * continuation tokens instead of being counted. With a {@code voterId}, each comment
+     * carries that user's vote, looked up for the whole response in one query.
+     */
+    @Transactional(readOnly = true)
+    public CommentThreadResponse getThread(UUID postId, String sortBy, int depth, int limit, String cursorToken,
+                                           Long voterId) {
+        if (depth < 0 || depth > MAX_THREAD_DEPTH) {
+            throw new IllegalArgumentException("depth must be between 0 and " + MAX_THREAD_DEPTH);
+        }
+        if (limit < 1 || limit > MAX_THREAD_ROOTS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_THREAD_ROOTS);
+        }
+        CommentSort sort = CommentSort.from(sortBy);
+        CommentThreadCursor cursor = (cursorToken == null || cursorToken.isBlank())
+                ? CommentThreadCursor.start(null, sort) : CommentThreadCursor.decode(cursorToken);
+        if (cursor.sort() != sort) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort");
+        }
+
+        List<CommentThreadNode> rows = threadQuery.read(postId, cursor, limit, depth, threadFanout);
+
+        // Rows arrive depth-first, so a parent always precedes its replies and siblings arrive
+        // in rank order: the last sibling seen for a parent is where its continuation resumes.
+        List<CommentThreadNode> comments = new ArrayList<>(rows.size());
+        Map<UUID, Integer> indexOf = new HashMap<>();
+        Map<UUID, CommentThreadNode> lastReply = new HashMap<>();
+        Set<UUID> truncated = new HashSet<>();
+        CommentThreadNode lastRoot = null;
+        boolean hasNext = false;
+        for (CommentThreadNode row : rows) {
+            if (row.getLevel() == 0) {
+                if (row.isOverflow()) {
+                    hasNext = true;
+                    continue;
+                }
+                row.setParentIndex(-1);
+                lastRoot = row;
+            } else {
+                if (row.isOverflow()) {
+                    truncated.add(row.getParentId());
+                    continue;
+                }
+                row.setParentIndex(indexOf.get(row.getParentId()));
+                lastReply.put(row.getParentId(), row);
+            }
+            indexOf.put(row.getId(), comments.size());
+            comments.add(row);
+        }
+        for (CommentThreadNode node : comments) {
+            if (truncated.contains(node.getId())) {
+                node.setMoreReplies(CommentThreadCursor.after(node.getId(), sort, lastReply.get(node.getId())).encode());
+            } else if (node.getLevel() == depth && node.getNumberOfReplies() > 0) {
+                node.setMoreReplies(CommentThreadCursor.start(node.getId(), sort).encode());
+            }
+        }
+        if (voterId != null && !comments.isEmpty()) {
+            Map<UUID, Integer> votes = voteService.getCommentVoteStates(indexOf.keySet(), voterId);
+            comments.forEach(node -> node.setMyVote(votes.getOrDefault(node.getId(), 0)));
+        }
+        return CommentThreadResponse.builder()
+                .comments(comments)
+                .nextCursor(hasNext ? CommentThreadCursor.after(cursor.parentId(), sort, lastRoot).encode() : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
     private Sort getSort(String sortBy) {
         return switch (sortBy) {
-            case "new" -> Sort.by(Sort.Direction.DESC, "createdAt");
+            case "new" -> Sort.by(Sort.Direction.DESC, "id");
             case "top", "score" -> Sort.by(Sort.Direction.DESC, "score");
             default -> Sort.by(Sort.Direction.DESC, "score");
         };
@@ -108,11 +233,4 @@ public class CommentService {
         }
         return post;
     }
-
-    private Comment getParentComment(UUID parentId) {
-        if (parentId == null) {
-            return null;
-        }
-        return commentRepository.findById(parentId).orElse(null);
-    }
 }
@@ -0,0 +1,24 @@
+package org.example.backend.comment;
+
+/**
+ * Sibling order inside a comment thread, as SQL fragments over alias {@code c}. Both end in
+ * the id so every position is a unique keyset key: SCORE seeks on (score, id), NEW on id
+ * alone (UUIDv7, so id order is creation order).
+ */
+public enum CommentSort {
+    SCORE("c.score DESC, c.id DESC", "(c.score, c.id) < (:afterScore, :afterId)"),
+    NEW("c.id DESC", "c.id < :afterId");
+
+    final String orderBy;
+    final String after;
+
+    CommentSort(String orderBy, String after) {
+        this.orderBy = orderBy;
+        this.after = after;
+    }
+
+    /** Same aliases as the comment list endpoints: "new", "top"/"score"; anything else is score. */
+    public static CommentSort from(String sortBy) {
+        return sortBy != null && sortBy.equalsIgnoreCase("new") ? NEW : SCORE;
+    }
+}
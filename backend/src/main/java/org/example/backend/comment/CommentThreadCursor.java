@@ -0,0 +1,49 @@
+package org.example.backend.comment;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * "Load more" position inside a comment thread: which sibling list ({@code parentId}, null
+ * for the post's top-level comments), the sort it was cut under, and the last returned
+ * sibling's key. Handed to clients as an opaque URL-safe token; {@link #start} points before
+ * the first sibling (a branch cut off by the depth limit).
+ */
+public record CommentThreadCursor(UUID parentId, CommentSort sort, int score, UUID id) {
+
+    private static final String SEPARATOR = "|";
+    private static final UUID MAX_ID = new UUID(-1L, -1L);
+
+    public static CommentThreadCursor start(UUID parentId, CommentSort sort) {
+        return new CommentThreadCursor(parentId, sort, Integer.MAX_VALUE, MAX_ID);
+    }
+
+    public static CommentThreadCursor after(UUID parentId, CommentSort sort, CommentThreadNode last) {
+        return new CommentThreadCursor(parentId, sort, last.getScore(), last.getId());
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, parentId == null ? "" : parentId.toString(),
+                sort.name(), Integer.toString(score), id.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** @throws IllegalArgumentException for anything that isn't a token this class produced */
+    public static CommentThreadCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new CommentThreadCursor(
+                    parts[0].isEmpty() ? null : UUID.fromString(parts[0]),
+                    CommentSort.valueOf(parts[1]),
+                    Integer.parseInt(parts[2]),
+                    UUID.fromString(parts[3]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.backend.comment;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One comment of a flattened thread. {@code parentIndex} points at the parent's position in
+ * the same response array (-1 for the response's roots), so the client rebuilds the tree in
+ * one pass. {@code moreReplies} is set when this comment's replies were cut off by the depth
+ * limit or a fan-out cap — pass it back as {@code cursor} to load them. {@code myVote} is
+ * the caller's vote (1/-1, 0 for none) when the thread was read with votes, else null.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentThreadNode {
+    private UUID id;
+    private UUID postId;
+    private UUID parentId;
+    private Long ownerId;
+    private String content;
+    private Integer upvoteCount;
+    private Integer downvoteCount;
+    private Integer score;
+    private Integer depth;
+    private Instant createdAt;
+    private Integer numberOfReplies;
+    private int parentIndex;
+    private String moreReplies;
+    private Integer myVote;
+
+    // Query bookkeeping, never serialized: level below the response roots, and whether this
+    // row is the one-past-the-cap sibling that only proves more siblings exist.
+    @JsonIgnore
+    private int level;
+    @JsonIgnore
+    private boolean overflow;
+}
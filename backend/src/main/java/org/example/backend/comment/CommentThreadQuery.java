@@ -0,0 +1,108 @@
+package org.example.backend.comment;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Reads a bounded comment tree in one statement. A recursive CTE starts from one sibling list
+ * (a post's top-level comments, or one comment's replies, after a keyset position) and
+ * descends level by level; each level is a LATERAL top-k per parent over idx_comment_parent,
+ * so no branch is read past its fan-out cap. Every sibling list fetches one row past its cap;
+ * that row is returned flagged {@code overflow} (and not descended into) so the caller knows
+ * the branch was truncated without a count.
+ *
+ * <p>Rows come back depth-first in display order (sorted by the path of sibling ranks). The
+ * SQL varies only by {@link CommentSort} fragments and the validated integer caps; every
+ * user-supplied value is a bind parameter.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CommentThreadQuery {
+
+    private static final String COLUMNS = "c.id, c.post_id, c.parent_id, c.owner_id, c.content, " +
+            "c.upvote_count, c.downvote_count, c.score, c.depth, c.created_at, c.number_of_replies";
+
+    private static final String TOP_LEVEL = "c.post_id = :postId AND c.parent_id IS NULL";
+    private static final String REPLIES = "c.post_id = :postId AND c.parent_id = :parentId";
+
+    private static final String SQL = """
+            WITH RECURSIVE thread AS (
+                SELECT r.*, 0 AS lvl, ARRAY[r.rn] AS path, r.rn > :rootLimit AS overflow
+                FROM (
+                    SELECT %1$s, row_number() OVER (ORDER BY %2$s) AS rn
+                    FROM comments c
+                    WHERE %3$s AND NOT c.is_deleted AND %4$s
+                    ORDER BY %2$s LIMIT :rootLimit + 1
+                ) r
+                UNION ALL
+                SELECT k.*, t.lvl + 1, t.path || k.rn, k.rn > %5$s[least(t.lvl + 1, %6$d)]
+                FROM thread t
+                CROSS JOIN LATERAL (
+                    SELECT %1$s, row_number() OVER (ORDER BY %2$s) AS rn
+                    FROM comments c
+                    WHERE c.parent_id = t.id AND NOT c.is_deleted
+                    ORDER BY %2$s LIMIT %7$d
+                ) k
+                WHERE t.lvl < :maxDepth AND NOT t.overflow AND t.number_of_replies > 0
+                  AND k.rn <= %5$s[least(t.lvl + 1, %6$d)] + 1
+            )
+            SELECT * FROM thread ORDER BY path
+            """;
+
+    private static final RowMapper<CommentThreadNode> ROW = (rs, i) -> {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return CommentThreadNode.builder()
+                .id(rs.getObject("id", UUID.class))
+                .postId(rs.getObject("post_id", UUID.class))
+                .parentId(rs.getObject("parent_id", UUID.class))
+                .ownerId(rs.getLong("owner_id"))
+                .content(rs.getString("content"))
+                .upvoteCount(rs.getInt("upvote_count"))
+                .downvoteCount(rs.getInt("downvote_count"))
+                .score(rs.getInt("score"))
+                .depth(rs.getInt("depth"))
+                .createdAt(createdAt == null ? null : createdAt.toInstant())
+                .numberOfReplies(rs.getInt("number_of_replies"))
+                .level(rs.getInt("lvl"))
+                .overflow(rs.getBoolean("overflow"))
+                .build();
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * @param cursor    the sibling list to start from and the position inside it
+     * @param rootLimit cap on the starting sibling list
+     * @param maxDepth  levels to descend below it
+     * @param fanout    per-level reply caps, {@code fanout[0]} for the first level below the
+     *                  roots; the last entry applies to every deeper level
+     */
+    public List<CommentThreadNode> read(UUID postId, CommentThreadCursor cursor,
+                                        int rootLimit, int maxDepth, int[] fanout) {
+        String caps = Arrays.stream(fanout).mapToObj(Integer::toString)
+                .collect(Collectors.joining(",", "(ARRAY[", "])"));
+        int maxCap = Arrays.stream(fanout).max().orElse(0);
+        CommentSort sort = cursor.sort();
+        String sql = SQL.formatted(COLUMNS, sort.orderBy,
+                cursor.parentId() == null ? TOP_LEVEL : REPLIES, sort.after,
+                caps, fanout.length, maxCap + 1);
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("postId", postId)
+                .addValue("parentId", cursor.parentId())
+                .addValue("afterScore", cursor.score())
+                .addValue("afterId", cursor.id())
+                .addValue("rootLimit", rootLimit)
+                .addValue("maxDepth", maxDepth);
+        return jdbcTemplate.query(sql, params, ROW);
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.backend.comment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A bounded comment thread in depth-first display order. {@code nextCursor} continues the
+ * response's root sibling list (top-level comments, or the replies a cursor asked for); it is
+ * null when that list is exhausted. Deeper cut-offs carry their own {@code moreReplies}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentThreadResponse {
+    private List<CommentThreadNode> comments;
+    private String nextCursor;
+    private boolean hasNext;
+}
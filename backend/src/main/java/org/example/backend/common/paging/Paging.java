@@ -0,0 +1,40 @@
+package org.example.backend.common.paging;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs one list read in the requested {@link Totals} mode. Callers pass the counted (Page)
+ * and uncounted (Slice) variants of the same repository query plus a planner estimate;
+ * only the one the mode needs is executed.
+ */
+public final class Paging {
+
+    private Paging() {
+    }
+
+    public static <T> Slice<T> fetch(Totals totals, Pageable pageable,
+                                     Function<Pageable, Page<T>> counted,
+                                     Function<Pageable, Slice<T>> uncounted,
+                                     LongSupplier estimate) {
+        return switch (totals) {
+            case EXACT -> counted.apply(pageable);
+            case NONE -> uncounted.apply(pageable);
+            case ESTIMATE -> estimated(uncounted.apply(pageable), pageable, estimate.getAsLong());
+        };
+    }
+
+    // The estimate can lag reality either way; clamp it so the page never claims fewer rows
+    // than it has just shown (and at least one more when the slice saw a next row).
+    static <T> Page<T> estimated(Slice<T> slice, Pageable pageable, long estimate) {
+        long seen = (pageable.isPaged() ? pageable.getOffset() : 0) + slice.getNumberOfElements();
+        long floor = slice.hasNext() ? seen + 1 : seen;
+        long total = slice.hasNext() ? Math.max(estimate, floor) : floor;
+        return new PageImpl<>(slice.getContent(), pageable, total);
+    }
+}
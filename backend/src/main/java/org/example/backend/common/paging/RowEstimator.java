@@ -0,0 +1,32 @@
+package org.example.backend.common.paging;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Planner row estimates via {@code count_estimate} (V8). Templates are fixed SQL with one
+ * {@code %L} placeholder; the key is typed (UUID/Long) and quoted by Postgres' format(),
+ * so nothing user-supplied is ever concatenated into SQL.
+ */
+@Component
+@RequiredArgsConstructor
+public class RowEstimator {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public long estimate(String queryTemplate, UUID key) {
+        return run(queryTemplate, key.toString());
+    }
+
+    public long estimate(String queryTemplate, Long key) {
+        return run(queryTemplate, key.toString());
+    }
+
+    private long run(String queryTemplate, String key) {
+        Long rows = jdbcTemplate.queryForObject("SELECT count_estimate(?, ?)", Long.class, queryTemplate, key);
+        return rows == null ? 0 : rows;
+    }
+}
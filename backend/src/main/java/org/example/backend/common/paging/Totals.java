@@ -0,0 +1,28 @@
+package org.example.backend.common.paging;
+
+/**
+ * How a paged list endpoint reports totals, selected per request with {@code ?totals=}.
+ * <ul>
+ *   <li>{@code exact} (default) — a Page with COUNT(*)-backed totalElements/totalPages.</li>
+ *   <li>{@code estimate} — a Page whose totals come from the planner's row estimate
+ *       ({@code count_estimate}, V8); never below what the client has already seen.</li>
+ *   <li>{@code none} — a Slice: no totals, {@code last} answered by fetching one extra row.</li>
+ * </ul>
+ */
+public enum Totals {
+    EXACT,
+    ESTIMATE,
+    NONE;
+
+    /** Unknown or missing values fall back to {@link #EXACT}, the pre-existing behavior. */
+    public static Totals from(String value) {
+        if (value == null) {
+            return EXACT;
+        }
+        return switch (value.toLowerCase()) {
+            case "estimate" -> ESTIMATE;
+            case "none" -> NONE;
+            default -> EXACT;
+        };
+    }
+}
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.example.backend.comment.CommentRepository;
 import org.example.backend.forum.ForumRepository;
 import org.example.backend.post.PostRepository;
+import org.example.backend.timeline.HomeTimelineService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +18,9 @@ import java.util.UUID;
  * async batching (~450 lines removed). The DB counter triggers keep forum.post_count,
  * post.comment_count and parent comments' number_of_replies correct as rows flip.
  *
+ * Soft-deleted posts are also dropped from the materialized home timelines here, so every
+ * removal path (owner, forum owner, moderation) keeps them in sync.
+ *
  * Physical cleanup (the scheduled purge) is a plain DELETE — FK ON DELETE CASCADE removes
  * the children (comments, votes, follows) automatically.
  */
@@ -28,6 +32,7 @@ public class CascadeDeletionService {
     private final ForumRepository forumRepository;
     private final PostRepository postRepository;
     private final CommentRepository commentRepository;
+    private final HomeTimelineService homeTimelineService;
     private final Clock clock;
 
     /** Forum → its posts → their comments. */
@@ -36,6 +41,7 @@ public class CascadeDeletionService {
         Instant now = Instant.now(clock);
         commentRepository.softDeleteByForum(forumId, now);
         postRepository.softDeleteByForum(forumId, now);
+        homeTimelineService.removeForum(forumId);
         forumRepository.softDelete(forumId, now);
         log.info("Soft-deleted forum {} and its posts/comments", forumId);
     }
@@ -46,10 +52,11 @@ public class CascadeDeletionService {
         Instant now = Instant.now(clock);
         commentRepository.softDeleteByPost(postId, now);
         postRepository.softDelete(postId, now);
+        homeTimelineService.removePost(postId);
         log.info("Soft-deleted post {} and its comments", postId);
     }
 
-    /** Comment → its reply subtree (recursive CTE). */
+    /** Comment → its reply subtree (one materialized-path range). */
     @Transactional
     public void deleteComment(UUID commentId) {
         Instant now = Instant.now(clock);
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.backend.security.OAuthExchangeCodeRepository;
 import org.example.backend.security.RefreshTokenRepository;
+import org.example.backend.timeline.HomeTimelineService;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,6 +19,7 @@ public class CleanupScheduler {
     private final CascadeDeletionService deletionService;
     private final RefreshTokenRepository refreshTokenRepository;
     private final OAuthExchangeCodeRepository oauthExchangeCodeRepository;
+    private final HomeTimelineService homeTimelineService;
 
     private static final int RETENTION_DAYS = 30;
 
@@ -33,6 +35,12 @@ public class CleanupScheduler {
         log.info("[Cleanup] Completed purge job.");
     }
 
+    /** Home timelines: drop cold users' entries and trim warm ones back to the cap. */
+    @Scheduled(cron = "0 30 3 * * *", zone = "UTC")
+    public void compactHomeTimelines() {
+        homeTimelineService.compact();
+    }
+
     /** Expired auth tokens (formerly Redis TTL). Small, high-churn — swept hourly. */
     @Scheduled(fixedDelayString = "${cleanup.token-sweep-ms:3600000}")
     @Transactional
@@ -0,0 +1,68 @@
+package org.example.backend.feed;
+
+import org.example.backend.post.Post;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in the explore feed: the last returned row's sort key plus its id (the
+ * tie-breaker). Handed to clients as an opaque URL-safe token, so the layout can change
+ * without an API change — clients only ever echo back what they were given.
+ *
+ * <p>Which key fields are set depends on the sort: NEW → only the id (UUIDv7, so id order is
+ * creation order), SCORE → {@code score}, HOT → {@code rank} (hot_rank).
+ */
+public record ExploreCursor(ExploreSort sort, Integer score, Double rank, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static ExploreCursor after(ExploreSort sort, Post last) {
+        return switch (sort) {
+            case NEW -> new ExploreCursor(sort, null, null, last.getId());
+            case SCORE -> new ExploreCursor(sort, last.getScore(), null, last.getId());
+            case HOT -> new ExploreCursor(sort, null, last.getHotRank(), last.getId());
+        };
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, sort.name(),
+                field(score), field(rank), id.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** @throws IllegalArgumentException for anything that isn't a token this class produced */
+    public static ExploreCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            ExploreCursor cursor = new ExploreCursor(
+                    ExploreSort.valueOf(parts[0]),
+                    parts[1].isEmpty() ? null : Integer.valueOf(parts[1]),
+                    parts[2].isEmpty() ? null : Double.valueOf(parts[2]),
+                    UUID.fromString(parts[3]));
+            if (!cursor.hasKeyFor(cursor.sort())) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return cursor;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private boolean hasKeyFor(ExploreSort sort) {
+        return switch (sort) {
+            case NEW -> true;
+            case SCORE -> score != null;
+            case HOT -> rank != null;
+        };
+    }
+
+    private static String field(Object value) {
+        return value == null ? "" : value.toString();
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.backend.feed;
+
+/**
+ * The explore-forums orderings: lifetime counters on forums, plus TRENDING, ranked from the
+ * 24h activity totals in forum_trending (see {@code trending.ForumTrendingService}).
+ */
+public enum ExploreForumSort {
+    FOLLOWERS,
+    POSTS,
+    NEW,
+    TRENDING;
+
+    /** "followers", "posts", "new", "trending"; anything else is followers (the endpoint default). */
+    public static ExploreForumSort from(String sortBy) {
+        if (sortBy == null) {
+            return FOLLOWERS;
+        }
+        return switch (sortBy.toLowerCase()) {
+            case "posts" -> POSTS;
+            case "new" -> NEW;
+            case "trending" -> TRENDING;
+            default -> FOLLOWERS;
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.backend.feed;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * An immutable, ranked top-N id list for one explore ordering, as of {@code takenAt}.
+ * {@code total} is the size of the whole ranked set at that moment (the snapshot holds at
+ * most N of them), so page totals come from the snapshot too instead of a per-request count.
+ * {@code version} only moves when the ranking actually changed.
+ */
+public record ExploreSnapshot(long version, Instant takenAt, List<UUID> ids, long total) {
+
+    /** Every ranked row fits in the snapshot, so any page — even past the end — is answerable. */
+    public boolean complete() {
+        return ids.size() >= total;
+    }
+
+    public boolean covers(long from, int size) {
+        return complete() || from + size <= ids.size();
+    }
+
+    public List<UUID> slice(long from, int size) {
+        if (from >= ids.size()) {
+            return List.of();
+        }
+        int start = (int) from;
+        return ids.subList(start, Math.min(ids.size(), start + size));
+    }
+
+    public long ageMs(Instant now) {
+        return Duration.between(takenAt, now).toMillis();
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.backend.feed;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Timer that drives {@link ExploreSnapshotService}. A failed refresh keeps serving the
+ * previous snapshots (their age keeps growing in responses) and is retried next tick.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExploreSnapshotScheduler {
+
+    private final ExploreSnapshotService snapshotService;
+
+    @Scheduled(
+            fixedDelayString = "${feed.snapshot.refresh-ms:30000}",
+            initialDelayString = "${feed.snapshot.initial-delay-ms:5000}")
+    public void refresh() {
+        try {
+            snapshotService.refreshAll();
+        } catch (Exception e) {
+            log.warn("Explore snapshot refresh failed, serving previous snapshots: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.backend.feed;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.forum.ForumRepository;
+import org.example.backend.post.PostRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-memory materialization of the explore rankings: for every explore sort (posts and
+ * forums) the ids of the top {@code feed.snapshot.size} rows, refreshed on a timer by
+ * {@link ExploreSnapshotScheduler}. Explore pages inside the snapshot are served as id
+ * slices from here plus one primary-key fetch, so their cost no longer depends on how many
+ * posts the 7-day window holds.
+ *
+ * <p>A refresh is one bounded top-N index range per sort (the same idx_post_explore_* /
+ * idx_forum_explore_* indexes) plus one count per table — paid once per tick, not per
+ * request. Snapshots are swapped atomically; a snapshot whose ranking didn't change keeps
+ * its version and only gets a new {@code takenAt}.
+ *
+ * <p>Each tick recomputes every top-N instead of patching the previous snapshot with the
+ * rows changed since the last tick. There is no change feed to patch from: votes land in
+ * the V14 counter slots and reach the post row through the fold, hot_rank is rewritten by
+ * {@code HotRankScheduler}, and the 7-day floor slides without any row changing. Tracking
+ * that would mean a modified-at column written on each of those paths — vote writes
+ * included — plus an index on it, to save reads that are already bounded: a top-N read
+ * stops after {@code feed.snapshot.size} index entries however large the window grows.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExploreSnapshotService {
+
+    private final PostRepository postRepository;
+    private final ForumRepository forumRepository;
+    private final Clock clock;
+
+    private final Map<ExploreSort, ExploreSnapshot> postSnapshots = new ConcurrentHashMap<>();
+    private final Map<ExploreForumSort, ExploreSnapshot> forumSnapshots = new ConcurrentHashMap<>();
+
+    @Value("${feed.snapshot.size:1000}")
+    private int snapshotSize;
+
+    /** @return the current snapshot, or null before the first refresh */
+    public ExploreSnapshot posts(ExploreSort sort) {
+        return postSnapshots.get(sort);
+    }
+
+    /** @return the current snapshot, or null before the first refresh */
+    public ExploreSnapshot forums(ExploreForumSort sort) {
+        return forumSnapshots.get(sort);
+    }
+
+    public void refreshAll() {
+        Instant now = Instant.now(clock);
+        UUID floor = FeedService.exploreFloor(clock);
+
+        long postTotal = postRepository.countByIsDeletedFalseAndIdGreaterThanEqual(floor);
+        for (ExploreSort sort : ExploreSort.values()) {
+            postSnapshots.compute(sort, (key, previous) ->
+                    next(previous, now, postTotal, () -> topPostIds(key, floor)));
+        }
+
+        long forumTotal = forumRepository.countByIsDeletedFalse();
+        long trendingTotal = forumRepository.countTrending();
+        for (ExploreForumSort sort : ExploreForumSort.values()) {
+            long total = sort == ExploreForumSort.TRENDING ? trendingTotal : forumTotal;
+            forumSnapshots.compute(sort, (key, previous) ->
+                    next(previous, now, total, () -> topForumIds(key)));
+        }
+    }
+
+    private ExploreSnapshot next(ExploreSnapshot previous, Instant now, long total, Supplier<List<UUID>> ranking) {
+        List<UUID> ids = List.copyOf(ranking.get());
+        if (previous == null) {
+            return new ExploreSnapshot(1, now, ids, total);
+        }
+        long version = previous.ids().equals(ids) && previous.total() == total
+                ? previous.version() : previous.version() + 1;
+        return new ExploreSnapshot(version, now, ids, total);
+    }
+
+    private List<UUID> topPostIds(ExploreSort sort, UUID floor) {
+        return switch (sort) {
+            case NEW -> postRepository.findExploreNewIds(floor, snapshotSize);
+            case SCORE -> postRepository.findExploreScoreIds(floor, snapshotSize);
+            case HOT -> postRepository.findExploreHotIds(floor, snapshotSize);
+        };
+    }
+
+    private List<UUID> topForumIds(ExploreForumSort sort) {
+        return switch (sort) {
+            case FOLLOWERS -> forumRepository.findExploreFollowersIds(snapshotSize);
+            case POSTS -> forumRepository.findExplorePostsIds(snapshotSize);
+            case NEW -> forumRepository.findExploreNewIds(snapshotSize);
+            case TRENDING -> forumRepository.findExploreTrendingIds(snapshotSize);
+        };
+    }
+}
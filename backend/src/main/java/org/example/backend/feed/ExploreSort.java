@@ -0,0 +1,23 @@
+package org.example.backend.feed;
+
+/**
+ * The explore-feed orderings. Each one is backed by an {@code idx_post_explore_*} partial
+ * index whose last column is the id tie-breaker, so the cursor endpoint can seek into it.
+ */
+public enum ExploreSort {
+    NEW,
+    SCORE,
+    HOT;
+
+    /** Same aliases as the offset endpoint: "top"/"score", "new", "hot"; anything else is score. */
+    public static ExploreSort from(String sortBy) {
+        if (sortBy == null) {
+            return SCORE;
+        }
+        return switch (sortBy.toLowerCase()) {
+            case "new" -> NEW;
+            case "hot" -> HOT;
+            default -> SCORE;
+        };
+    }
+}
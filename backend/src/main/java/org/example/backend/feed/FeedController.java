@@ -46,6 +46,44 @@ public class FeedController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Explore feed with keyset (cursor) pagination - for infinite scroll
+     *
+     * Query parameters:
+     * - cursor: the previous page's nextCursor (omit for the first page)
+     * - size: page size (default: 20)
+     * - sort: "top"/"score", "new", "hot" (default: "score"); must match the cursor's sort
+     *
+     * No totals are returned; hasNext/nextCursor drive the next request.
+     *
+     * Examples:
+     * GET /api/feed/v1/explore/cursor?sort=new
+     * GET /api/feed/v1/explore/cursor?sort=new&cursor=TkVXfHwyMDI2LTA...
+     */
+    @GetMapping("/v1/explore/cursor")
+    public ResponseEntity<PostCursorResponse> exploreByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "score") String sort) {
+
+        if (size < 1 || size > 100) {
+            size = 20; // Default to 20 if invalid
+        }
+
+        return ResponseEntity.ok(feedService.getExploreFeedAfter(cursor, size, sort));
+    }
+
+    /**
+     * Explore forums
+     *
+     * Query parameters:
+     * - page: page number (default: 0)
+     * - size: page size (default: 20)
+     * - sort: "followers", "posts", "new", "trending" (default: "followers");
+     *   trending ranks forums by new posts and follows over the last 24 hours
+     *
+     * Example: GET /api/feed/v1/explore-forums?sort=trending
+     */
     @GetMapping("/v1/explore-forums")
     public ResponseEntity<ForumPageResponse> exploreForum(
             @RequestParam(defaultValue = "0") int page,
@@ -7,6 +7,8 @@ import org.example.backend.forum.ForumPageResponse;
 import org.example.backend.forum.ForumRepository;
 import org.example.backend.post.Post;
 import org.example.backend.post.PostRepository;
+import org.example.backend.post.PostView;
+import org.example.backend.util.UuidV7;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -14,14 +16,28 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
 
 /**
- * Explore feed. The response cache is gone (consolidation removed the cache layer) — the
- * partial indexes on posts/forums (WHERE NOT is_deleted, ordered by score/created_at/…)
- * make these queries cheap directly. A materialized view is the documented next step if
- * profiling ever shows it's needed.
+ * Explore feed. The offset endpoints are served from {@link ExploreSnapshotService}: pages
+ * inside the snapshot's top-N are an id slice plus one primary-key fetch, with totals taken
+ * from the snapshot, so no per-request sort or COUNT(*) over the 7-day window. Pages past
+ * the snapshot (or before the first refresh) fall back to the live indexed query. Snapshot
+ * pages report {@code snapshotVersion}/{@code snapshotAgeMs}; rankings may lag by up to one
+ * refresh interval.
+ *
+ * <p>Two pagination modes over the same 7-day window: the offset {@link #getExploreFeed}
+ * (page numbers + totals) and the keyset {@link #getExploreFeedAfter} for infinite scroll,
+ * which seeks from an opaque {@link ExploreCursor} and never counts. The window itself is an
+ * id range ({@link #exploreFloor}) and "new" is id order, both courtesy of UUIDv7 ids.
  */
 @Slf4j
 @Service
@@ -30,16 +46,35 @@ public class FeedService {
 
     private final PostRepository postRepository;
     private final ForumRepository forumRepository;
+    private final ExploreSnapshotService snapshotService;
+    private final Clock clock;
 
-    private static final int EXPLORE_DAYS_LIMIT = 7;
+    static final int EXPLORE_DAYS_LIMIT = 7;
     private static final int DEFAULT_PAGE_SIZE = 20;
 
     @Transactional(readOnly = true)
     public PostPageResponse getExploreFeed(int page, int size, String sortBy) {
-        Instant cutoffDate = Instant.now().minus(EXPLORE_DAYS_LIMIT, ChronoUnit.DAYS);
+        ExploreSnapshot snapshot = snapshotService.posts(ExploreSort.from(sortBy));
+        long from = (long) page * size;
+        if (snapshot != null && snapshot.covers(from, size)) {
+            List<PostView> posts = inSnapshotOrder(snapshot.slice(from, size), postRepository::findViewsByIdIn, PostView::getId);
+            long totalPages = ceilDiv(snapshot.total(), size);
+            return PostPageResponse.builder()
+                    .posts(posts)
+                    .currentPage(page)
+                    .totalPages((int) totalPages)
+                    .totalElements(snapshot.total())
+                    .pageSize(size)
+                    .hasNext(page + 1 < totalPages)
+                    .hasPrevious(page > 0)
+                    .snapshotVersion(snapshot.version())
+                    .snapshotAgeMs(snapshot.ageMs(Instant.now(clock)))
+                    .build();
+        }
+
         Pageable pageable = PageRequest.of(page, size, buildSort(sortBy));
 
-        Page<Post> postsPage = postRepository.findByIsDeletedFalseAndCreatedAtGreaterThanEqual(cutoffDate, pageable);
+        Page<PostView> postsPage = postRepository.findByIsDeletedFalseAndIdGreaterThanEqual(exploreFloor(clock), pageable);
 
         return PostPageResponse.builder()
                 .posts(postsPage.getContent())
@@ -52,14 +87,69 @@ public class FeedService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
+    public PostCursorResponse getExploreFeedAfter(String cursorToken, int size, String sortBy) {
+        ExploreSort sort = ExploreSort.from(sortBy);
+        ExploreCursor cursor = (cursorToken == null || cursorToken.isBlank())
+                ? null : ExploreCursor.decode(cursorToken);
+        if (cursor != null && cursor.sort() != sort) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort");
+        }
+        UUID floor = exploreFloor(clock);
+        int limit = size + 1; // one extra row answers hasNext without a count
+
+        List<Post> rows = switch (sort) {
+            case NEW -> cursor == null
+                    ? postRepository.findExploreNewFirst(floor, limit)
+                    : postRepository.findExploreNewAfter(floor, cursor.id(), limit);
+            case SCORE -> cursor == null
+                    ? postRepository.findExploreScoreFirst(floor, limit)
+                    : postRepository.findExploreScoreAfter(floor, cursor.score(), cursor.id(), limit);
+            case HOT -> cursor == null
+                    ? postRepository.findExploreHotFirst(floor, limit)
+                    : postRepository.findExploreHotAfter(floor, cursor.rank(), cursor.id(), limit);
+        };
+
+        boolean hasNext = rows.size() > size;
+        List<Post> page = hasNext ? rows.subList(0, size) : rows;
+        // The seek reads entities (the cursor needs hot_rank); names come from one batched view read.
+        List<PostView> posts = inSnapshotOrder(page.stream().map(Post::getId).toList(),
+                postRepository::findViewsByIdIn, PostView::getId);
+        return PostCursorResponse.builder()
+                .posts(posts)
+                .nextCursor(hasNext ? ExploreCursor.after(sort, page.get(page.size() - 1)).encode() : null)
+                .pageSize(size)
+                .hasNext(hasNext)
+                .build();
+    }
+
     public PostPageResponse getExploreFeed(int page) {
         return getExploreFeed(page, DEFAULT_PAGE_SIZE, "score");
     }
 
     @Transactional(readOnly = true)
     public ForumPageResponse getExploreForums(int page, int size, String sortBy) {
-        Pageable pageable = PageRequest.of(page, size, buildSortForum(sortBy));
-        Page<Forum> forumsPage = forumRepository.findAllByIsDeletedFalse(pageable);
+        ExploreSnapshot snapshot = snapshotService.forums(ExploreForumSort.from(sortBy));
+        long from = (long) page * size;
+        if (snapshot != null && snapshot.covers(from, size)) {
+            List<Forum> forums = inSnapshotOrder(snapshot.slice(from, size), forumRepository::findAllByIdInAndIsDeletedFalse, Forum::getId);
+            long totalPages = ceilDiv(snapshot.total(), size);
+            return ForumPageResponse.builder()
+                    .forums(forums)
+                    .currentPage(page)
+                    .totalPages((int) totalPages)
+                    .totalElements(snapshot.total())
+                    .pageSize(size)
+                    .hasNext(page + 1 < totalPages)
+                    .hasPrevious(page > 0)
+                    .snapshotVersion(snapshot.version())
+                    .snapshotAgeMs(snapshot.ageMs(Instant.now(clock)))
+                    .build();
+        }
+
+        Page<Forum> forumsPage = ExploreForumSort.from(sortBy) == ExploreForumSort.TRENDING
+                ? forumRepository.findTrending(PageRequest.of(page, size))
+                : forumRepository.findAllByIsDeletedFalse(PageRequest.of(page, size, buildSortForum(sortBy)));
         return ForumPageResponse.from(forumsPage);
     }
 
@@ -67,10 +157,43 @@ public class FeedService {
         return getExploreForums(page, DEFAULT_PAGE_SIZE, "followers");
     }
 
+    /**
+     * Lowest id inside the explore window. Post ids are UUIDv7, so "created in the last
+     * {@value #EXPLORE_DAYS_LIMIT} days" is an id range on the primary key.
+     */
+    static UUID exploreFloor(Clock clock) {
+        return UuidV7.lowerBound(Instant.now(clock).minus(EXPLORE_DAYS_LIMIT, ChronoUnit.DAYS));
+    }
+
+    // Id-list fetches return rows in arbitrary order; re-impose the ranking. The fetches skip
+    // deleted rows, so anything deleted since the snapshot was taken leaves the page short, not wrong.
+    private static <T> List<T> inSnapshotOrder(
+            List<UUID> ids, Function<List<UUID>, List<T>> fetch, Function<T, UUID> idOf) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, T> byId = new HashMap<>();
+        for (T row : fetch.apply(ids)) {
+            byId.put(idOf.apply(row), row);
+        }
+        List<T> ordered = new ArrayList<>(byId.size());
+        for (UUID id : ids) {
+            T row = byId.get(id);
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
+    }
+
+    private static long ceilDiv(long total, int size) {
+        return size <= 0 ? 0 : (total + size - 1) / size;
+    }
+
     private Sort buildSort(String sortBy) {
         return switch (sortBy.toLowerCase()) {
-            case "new" -> Sort.by(Sort.Direction.DESC, "createdAt");
-            case "hot" -> Sort.by(Sort.Direction.DESC, "lastActivityAt");
+            case "new" -> Sort.by(Sort.Direction.DESC, "id");
+            case "hot" -> Sort.by(Sort.Direction.DESC, "hotRank");
             case "top", "score" -> Sort.by(Sort.Direction.DESC, "score");
             default -> Sort.by(Sort.Direction.DESC, "score");
         };
@@ -78,7 +201,7 @@ public class FeedService {
 
     private Sort buildSortForum(String sortBy) {
         return switch (sortBy.toLowerCase()) {
-            case "new" -> Sort.by(Sort.Direction.DESC, "createdAt");
+            case "new" -> Sort.by(Sort.Direction.DESC, "id");
             case "followers" -> Sort.by(Sort.Direction.DESC, "followerCount");
             case "posts" -> Sort.by(Sort.Direction.DESC, "postCount");
             default -> Sort.by(Sort.Direction.DESC, "followerCount");
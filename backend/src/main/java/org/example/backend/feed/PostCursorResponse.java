@@ -0,0 +1,24 @@
+package org.example.backend.feed;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.backend.post.PostView;
+
+import java.util.List;
+
+/**
+ * One page of the cursor explore feed. No totals on purpose — computing them is the
+ * COUNT(*) this mode exists to avoid. {@code nextCursor} is null on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostCursorResponse {
+    private List<PostView> posts;
+    private String nextCursor;
+    private int pageSize;
+    private boolean hasNext;
+}
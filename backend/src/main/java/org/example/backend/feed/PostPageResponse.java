@@ -4,7 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.example.backend.post.Post;
+import org.example.backend.post.PostView;
 
 import java.util.List;
 
@@ -13,11 +13,14 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class PostPageResponse {
-    private List<Post> posts;
+    private List<PostView> posts;
     private int currentPage;
     private int totalPages;
     private long totalElements;
     private int pageSize;
     private boolean hasNext;
     private boolean hasPrevious;
+    // Set when the page was served from an explore snapshot (null when read live).
+    private Long snapshotVersion;
+    private Long snapshotAgeMs;
 }
\ No newline at end of file
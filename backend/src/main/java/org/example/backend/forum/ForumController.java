@@ -1,14 +1,19 @@
 package org.example.backend.forum;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import java.util.UUID;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Optional;
 
@@ -18,6 +23,12 @@ public class ForumController {
     @Autowired
     private ForumService forumService;
 
+    @Autowired
+    private ForumExportService forumExportService;
+
+    @Value("${forum.export.timeout-ms:1800000}")
+    private long exportTimeoutMs;
+
     @PostMapping("/v1")
     public ResponseEntity<ForumDetailsDTO> createForum(
             HttpServletRequest request,
@@ -58,6 +69,29 @@ public class ForumController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Stream the whole forum (posts + comments) as NDJSON. Owner only.
+     * Written from a WebAsyncTask so this endpoint alone gets the long export timeout;
+     * every other async request keeps the container default.
+     *
+     * Example: GET /api/forum/v1/{forumId}/export
+     */
+    @GetMapping(value = "/v1/{forumId}/export", produces = "application/x-ndjson")
+    public WebAsyncTask<Void> exportForum(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            @PathVariable UUID forumId) {
+
+        Long userId = (Long) request.getAttribute("userId");
+        StreamingResponseBody body = forumExportService.exportForOwner(forumId, userId);
+        response.setContentType("application/x-ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"forum-" + forumId + ".ndjson\"");
+        return new WebAsyncTask<>(exportTimeoutMs, () -> {
+            body.writeTo(response.getOutputStream());
+            return null;
+        });
+    }
+
     /**
      * Search forums by name
      *
@@ -0,0 +1,111 @@
+package org.example.backend.forum;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.comment.CommentRepository;
+import org.example.backend.comment.CommentView;
+import org.example.backend.errorHandler.ResourceNotFoundException;
+import org.example.backend.post.PostRepository;
+import org.example.backend.post.PostView;
+import org.example.backend.util.UuidV7;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Full forum dump as NDJSON: every live post, each followed by its live comments, one JSON
+ * object per line — {@code {"type":"post","data":PostView}} / {@code {"type":"comment","data":CommentView}},
+ * the same shapes the list endpoints return.
+ *
+ * <p>Two server-side cursors (posts, and comments under those posts) ordered by post id are
+ * merged in a single pass inside one read-only REPEATABLE READ transaction, so memory stays
+ * constant and there's no OFFSET or COUNT however large the forum is. REPEATABLE READ gives
+ * both cursors the same snapshot; under READ COMMITTED each query would see its own, and a
+ * post deleted between them would leave its comments with nothing to attach to. The body
+ * runs on the MVC async thread, which is why the transaction is opened here rather than by
+ * {@code @Transactional}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ForumExportService {
+
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final ForumRepository forumRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    record ExportLine(String type, Object data) {
+    }
+
+    /**
+     * Checks run here, before the response is committed, so a missing forum or a non-owner
+     * still gets a normal 404/403 instead of a truncated 200.
+     */
+    public StreamingResponseBody exportForOwner(UUID forumId, Long userId) {
+        Forum forum = forumRepository.findById(forumId)
+                .filter(f -> !f.getIsDeleted())
+                .orElseThrow(() -> new ResourceNotFoundException("Forum not found with id: " + forumId));
+        if (!forum.getOwnerId().equals(userId)) {
+            throw new AccessDeniedException("Only the forum owner can export this forum");
+        }
+        return out -> writeTo(forumId, out);
+    }
+
+    void writeTo(UUID forumId, OutputStream out) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        tx.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        tx.executeWithoutResult(status -> {
+            try (Stream<PostView> posts = postRepository.streamForumExport(forumId);
+                 Stream<CommentView> comments = commentRepository.streamForumExport(forumId)) {
+                Iterator<CommentView> commentCursor = comments.iterator();
+                CommentView pending = commentCursor.hasNext() ? commentCursor.next() : null;
+                long postCount = 0;
+                long commentCount = 0;
+                for (Iterator<PostView> postCursor = posts.iterator(); postCursor.hasNext(); ) {
+                    PostView post = postCursor.next();
+                    write(out, new ExportLine("post", post));
+                    postCount++;
+                    // Comment order is a subsequence of post order, so this post's comments
+                    // (if any) are exactly the ones at the head of the cursor. A comment whose
+                    // post never came up is dropped rather than left to block every later post.
+                    while (pending != null && UuidV7.compareUnsigned(pending.getPostId(), post.getId()) < 0) {
+                        log.warn("Export of forum {}: skipping comment {} under missing post {}",
+                                forumId, pending.getId(), pending.getPostId());
+                        pending = commentCursor.hasNext() ? commentCursor.next() : null;
+                    }
+                    while (pending != null && pending.getPostId().equals(post.getId())) {
+                        write(out, new ExportLine("comment", pending));
+                        commentCount++;
+                        pending = commentCursor.hasNext() ? commentCursor.next() : null;
+                    }
+                }
+                out.flush();
+                log.info("Exported forum {}: {} post(s), {} comment(s)", forumId, postCount, commentCount);
+            } catch (IOException e) {
+                // Client went away mid-download; the transaction rolls back (read-only, nothing to undo).
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void write(OutputStream out, ExportLine line) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(line));
+        out.write(NEWLINE);
+    }
+}
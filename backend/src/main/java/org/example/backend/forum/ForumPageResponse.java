@@ -20,6 +20,9 @@ public class ForumPageResponse {
     private int pageSize;
     private boolean hasNext;
     private boolean hasPrevious;
+    // Set when the page was served from an explore snapshot (null when read live).
+    private Long snapshotVersion;
+    private Long snapshotAgeMs;
 
     public static ForumPageResponse from(Page<Forum> page) {
         return ForumPageResponse.builder()
@@ -20,6 +20,50 @@ public interface ForumRepository extends JpaRepository<Forum, UUID> {
     Page<ForumDisplayDTO> findAllByOwnerIdAndIsDeletedFalse(Long ownerId, Pageable pageable);
     List<Forum> findAllByIdInAndIsDeletedFalse(List<UUID> ids);
 
+    // Explore snapshot top-N ids (ExploreSnapshotService). The id tie-breaker keeps the
+    // ranking stable between refreshes so the snapshot version only moves on real changes;
+    // "new" is plain id order (UUIDv7) and walks the primary key.
+    @Query(value = "SELECT id FROM forums WHERE NOT is_deleted ORDER BY follower_count DESC, id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<UUID> findExploreFollowersIds(@Param("limit") int limit);
+
+    @Query(value = "SELECT id FROM forums WHERE NOT is_deleted ORDER BY post_count DESC, id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<UUID> findExplorePostsIds(@Param("limit") int limit);
+
+    @Query(value = "SELECT id FROM forums WHERE NOT is_deleted ORDER BY id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<UUID> findExploreNewIds(@Param("limit") int limit);
+
+    // Trending: a range on idx_forum_trending_score (V12), whose totals the trending flush
+    // keeps current — only forums with activity inside the window are ranked at all.
+    @Query(value = """
+            SELECT t.forum_id FROM forum_trending t JOIN forums f ON f.id = t.forum_id
+            WHERE NOT f.is_deleted
+            ORDER BY t.trending_score DESC, t.forum_id DESC LIMIT :limit
+            """, nativeQuery = true)
+    List<UUID> findExploreTrendingIds(@Param("limit") int limit);
+
+    @Query(value = """
+            SELECT f.* FROM forum_trending t JOIN forums f ON f.id = t.forum_id
+            WHERE NOT f.is_deleted
+            ORDER BY t.trending_score DESC, t.forum_id DESC
+            """,
+           countQuery = """
+            SELECT count(*) FROM forum_trending t JOIN forums f ON f.id = t.forum_id
+            WHERE NOT f.is_deleted
+            """,
+           nativeQuery = true)
+    Page<Forum> findTrending(Pageable pageable);
+
+    @Query(value = """
+            SELECT count(*) FROM forum_trending t JOIN forums f ON f.id = t.forum_id
+            WHERE NOT f.is_deleted
+            """, nativeQuery = true)
+    long countTrending();
+
+    long countByIsDeletedFalse();
+
     @Modifying
     @Query("update Forum f set f.isDeleted = true, f.deletedAt = :ts where f.id = :id and f.isDeleted = false")
     int softDelete(@Param("id") UUID id, @Param("ts") Instant ts);
@@ -36,6 +80,15 @@ public interface ForumRepository extends JpaRepository<Forum, UUID> {
            "and f.moderationStatus = org.example.backend.moderation.ModerationStatus.PENDING")
     int approveModeration(@Param("id") UUID id, @Param("version") long version);
 
+    // Batched form for the verdict listener — see PostRepository.
+    @Modifying
+    @Query(value = """
+            UPDATE forums t SET moderation_status = 'APPROVED'
+            FROM unnest(CAST(:ids AS uuid[]), CAST(:versions AS bigint[])) AS v(id, version)
+            WHERE t.id = v.id AND t.moderation_version = v.version AND t.moderation_status = 'PENDING'
+            """, nativeQuery = true)
+    int approveModerationBatch(@Param("ids") UUID[] ids, @Param("versions") Long[] versions);
+
     @Modifying
     @Query("update Forum f set f.moderationStatus = org.example.backend.moderation.ModerationStatus.REMOVED where f.id = :id")
     int markModerationRemoved(@Param("id") UUID id);
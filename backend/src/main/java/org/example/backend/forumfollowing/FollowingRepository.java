@@ -3,8 +3,6 @@ package org.example.backend.forumfollowing;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -22,7 +20,4 @@ public interface FollowingRepository extends JpaRepository<Following, FollowingI
     List<Following> findByUserId(Long userId);
 
     Page<Following> findByUserId(Long userId, Pageable pageable);
-
-    @Query("select f.forumId from Following f where f.userId = :userId")
-    List<UUID> findForumIdsByUserId(@Param("userId") Long userId);
 }
@@ -4,6 +4,8 @@ import lombok.RequiredArgsConstructor;
 import org.example.backend.forum.Forum;
 import org.example.backend.forum.ForumPageResponse;
 import org.example.backend.forum.ForumRepository;
+import org.example.backend.timeline.HomeTimelineService;
+import org.example.backend.trending.ForumTrendingService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -16,7 +18,9 @@ import java.util.stream.Collectors;
 
 /**
  * Following forums. Hard-delete now (unfollow removes the row); forum.follower_count is
- * maintained by a DB trigger, so this service no longer touches it.
+ * maintained by a DB trigger, so this service no longer touches it. Follow/unfollow patch
+ * the user's home timeline (if materialized) in the same transaction; follows also count
+ * towards the forum's trending window.
  */
 @Service
 @RequiredArgsConstructor
@@ -24,6 +28,8 @@ public class FollowingService {
 
     private final FollowingRepository followingRepository;
     private final ForumRepository forumRepository;
+    private final HomeTimelineService homeTimelineService;
+    private final ForumTrendingService trendingService;
 
     @Transactional
     public void follow(UUID forumId, Long userId) {
@@ -40,12 +46,17 @@ public class FollowingService {
                 .forumId(forumId)
                 .createdAt(Instant.now())
                 .build());
+        homeTimelineService.onFollow(userId, forumId);
+        trendingService.recordFollow(forumId);
     }
 
     @Transactional
     public void unfollow(UUID forumId, Long userId) {
         followingRepository.findByUserIdAndForumId(userId, forumId)
-                .ifPresent(followingRepository::delete);
+                .ifPresent(following -> {
+                    followingRepository.delete(following);
+                    homeTimelineService.onUnfollow(userId, forumId);
+                });
     }
 
     @Transactional(readOnly = true)
@@ -2,8 +2,9 @@ package org.example.backend.likedMovie;
 
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.example.backend.common.paging.Totals;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -36,18 +37,20 @@ public class LikedMovieController {
     }
 
     @GetMapping("/v1/my-liked-movies")
-    public ResponseEntity<Page<LikedMovieView>> getMyLikedMovies(HttpServletRequest request,
-                                                 @PageableDefault(size = 20) Pageable pageable) {
+    public ResponseEntity<Slice<LikedMovieView>> getMyLikedMovies(HttpServletRequest request,
+                                                 @PageableDefault(size = 20) Pageable pageable,
+                                                 @RequestParam(defaultValue = "exact") String totals) {
         Long userId = (Long) request.getAttribute("userId");
-        return ResponseEntity.ok(likedMovieService.getMyLikedMovies(userId,pageable));
+        return ResponseEntity.ok(likedMovieService.getMyLikedMovies(userId, pageable, Totals.from(totals)));
     }
 
     @GetMapping("/v1/user/{userId}")
-    public ResponseEntity<Page<LikedMovieView>> getOtherUserLikedMovies(
+    public ResponseEntity<Slice<LikedMovieView>> getOtherUserLikedMovies(
             @PathVariable Long userId,
-            @PageableDefault(size = 20) Pageable pageable
+            @PageableDefault(size = 20) Pageable pageable,
+            @RequestParam(defaultValue = "exact") String totals
     ){
-        return ResponseEntity.ok(likedMovieService.getOtherUserLikedMovies(userId,pageable));
+        return ResponseEntity.ok(likedMovieService.getOtherUserLikedMovies(userId, pageable, Totals.from(totals)));
     }
 
     @GetMapping("/v1/{movieId}")
@@ -2,8 +2,10 @@ package org.example.backend.likedMovie;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface LikedMovieRepository extends JpaRepository<LikedMovie, LikedMoviesID> {
     public Page<LikedMovieView> findAllByUserIdAndIsDeletedFalse(Long userId,Pageable pageable);
+    public Slice<LikedMovieView> findSliceByUserIdAndIsDeletedFalse(Long userId, Pageable pageable);
 }
@@ -2,6 +2,9 @@ package org.example.backend.likedMovie;
 
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.example.backend.common.paging.Paging;
+import org.example.backend.common.paging.RowEstimator;
+import org.example.backend.common.paging.Totals;
 import org.example.backend.errorHandler.ResourceNotFoundException;
 import org.example.backend.movie.Movie;
 import org.example.backend.movie.MovieRepository;
@@ -10,8 +13,8 @@ import org.example.backend.movieReview.MovieReviewRepository;
 import org.example.backend.user.PrivateProfileException;
 import org.example.backend.user.User;
 import org.example.backend.user.UserRepository;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -22,6 +25,7 @@ public class LikedMovieService {
     private final LikedMovieRepository likedMovieRepository;
     private final MovieRepository movieRepository;
     private final UserRepository userRepository;
+    private final RowEstimator rowEstimator;
 
     @Transactional
     public LikedMovieResponse likeMovie(Long userId, Long movieId) {
@@ -63,16 +67,16 @@ public class LikedMovieService {
     }
 
     @Transactional(readOnly = true)
-    public Page<LikedMovieView> getMyLikedMovies(Long userId, Pageable pageable) {
-        return getLikedMovies(userId, pageable);
+    public Slice<LikedMovieView> getMyLikedMovies(Long userId, Pageable pageable, Totals totals) {
+        return getLikedMovies(userId, pageable, totals);
     }
 
     @Transactional(readOnly = true)
-    public Page<LikedMovieView> getOtherUserLikedMovies(Long userId, Pageable pageable) {
+    public Slice<LikedMovieView> getOtherUserLikedMovies(Long userId, Pageable pageable, Totals totals) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         if(user.getIsPublic()){
-            return getLikedMovies(userId, pageable);
+            return getLikedMovies(userId, pageable, totals);
         }
         throw new PrivateProfileException("this profile is private");
     }
@@ -84,8 +88,14 @@ public class LikedMovieService {
         return existingLike.isPresent() && !existingLike.get().getIsDeleted();
     }
 
-    private Page<LikedMovieView> getLikedMovies(Long userId,Pageable pageable) {
-        return likedMovieRepository.findAllByUserIdAndIsDeletedFalse(userId,pageable);
+    private static final String LIKED_ESTIMATE =
+            "SELECT 1 FROM liked_movies WHERE user_id = %L AND NOT is_deleted";
+
+    private Slice<LikedMovieView> getLikedMovies(Long userId, Pageable pageable, Totals totals) {
+        return Paging.fetch(totals, pageable,
+                p -> likedMovieRepository.findAllByUserIdAndIsDeletedFalse(userId, p),
+                p -> likedMovieRepository.findSliceByUserIdAndIsDeletedFalse(userId, p),
+                () -> rowEstimator.estimate(LIKED_ESTIMATE, userId));
     }
 
 }
@@ -10,6 +10,7 @@ import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.util.backoff.FixedBackOff;
@@ -79,10 +80,13 @@ public class ModerationKafkaConfig {
     }
 
     /**
-     * Same property-driven setup as Spring Boot's autoconfigured factory (ack-mode, group-id,
-     * etc. from {@code spring.kafka.*}), plus the DLQ error handler above. Explicit so a future
-     * second {@code @KafkaListener} elsewhere doesn't silently inherit verdict-specific DLQ
-     * routing.
+     * Same property-driven setup as Spring Boot's autoconfigured factory (group-id etc. from
+     * {@code spring.kafka.*}), plus the DLQ error handler above. Explicit so a future second
+     * {@code @KafkaListener} elsewhere doesn't silently inherit verdict-specific DLQ routing.
+     * Batch listener with one offset commit per poll: the verdict consumer applies a poll's
+     * clean verdicts in bulk, and names a failing record with
+     * {@link org.springframework.kafka.listener.BatchListenerFailedException} so the handler
+     * retries and dead-letters only that record.
      */
     @Bean
     public ConcurrentKafkaListenerContainerFactory<Object, Object> moderationVerdictListenerContainerFactory(
@@ -92,6 +96,8 @@ public class ModerationKafkaConfig {
         ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
         configurer.configure(factory, consumerFactory);
         factory.setCommonErrorHandler(moderationVerdictErrorHandler);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
         return factory;
     }
 }
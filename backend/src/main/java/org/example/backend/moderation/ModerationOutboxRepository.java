@@ -1,12 +1,72 @@
 package org.example.backend.moderation;
 
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ModerationOutboxRepository extends JpaRepository<ModerationOutboxEntry, Long> {
 
-    /** Oldest-first (BIGINT identity is monotonic) so the relay preserves enqueue order. */
-    List<ModerationOutboxEntry> findAllByOrderByIdAsc(Pageable pageable);
+    /**
+     * Claims up to {@code limit} unclaimed (or lease-expired) entries for {@code owner},
+     * oldest-first (BIGINT identity is monotonic) so the relay preserves enqueue order.
+     * SKIP LOCKED keeps concurrent instances' claims disjoint without blocking. An entry is
+     * only taken when every earlier entry for its content is taken with it — an earlier one
+     * held by another instance (or skipped as locked) holds the rest of that content back —
+     * so each content's versions are published by one instance, in order.
+     */
+    @Transactional
+    @Query(value = """
+            WITH candidate AS (
+                SELECT id, content_id FROM moderation_outbox
+                WHERE claimed_until IS NULL OR claimed_until < now()
+                ORDER BY id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            ), claimed AS (
+                UPDATE moderation_outbox o
+                SET claimed_by = :owner, claimed_until = now() + :leaseSeconds * interval '1 second'
+                FROM candidate c
+                WHERE o.id = c.id
+                  AND NOT EXISTS (
+                      SELECT 1 FROM moderation_outbox p
+                      WHERE p.content_id = c.content_id AND p.id < c.id
+                        AND p.id NOT IN (SELECT id FROM candidate))
+                RETURNING o.*
+            )
+            SELECT * FROM claimed ORDER BY id
+            """, nativeQuery = true)
+    List<ModerationOutboxEntry> claim(@Param("owner") String owner, @Param("limit") int limit,
+                                      @Param("leaseSeconds") long leaseSeconds);
+
+    /** Hands back what a failed pass didn't publish, so the next pass (any instance) retries it. */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE moderation_outbox SET claimed_by = NULL, claimed_until = NULL " +
+                   "WHERE id IN (:ids) AND claimed_by = :owner", nativeQuery = true)
+    int release(@Param("ids") Collection<Long> ids, @Param("owner") String owner);
+
+    // ─── CDC mode (OutboxCdcRelay) ────────────────────────────────────────────────
+    // Entries are published from the replication slot, so the table is only ever trimmed:
+    // everything up to the highest confirmed id goes in one statement.
+
+    @Query("select max(e.id) from ModerationOutboxEntry e")
+    Long findMaxId();
+
+    boolean existsByIdLessThanEqual(Long id);
+
+    @Modifying
+    @Transactional
+    @Query("delete from ModerationOutboxEntry e where e.id <= :id")
+    int deleteThrough(@Param("id") long id);
+
+    /** One statement for a relayed batch (the IN list reaches Postgres as = ANY(array)). */
+    @Modifying
+    @Transactional
+    @Query("delete from ModerationOutboxEntry e where e.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -3,23 +3,27 @@ package org.example.backend.moderation;
 /**
  * Wire format of a message on {@code moderation.requests}, keyed by contentId so
  * per-content ordering survives partitioning. {@code text} is the write-time
- * snapshot from the outbox — the worker never reads our database.
+ * snapshot from the outbox — the worker never reads our database. {@code cacheKey}
+ * is opaque to the worker, which echoes it on the verdict (null when the verdict
+ * cache is off).
  */
 public record ModerationRequestMessage(
         int v,
         String contentType,
         String contentId,
         long version,
-        String text) {
+        String text,
+        String cacheKey) {
 
     public static final int SCHEMA_VERSION = 1;
 
-    public static ModerationRequestMessage from(ModerationOutboxEntry entry) {
+    public static ModerationRequestMessage from(ModerationOutboxEntry entry, String cacheKey) {
         return new ModerationRequestMessage(
                 SCHEMA_VERSION,
                 entry.getContentType(),
                 entry.getContentId().toString(),
                 entry.getContentVersion(),
-                entry.getText());
+                entry.getText(),
+                cacheKey);
     }
 }
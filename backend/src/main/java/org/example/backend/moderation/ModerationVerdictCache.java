@@ -0,0 +1,150 @@
+package org.example.backend.moderation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Remembers the model's answer per distinct text, so text it has already scored — a "great
+ * movie!" comment posted for the thousandth time, an edit that didn't touch the words, a
+ * reconciliation re-enqueue — is applied by the relay straight away instead of taking a trip
+ * through Kafka and the worker.
+ *
+ * <p>The key is a SHA-256 of {@code model-version} and the normalized text (trimmed,
+ * whitespace runs collapsed, lowercased — the model is uncased, so none of that changes its
+ * input). It rides along on the request as {@code cacheKey}, the worker echoes it on the
+ * verdict, and {@link ModerationVerdictConsumer} stores the verdict under it: the backend never
+ * has to hold on to text for verdicts still in flight, and any instance can fill the cache.
+ * Bump {@code model-version} whenever the worker's model or thresholds change; every old entry
+ * then simply stops matching.
+ *
+ * <p>In-memory, per instance, least-recently-used past {@code max-entries}. Hits, misses and
+ * evictions are counted and logged every {@code report-ms}.
+ */
+@Slf4j
+@Component
+public class ModerationVerdictCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Value("${moderation.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${moderation.cache.model-version}")
+    private String modelVersion;
+
+    @Value("${moderation.cache.max-entries:100000}")
+    private int maxEntries;
+
+    /** A verdict as the worker gave it; what a hit replays. */
+    public record Cached(boolean flagged, Map<String, Double> scores) {
+    }
+
+    public record Stats(long hits, long misses, long evictions, int size) {
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long reportedLookups;
+
+    // Access-ordered, so the eldest entry is the least recently hit or stored.
+    private final Map<String, Cached> verdicts = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /** Cache key for {@code text} under the current model version, or null when disabled. */
+    public String keyOf(String text) {
+        if (!enabled || text == null) {
+            return null;
+        }
+        String normalized = WHITESPACE.matcher(text.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update(modelVersion.getBytes(StandardCharsets.UTF_8));
+            sha.update((byte) 0);
+            sha.update(normalized.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(sha.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    /**
+     * The cached verdict for {@code entry}'s text, addressed to this entry's content and
+     * version, or null on a miss.
+     */
+    public ModerationVerdictMessage verdictFor(ModerationOutboxEntry entry, String key) {
+        if (key == null) {
+            return null;
+        }
+        Cached cached;
+        synchronized (verdicts) {
+            cached = verdicts.get(key);
+        }
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return new ModerationVerdictMessage(entry.getContentType(), entry.getContentId().toString(),
+                entry.getContentVersion(), cached.flagged(), cached.scores(), key);
+    }
+
+    /** Stores a worker verdict under the key its request carried; verdicts without one are skipped. */
+    public void put(ModerationVerdictMessage verdict) {
+        if (!enabled || verdict.cacheKey() == null || verdict.flagged() == null) {
+            return;
+        }
+        Cached cached = new Cached(verdict.flagged(),
+                verdict.scores() == null ? Map.of() : Map.copyOf(verdict.scores()));
+        synchronized (verdicts) {
+            verdicts.put(verdict.cacheKey(), cached);
+        }
+    }
+
+    public Stats stats() {
+        int size;
+        synchronized (verdicts) {
+            size = verdicts.size();
+        }
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${moderation.cache.report-ms:300000}",
+            initialDelayString = "${moderation.cache.report-ms:300000}")
+    public void report() {
+        Stats stats = stats();
+        long lookups = stats.hits() + stats.misses();
+        if (lookups == reportedLookups) {
+            return;
+        }
+        reportedLookups = lookups;
+        log.info("Verdict cache: {} of {} lookups hit ({}%), {} entries, {} evicted",
+                stats.hits(), lookups, String.format("%.1f", stats.hitRate() * 100),
+                stats.size(), stats.evictions());
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.example.backend.comment.Comment;
 import org.example.backend.comment.CommentRepository;
 import org.example.backend.comment.CommentService;
@@ -15,12 +16,20 @@ import org.example.backend.post.PostRepository;
 import org.example.backend.post.PostService;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Applies moderation verdicts (optimistic-publish model: a flagged verdict retroactively
@@ -34,6 +43,9 @@ import java.util.function.Consumer;
  * ordered and are applied single-threaded — the in-code version guard is sufficient (no
  * concurrent verdict application for the same content).
  *
+ * <p>The listener takes a poll at a time ({@link #onVerdicts}), so during a backlog catch-up
+ * the clean majority costs one UPDATE per content type rather than one transaction each.
+ *
  * <p>MOD-02: an exception thrown here (e.g. a datastore blip) is retried by
  * {@code moderationVerdictListenerContainerFactory}'s {@link org.springframework.kafka.listener.DefaultErrorHandler}
  * a bounded number of times, then the record is published to the verdicts DLQ instead of
@@ -51,47 +63,139 @@ public class ModerationVerdictConsumer {
     private final CommentService commentService;
     private final ForumService forumService;
     private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final ModerationVerdictCache verdictCache;
+
+    /** A verdict that passed validation, with its type and id parsed. */
+    record Verdict(ModerationVerdictMessage message, ContentType contentType, UUID contentId) {
+    }
 
+    private record Received(ConsumerRecord<String, String> record, Verdict verdict) {
+    }
+
+    /**
+     * One poll's worth of verdicts; the offsets are committed once, after this returns.
+     * Clean verdicts are approved with one guarded bulk UPDATE per content type, then flagged
+     * ones are applied one by one, each in its own transaction. Running the approvals ahead
+     * of the removals is safe because every write is guarded by the content's current
+     * version, so verdicts for one content item commute.
+     *
+     * <p>A failing verdict is reported as a {@link BatchListenerFailedException} naming its
+     * record: the error handler commits everything before it, retries from it, and after the
+     * retry budget sends just that record to the verdicts DLQ. If the bulk approval itself
+     * fails, the clean verdicts take the per-item path too, so the culprit is the one
+     * dead-lettered.
+     */
     @KafkaListener(topics = "${moderation.topics.verdicts}", containerFactory = "moderationVerdictListenerContainerFactory")
+    public void onVerdicts(List<ConsumerRecord<String, String>> records) {
+        List<Received> received = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, String> record : records) {
+            Verdict verdict = parse(record.value());
+            if (verdict != null) {
+                received.add(new Received(record, verdict));
+            }
+        }
+
+        boolean approved = approveClean(received.stream().map(Received::verdict)
+                .filter(v -> !v.message().flagged()).toList());
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        for (Received r : received) {
+            if (approved && !r.verdict().message().flagged()) {
+                continue;
+            }
+            try {
+                tx.executeWithoutResult(status -> apply(r.verdict()));
+            } catch (RuntimeException e) {
+                throw new BatchListenerFailedException("Moderation verdict failed", e, r.record());
+            }
+        }
+    }
+
+    /** Applies a verdict that never went through Kafka: a relay's {@link ModerationVerdictCache} hit. */
     @Transactional
-    public void onVerdict(String payload) {
-        ModerationVerdictMessage verdict;
+    public void apply(ModerationVerdictMessage message) {
+        Verdict verdict = validate(message, message);
+        if (verdict != null) {
+            apply(verdict);
+        }
+    }
+
+    // Null for anything malformed: logged and dropped, never thrown (it would only ever fail
+    // again, and take the DLQ retry budget with it). Valid verdicts go into the cache, stale
+    // ones included: the key names the text that was scored, whatever happened to it since.
+    private Verdict parse(String payload) {
+        ModerationVerdictMessage message;
         try {
-            verdict = objectMapper.readValue(payload, ModerationVerdictMessage.class);
+            message = objectMapper.readValue(payload, ModerationVerdictMessage.class);
         } catch (JsonProcessingException e) {
             log.error("Unparseable moderation verdict skipped: {}", payload, e);
-            return;
+            return null;
+        }
+        Verdict verdict = validate(message, payload);
+        if (verdict != null) {
+            verdictCache.put(message);
         }
+        return verdict;
+    }
+
+    private Verdict validate(ModerationVerdictMessage verdict, Object payload) {
         if (verdict.contentType() == null || verdict.contentId() == null
                 || verdict.version() == null || verdict.flagged() == null) {
             log.error("Incomplete moderation verdict skipped: {}", payload);
-            return;
+            return null;
         }
 
-        ContentType contentType;
-        UUID contentId;
         try {
-            contentType = ContentType.valueOf(verdict.contentType());
-            contentId = UUID.fromString(verdict.contentId());
+            return new Verdict(verdict, ContentType.valueOf(verdict.contentType()),
+                    UUID.fromString(verdict.contentId()));
         } catch (IllegalArgumentException e) {
             log.error("Moderation verdict with invalid type/id skipped: {}", payload);
-            return;
+            return null;
         }
+    }
 
-        switch (contentType) {
-            case POST -> apply(verdict, contentId, postRepository,
+    // One transaction, one statement per content type. False if it failed (and rolled back).
+    private boolean approveClean(List<Verdict> clean) {
+        if (clean.isEmpty()) {
+            return true;
+        }
+        Map<ContentType, List<Verdict>> byType = clean.stream()
+                .collect(Collectors.groupingBy(Verdict::contentType, () -> new EnumMap<>(ContentType.class),
+                        Collectors.toList()));
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    byType.forEach((type, verdicts) -> {
+                        UUID[] ids = verdicts.stream().map(Verdict::contentId).toArray(UUID[]::new);
+                        Long[] versions = verdicts.stream().map(v -> v.message().version()).toArray(Long[]::new);
+                        switch (type) {
+                            case POST -> postRepository.approveModerationBatch(ids, versions);
+                            case COMMENT -> commentRepository.approveModerationBatch(ids, versions);
+                            case FORUM -> forumRepository.approveModerationBatch(ids, versions);
+                        }
+                    }));
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Bulk approval of {} clean verdicts failed, applying them one by one: {}",
+                    clean.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void apply(Verdict verdict) {
+        switch (verdict.contentType()) {
+            case POST -> apply(verdict.message(), verdict.contentId(), postRepository,
                     postRepository::approveModeration, postRepository::markModerationRemoved,
                     postService::systemDeletePost);
-            case COMMENT -> apply(verdict, contentId, commentRepository,
+            case COMMENT -> apply(verdict.message(), verdict.contentId(), commentRepository,
                     commentRepository::approveModeration, commentRepository::markModerationRemoved,
                     commentService::systemDeleteComment);
-            case FORUM -> apply(verdict, contentId, forumRepository,
+            case FORUM -> apply(verdict.message(), verdict.contentId(), forumRepository,
                     forumRepository::approveModeration, forumRepository::markModerationRemoved,
                     forum -> forumService.systemDeleteForum(forum.getId()));
         }
     }
 
-
     private <T extends Moderatable> void apply(
             ModerationVerdictMessage verdict, UUID contentId, JpaRepository<T, UUID> repository,
             BiConsumer<UUID, Long> approve, Consumer<UUID> markRemoved, Consumer<T> remove) {
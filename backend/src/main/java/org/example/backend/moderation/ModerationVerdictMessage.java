@@ -8,6 +8,8 @@ import java.util.Map;
  * Wire format of a message on {@code moderation.verdicts}, produced by the worker.
  * {@code version} echoes the request's version untouched — the consumer uses it to
  * discard verdicts for text that was edited while the request was in flight.
+ * {@code cacheKey} echoes the request's too (null from workers that predate it); it files
+ * the verdict in the {@link ModerationVerdictCache}.
  * Boxed types on purpose: a missing field parses as null and is rejected explicitly
  * rather than silently defaulting.
  */
@@ -17,5 +19,6 @@ public record ModerationVerdictMessage(
         String contentId,
         Long version,
         Boolean flagged,
-        Map<String, Double> scores) {
+        Map<String, Double> scores,
+        String cacheKey) {
 }
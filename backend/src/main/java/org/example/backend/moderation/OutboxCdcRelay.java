@@ -0,0 +1,320 @@
+package org.example.backend.moderation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGProperty;
+import org.postgresql.replication.LogSequenceNumber;
+import org.postgresql.replication.PGReplicationStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alternative to the polling {@link OutboxRelay} ({@code moderation.outbox.mode=cdc}): reads
+ * moderation_outbox inserts from a logical replication slot (pgoutput, publication
+ * {@value #PUBLICATION}, V17) and publishes them as they are decoded — no SELECT or per-row
+ * DELETE against the outbox, and an entry reaches Kafka within one WAL round trip of its
+ * commit.
+ *
+ * <p>Delivery is still at-least-once. A transaction's LSN is confirmed to the slot only once
+ * every entry of it, and of every earlier transaction, has been acked; a failed send drops the
+ * stream and reconnects, and the slot replays from the last confirmed LSN. The rows themselves
+ * are only a carrier here, so confirmed ones are trimmed in bulk every {@code purge-ms}.
+ *
+ * <p>A slot has one consumer at a time: with several instances in CDC mode, one streams and
+ * the others fail to attach and retry every {@code reconnect-delay-ms}, taking over if it
+ * dies. Once an instance has attached, rows written before the slot existed (the poll-mode
+ * backlog) are drained through {@link OutboxRelay#relayBatch()}; standbys never drain, so
+ * they don't republish what the streaming instance has sent but not yet purged. Verdict-cache hits are applied instead
+ * of published, as in the polling relay. Needs {@code wal_level=logical} and a
+ * role with REPLICATION; leaving CDC mode should drop the slot, which otherwise pins WAL.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxCdcRelay {
+
+    public static final String MODE = "cdc";
+    static final String PUBLICATION = "moderation_outbox_pub";
+
+    private final OutboxRelay outboxRelay;
+    private final ModerationOutboxRepository outboxRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final ModerationVerdictCache verdictCache;
+    private final ModerationVerdictConsumer verdictConsumer;
+
+    @Value("${moderation.outbox.mode:poll}")
+    private String mode;
+
+    @Value("${moderation.topics.requests}")
+    private String requestsTopic;
+
+    @Value("${moderation.outbox.cdc.slot:moderation_outbox_relay}")
+    private String slotName;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Value("${moderation.outbox.cdc.idle-wait-ms:10}")
+    private long idleWaitMs;
+
+    @Value("${moderation.outbox.cdc.purge-ms:5000}")
+    private long purgeIntervalMs;
+
+    @Value("${moderation.outbox.reconnect-delay-ms:5000}")
+    private long reconnectDelayMs;
+
+    /** One decoded transaction: confirmable once all its sends are acked. */
+    record PendingCommit(long endLsn, long maxId, List<CompletableFuture<?>> acks) {
+    }
+
+    private final Deque<PendingCommit> pending = new ArrayDeque<>();
+    private final List<CompletableFuture<?>> openAcks = new ArrayList<>();
+    private boolean inTransaction;
+    private long openMaxId;
+    private long confirmedId;
+    private long purgedId;
+    private long lastPurge;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!MODE.equals(mode) || running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "outbox-cdc");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection connection = connect()) {
+                stream(connection);
+            } catch (SQLException | RuntimeException e) {
+                log.warn("Outbox CDC stream stopped, reconnecting from the last confirmed LSN: {}",
+                        e.getMessage());
+            }
+            reset();
+            if (running && !sleep(reconnectDelayMs)) {
+                return;
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Properties props = new Properties();
+        PGProperty.USER.set(props, username);
+        PGProperty.PASSWORD.set(props, password);
+        PGProperty.ASSUME_MIN_SERVER_VERSION.set(props, "10");
+        PGProperty.REPLICATION.set(props, "database");
+        PGProperty.PREFER_QUERY_MODE.set(props, "simple");
+        return DriverManager.getConnection(url, props);
+    }
+
+    private void stream(Connection connection) throws SQLException {
+        PGConnection pg = connection.unwrap(PGConnection.class);
+        ensureSlot(connection, pg);
+
+        // start() fails while another instance holds the slot, so only its owner gets past here
+        try (PGReplicationStream stream = pg.getReplicationAPI().replicationStream().logical()
+                .withSlotName(slotName)
+                .withSlotOption("proto_version", 1)
+                .withSlotOption("publication_names", PUBLICATION)
+                .withStatusInterval(1, TimeUnit.SECONDS)
+                .start()) {
+            log.info("Streaming outbox inserts from replication slot '{}'", slotName);
+            drainBacklog();     // decoded changes wait on the connection meanwhile
+            PgOutputDecoder decoder = new PgOutputDecoder();
+            while (running) {
+                ByteBuffer message = stream.readPending();
+                if (message == null) {
+                    confirm(stream);
+                    purgeIfDue();
+                    if (!sleep(idleWaitMs)) {
+                        return;
+                    }
+                    continue;
+                }
+                accept(decoder.decode(message));
+                confirm(stream);
+            }
+        }
+    }
+
+    private void ensureSlot(Connection connection, PGConnection pg) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT 1 FROM pg_replication_slots WHERE slot_name = ?")) {
+            ps.setString(1, slotName);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return;
+                }
+            }
+        }
+        pg.getReplicationAPI().createReplicationSlot().logical()
+                .withSlotName(slotName)
+                .withOutputPlugin("pgoutput")
+                .make();
+        log.info("Created replication slot '{}'", slotName);
+    }
+
+    // Rows committed before the slot existed are not in its stream; publish them the polling
+    // way before reading it. Anything newer is in both and simply goes out twice. Throws (and so retries
+    // after the reconnect delay) until the backlog is gone, so purging can't drop it.
+    private void drainBacklog() {
+        Long backlog = outboxRepository.findMaxId();
+        while (backlog != null && outboxRepository.existsByIdLessThanEqual(backlog)) {
+            if (!outboxRelay.relayBatch() && outboxRepository.existsByIdLessThanEqual(backlog)) {
+                throw new IllegalStateException("Outbox backlog not yet published");
+            }
+        }
+    }
+
+    void accept(PgOutputDecoder.Change change) {
+        switch (change) {
+            case PgOutputDecoder.Begin() -> inTransaction = true;
+            case PgOutputDecoder.Insert(ModerationOutboxEntry entry) -> {
+                openAcks.add(publish(entry));
+                openMaxId = Math.max(openMaxId, entry.getId());
+            }
+            case PgOutputDecoder.Commit(long endLsn) -> {
+                if (!openAcks.isEmpty()) {
+                    pending.add(new PendingCommit(endLsn, openMaxId, List.copyOf(openAcks)));
+                }
+                openAcks.clear();
+                inTransaction = false;
+            }
+            case null -> {
+            }
+        }
+    }
+
+    private CompletableFuture<?> publish(ModerationOutboxEntry entry) {
+        String cacheKey = verdictCache.keyOf(entry.getText());
+        ModerationVerdictMessage cached = verdictCache.verdictFor(entry, cacheKey);
+        if (cached != null) {
+            try {
+                verdictConsumer.apply(cached);
+                return CompletableFuture.completedFuture(null);
+            } catch (RuntimeException e) {
+                log.warn("Cached verdict for {} not applied, publishing the request instead: {}",
+                        entry.getContentId(), e.getMessage());
+            }
+        }
+        try {
+            String payload = objectMapper.writeValueAsString(ModerationRequestMessage.from(entry, cacheKey));
+            return kafkaTemplate.send(requestsTopic, entry.getContentId().toString(), payload);
+        } catch (JsonProcessingException e) {
+            log.error("Unserializable outbox entry {} skipped", entry.getId(), e);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * Confirms the longest fully-acked prefix of decoded transactions.
+     *
+     * @return the highest LSN confirmed by this call, or -1 if none
+     * @throws IllegalStateException when a send in that prefix failed — the caller drops the
+     *                               stream so the slot replays from the last confirmed LSN
+     */
+    long confirmAcked() {
+        long confirmed = -1;
+        while (!pending.isEmpty() && pending.peek().acks().stream().allMatch(CompletableFuture::isDone)) {
+            PendingCommit commit = pending.poll();
+            if (commit.acks().stream().anyMatch(CompletableFuture::isCompletedExceptionally)) {
+                throw new IllegalStateException("Kafka publish failed");
+            }
+            confirmed = commit.endLsn();
+            confirmedId = Math.max(confirmedId, commit.maxId());
+        }
+        return confirmed;
+    }
+
+    /**
+     * Reports the acked prefix to the slot. Between transactions with nothing in flight,
+     * everything received is done with, so the last received LSN is confirmed instead:
+     * pgoutput sends nothing for transactions without outbox inserts, and without this an idle
+     * outbox on a busy database would keep the slot from ever releasing WAL. Inside a
+     * transaction it is not: keepalives move that LSN past a Begin whose Inserts haven't
+     * arrived yet, and confirming it would skip them on replay (and let the purge delete them).
+     */
+    void confirm(PGReplicationStream stream) {
+        long lsn = confirmAcked();
+        LogSequenceNumber confirmed = null;
+        if (!inTransaction && pending.isEmpty() && openAcks.isEmpty()) {
+            confirmed = stream.getLastReceiveLSN();
+        } else if (lsn >= 0) {
+            confirmed = LogSequenceNumber.valueOf(lsn);
+        }
+        if (confirmed != null && !LogSequenceNumber.INVALID_LSN.equals(confirmed)) {
+            stream.setAppliedLSN(confirmed);
+            stream.setFlushedLSN(confirmed);
+        }
+    }
+
+    private void purgeIfDue() {
+        long now = System.currentTimeMillis();
+        if (confirmedId > purgedId && now - lastPurge >= purgeIntervalMs) {
+            outboxRepository.deleteThrough(confirmedId);
+            purgedId = confirmedId;
+            lastPurge = now;
+        }
+    }
+
+    // Unconfirmed work is replayed by the slot after a reconnect.
+    private void reset() {
+        pending.clear();
+        openAcks.clear();
+        inTransaction = false;
+        openMaxId = 0;
+    }
+
+    private boolean sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
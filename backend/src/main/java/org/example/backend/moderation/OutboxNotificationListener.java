@@ -0,0 +1,136 @@
+package org.example.backend.moderation;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wakes {@link OutboxRelay} the moment a moderation request commits. An insert trigger on
+ * moderation_outbox NOTIFYs {@value #CHANNEL} (delivered on commit, folded per transaction);
+ * this holds one dedicated connection LISTENing on it and runs a relay pass per wakeup, so a
+ * request is published within a round trip instead of after up to a full poll interval.
+ *
+ * <p>The connection comes straight from the driver, not the Hikari pool: it sits in LISTEN
+ * for the life of the process and must not pin one of the request-serving connections. If it
+ * drops, the thread reconnects after {@code reconnect-delay-ms}; notifications sent meanwhile
+ * are lost, so each (re)connect starts with a catch-up pass and the relay's fixed-delay poll
+ * stays on as a safety net.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxNotificationListener {
+
+    static final String CHANNEL = "moderation_outbox";
+
+    private final OutboxRelay outboxRelay;
+
+    @Value("${moderation.outbox.listen:true}")
+    private boolean enabled;
+
+    @Value("${moderation.outbox.mode:poll}")
+    private String mode;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    // Bounds how long a stop() waits for the blocked read to notice.
+    @Value("${moderation.outbox.listen-timeout-ms:1000}")
+    private int listenTimeoutMs;
+
+    @Value("${moderation.outbox.reconnect-delay-ms:5000}")
+    private long reconnectDelayMs;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || OutboxCdcRelay.MODE.equals(mode) || running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "outbox-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.join(listenTimeoutMs * 2L);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                listen(connection);
+            } catch (SQLException e) {
+                log.warn("Outbox LISTEN connection lost, relying on the poll until it is back: {}",
+                        e.getMessage());
+            }
+            if (running && !sleep(reconnectDelayMs)) {
+                return;
+            }
+        }
+    }
+
+    /** Blocks on {@code connection}, relaying on each wakeup, until stopped or the connection fails. */
+    void listen(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        }
+        PGConnection pg = connection.unwrap(PGConnection.class);
+        log.info("Listening for outbox notifications on '{}'", CHANNEL);
+
+        drain();    // whatever committed while nobody was listening
+        while (running) {
+            PGNotification[] notifications = pg.getNotifications(listenTimeoutMs);
+            if (notifications != null && notifications.length > 0) {
+                drain();
+            }
+        }
+    }
+
+    // A wakeup can stand for more than one batch (a burst, or folded notifications): keep going
+    // while the relay reports full, clean batches. A failing or partial pass falls back to the
+    // next notification or the poll, so a broker outage doesn't spin this thread.
+    private void drain() {
+        try {
+            while (running && outboxRelay.relayBatch()) {
+                // next batch
+            }
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay pass failed, the poll will retry: {}", e.getMessage());
+        }
+    }
+
+    private boolean sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -5,13 +5,19 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Publishes outbox entries to Kafka and deletes them only after the broker acks
@@ -20,9 +26,29 @@ import java.util.concurrent.TimeUnit;
  * entries accumulate and get retried next tick — content creation is unaffected,
  * which is what makes the optimistic-publish model resilient.
  *
- * Note: assumes a single backend instance (as deployed in compose). Multiple
- * instances would need a leader lock (e.g. ShedLock) around this poller to avoid
- * duplicate publishes — harmless for correctness, wasteful at scale.
+ * <p>By default a batch is pipelined: every entry is sent without waiting, the acks are
+ * gathered against one deadline, and the acked entries are deleted in one statement, so a
+ * backlog drains at the broker's rate rather than one round trip per entry. Per-content
+ * order needs no bookkeeping: after coalescing (below) a batch holds one entry per content
+ * item, and an unacked entry simply stays for the next tick, ahead of anything newer.
+ * {@code moderation.outbox.pipelined=false} restores the one-at-a-time blocking relay.
+ *
+ * <p>Safe to run on several backend instances: each pass first claims its batch under a
+ * lease ({@link ModerationOutboxRepository#claim}), so instances publish disjoint entries and
+ * a content item's versions stay with one instance. Entries a failed pass didn't publish are
+ * released at once; a crashed instance's claims lapse after {@code claim-lease-s}, which must
+ * comfortably exceed the send timeout.
+ *
+ * <p>A batch is coalesced before it goes out: of several entries for one content item (an
+ * edit burst, a reconciliation re-enqueue), only the highest version is published, and the
+ * rest are deleted with the batch. The verdict consumer's version guard would discard their
+ * verdicts anyway. The claim guarantees only that no earlier entry for the content is left
+ * outside the batch. A newer version past the claim limit, or written after the claim, goes
+ * out on a later tick, and the version guard discards the verdict for the older one.
+ *
+ * <p>Text the model has already scored isn't published at all: a {@link ModerationVerdictCache}
+ * hit is applied on the spot through {@link ModerationVerdictConsumer#apply} and the entry
+ * deleted with the batch. If applying it fails, the entry is published as usual.
  */
 @Slf4j
 @Component
@@ -32,6 +58,8 @@ public class OutboxRelay {
     private final ModerationOutboxRepository outboxRepository;
     private final KafkaTemplate<String, String> kafkaTemplate;
     private final ObjectMapper objectMapper;
+    private final ModerationVerdictCache verdictCache;
+    private final ModerationVerdictConsumer verdictConsumer;
 
     @Value("${moderation.topics.requests}")
     private String requestsTopic;
@@ -42,20 +70,87 @@ public class OutboxRelay {
     @Value("${moderation.outbox.send-timeout-s:10}")
     private long sendTimeoutSeconds;
 
+    @Value("${moderation.outbox.pipelined:true}")
+    private boolean pipelined;
+
+    @Value("${moderation.outbox.mode:poll}")
+    private String mode;
+
+    @Value("${moderation.outbox.claim-lease-s:60}")
+    private long claimLeaseSeconds;
+
+    // Names this instance's claims; fresh per process, so a restarted instance never mistakes
+    // its predecessor's lapsed claims for its own.
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private record InFlight(ModerationOutboxEntry entry, CompletableFuture<?> ack) {
+    }
+
+    /**
+     * Safety-net poll. {@link OutboxNotificationListener} normally wakes the relay as soon as an
+     * entry commits; this catches anything it missed (listener reconnecting, notify lost).
+     */
     @Scheduled(
-            fixedDelayString = "${moderation.outbox.relay-delay-ms:1000}",
+            fixedDelayString = "${moderation.outbox.relay-delay-ms:5000}",
             initialDelayString = "${moderation.outbox.relay-initial-delay-ms:1000}")
     public void relay() {
-        List<ModerationOutboxEntry> batch =
-                outboxRepository.findAllByOrderByIdAsc(PageRequest.of(0, batchSize));
+        if (OutboxCdcRelay.MODE.equals(mode)) {
+            return;     // OutboxCdcRelay publishes from the replication slot instead
+        }
+        relayBatch();
+    }
 
+    /**
+     * Claims and publishes one batch. Synchronized because the poll and the notify listener
+     * both call it; claims already keep other instances apart.
+     *
+     * @return true when a full batch was published without failures — more entries may be
+     *         waiting and the caller can go again straight away
+     */
+    public synchronized boolean relayBatch() {
+        List<ModerationOutboxEntry> batch = outboxRepository.claim(instanceId, batchSize, claimLeaseSeconds);
+        if (batch.isEmpty()) {
+            return false;
+        }
+        List<Long> superseded = new ArrayList<>();
+        List<ModerationOutboxEntry> latest = coalesce(batch, superseded);
+        boolean published = pipelined ? relayPipelined(latest, superseded) : relaySequential(latest, superseded);
+        if (!published) {
+            // deleted entries no longer match; the rest go back to the pool now rather than
+            // when the lease lapses
+            outboxRepository.release(batch.stream().map(ModerationOutboxEntry::getId).toList(), instanceId);
+        }
+        return published && batch.size() == batchSize;
+    }
+
+    /**
+     * The newest entry per content item, in order of each item's first entry; the ids of the
+     * others are added to {@code superseded}.
+     */
+    private static List<ModerationOutboxEntry> coalesce(List<ModerationOutboxEntry> batch, List<Long> superseded) {
+        Map<UUID, ModerationOutboxEntry> latest = new LinkedHashMap<>();
         for (ModerationOutboxEntry entry : batch) {
-            String payload;
-            try {
-                payload = objectMapper.writeValueAsString(ModerationRequestMessage.from(entry));
-            } catch (JsonProcessingException e) {
-                // Can never succeed on retry — drop it rather than wedge the relay.
-                log.error("Unserializable outbox entry {} removed", entry.getId(), e);
+            ModerationOutboxEntry kept = latest.get(entry.getContentId());
+            if (kept == null) {
+                latest.put(entry.getContentId(), entry);
+            } else if (entry.getContentVersion() >= kept.getContentVersion()) {
+                superseded.add(kept.getId());
+                latest.put(entry.getContentId(), entry);
+            } else {
+                superseded.add(entry.getId());
+            }
+        }
+        return latest.size() == batch.size() ? batch : new ArrayList<>(latest.values());
+    }
+
+    private boolean relaySequential(List<ModerationOutboxEntry> batch, List<Long> superseded) {
+        if (!superseded.isEmpty()) {
+            outboxRepository.deleteByIdIn(superseded);
+        }
+        for (ModerationOutboxEntry entry : batch) {
+            String cacheKey = verdictCache.keyOf(entry.getText());
+            String payload = appliedFromCache(entry, cacheKey) ? null : serialize(entry, cacheKey);
+            if (payload == null) {
                 outboxRepository.deleteById(entry.getId());
                 continue;
             }
@@ -67,14 +162,95 @@ public class OutboxRelay {
                 outboxRepository.deleteById(entry.getId());
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
-                return;
+                return false;
             } catch (Exception e) {
                 // Broker down/slow: stop here (preserves per-content order) and let
                 // the next tick retry from the same entry.
                 log.warn("Kafka publish failed, outbox will retry ({} entries pending): {}",
                         batch.size(), e.getMessage());
-                return;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean relayPipelined(List<ModerationOutboxEntry> batch, List<Long> superseded) {
+        List<Long> done = new ArrayList<>(superseded);
+        List<InFlight> inFlight = new ArrayList<>(batch.size());
+        for (ModerationOutboxEntry entry : batch) {
+            String cacheKey = verdictCache.keyOf(entry.getText());
+            String payload = appliedFromCache(entry, cacheKey) ? null : serialize(entry, cacheKey);
+            if (payload == null) {
+                done.add(entry.getId());
+                continue;
+            }
+            try {
+                inFlight.add(new InFlight(entry,
+                        kafkaTemplate.send(requestsTopic, entry.getContentId().toString(), payload)));
+            } catch (RuntimeException e) {
+                // send() itself failed (e.g. no metadata within max.block.ms): the broker is
+                // unreachable, so don't block on the rest of the batch too
+                log.warn("Kafka publish failed, outbox will retry: {}", e.getMessage());
+                break;
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(sendTimeoutSeconds);
+        for (InFlight sent : inFlight) {
+            if (awaitAck(sent.ack(), deadline)) {
+                done.add(sent.entry().getId());
             }
         }
+
+        if (!done.isEmpty()) {
+            outboxRepository.deleteByIdIn(done);
+        }
+        int total = superseded.size() + batch.size();
+        if (done.size() < total) {
+            log.warn("Kafka publish incomplete, outbox will retry {} of {} entries",
+                    total - done.size(), total);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean awaitAck(CompletableFuture<?> ack, long deadline) {
+        try {
+            ack.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ack.isDone() && !ack.isCompletedExceptionally();
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    // Verdicts commute (every write is version-guarded), so a hit may be applied ahead of
+    // earlier entries of the same content that are still being published.
+    private boolean appliedFromCache(ModerationOutboxEntry entry, String cacheKey) {
+        ModerationVerdictMessage verdict = verdictCache.verdictFor(entry, cacheKey);
+        if (verdict == null) {
+            return false;
+        }
+        try {
+            verdictConsumer.apply(verdict);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Cached verdict for {} not applied, publishing the request instead: {}",
+                    entry.getContentId(), e.getMessage());
+            return false;
+        }
+    }
+
+    // Null when the entry can never be serialized — the caller drops it rather than wedge
+    // the relay.
+    private String serialize(ModerationOutboxEntry entry, String cacheKey) {
+        try {
+            return objectMapper.writeValueAsString(ModerationRequestMessage.from(entry, cacheKey));
+        } catch (JsonProcessingException e) {
+            log.error("Unserializable outbox entry {} removed", entry.getId(), e);
+            return null;
+        }
     }
 }
@@ -0,0 +1,100 @@
+package org.example.backend.moderation;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Decodes the few pgoutput (protocol version 1) messages the CDC relay needs from a
+ * publication of moderation_outbox inserts: Relation (column names, remembered per relation
+ * oid), Begin and Commit (the transaction boundaries; Commit carries the LSN to confirm once
+ * that transaction's entries are acked) and Insert (turned back into an outbox entry).
+ * Everything else (Type, Origin, ...) decodes to null.
+ * Column values arrive in text form; only the columns the request message needs are read.
+ */
+class PgOutputDecoder {
+
+    sealed interface Change permits Begin, Insert, Commit {
+    }
+
+    record Begin() implements Change {
+    }
+
+    record Insert(ModerationOutboxEntry entry) implements Change {
+    }
+
+    record Commit(long endLsn) implements Change {
+    }
+
+    private final Map<Integer, String[]> relations = new HashMap<>();
+
+    Change decode(ByteBuffer buffer) {
+        return switch ((char) buffer.get()) {
+            case 'R' -> {
+                readRelation(buffer);
+                yield null;
+            }
+            case 'B' -> new Begin();    // final LSN, timestamp and xid: unused
+            case 'I' -> new Insert(readInsert(buffer));
+            case 'C' -> {
+                buffer.get();           // flags, unused
+                buffer.getLong();       // commit LSN
+                yield new Commit(buffer.getLong());
+            }
+            default -> null;
+        };
+    }
+
+    private void readRelation(ByteBuffer buffer) {
+        int oid = buffer.getInt();
+        readString(buffer);             // namespace
+        readString(buffer);             // relation name
+        buffer.get();                   // replica identity
+        String[] columns = new String[buffer.getShort()];
+        for (int i = 0; i < columns.length; i++) {
+            buffer.get();               // flags
+            columns[i] = readString(buffer);
+            buffer.getInt();            // type oid
+            buffer.getInt();            // type modifier
+        }
+        relations.put(oid, columns);
+    }
+
+    private ModerationOutboxEntry readInsert(ByteBuffer buffer) {
+        int oid = buffer.getInt();
+        String[] columns = relations.get(oid);
+        if (columns == null) {
+            throw new IllegalStateException("Insert for unknown relation " + oid);
+        }
+        buffer.get();                   // 'N': new tuple
+        Map<String, String> values = new HashMap<>();
+        int count = buffer.getShort();
+        for (int i = 0; i < count; i++) {
+            char kind = (char) buffer.get();
+            if (kind == 't') {
+                byte[] value = new byte[buffer.getInt()];
+                buffer.get(value);
+                values.put(columns[i], new String(value, StandardCharsets.UTF_8));
+            }
+            // 'n' null, 'u' unchanged TOAST: neither occurs for a fresh outbox row
+        }
+        return ModerationOutboxEntry.builder()
+                .id(Long.parseLong(values.get("id")))
+                .contentType(values.get("content_type"))
+                .contentId(UUID.fromString(values.get("content_id")))
+                .contentVersion(Long.parseLong(values.get("content_version")))
+                .text(values.get("text"))
+                .build();
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int start = buffer.position();
+        while (buffer.get() != 0) {
+            // scan to the terminator
+        }
+        return new String(buffer.array(), buffer.arrayOffset() + start,
+                buffer.position() - start - 1, StandardCharsets.UTF_8);
+    }
+}
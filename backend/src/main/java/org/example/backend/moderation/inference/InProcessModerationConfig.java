@@ -0,0 +1,103 @@
+package org.example.backend.moderation.inference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.kafka.autoconfigure.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wiring for {@link InProcessModerationWorker}, active only with {@code moderation.engine=inproc}.
+ * The ONNX-backed {@link ToxicityScorer} is compiled only by the {@code inproc-moderation}
+ * Maven profile (it drags in ONNX Runtime's native libraries); a jar built without it fails
+ * at startup with instructions rather than silently never moderating anything.
+ */
+@Configuration
+@ConditionalOnProperty(name = "moderation.engine", havingValue = InProcessModerationWorker.ENGINE)
+public class InProcessModerationConfig {
+
+    @Value("${moderation.inproc.model-dir}")
+    private Path modelDir;
+
+    @Value("${moderation.inproc.max-seq-len:256}")
+    private int maxSeqLen;
+
+    @Value("${moderation.inproc.lowercase:true}")
+    private boolean lowercase;
+
+    @Value("${moderation.inproc.threads:2}")
+    private int threads;
+
+    @Value("${moderation.inproc.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${moderation.inproc.max-poll-records:256}")
+    private int maxPollRecords;
+
+    @Value("${moderation.inproc.retry-delay-ms:5000}")
+    private long retryDelayMs;
+
+    @Bean
+    public WordPieceTokenizer moderationTokenizer() throws IOException {
+        return WordPieceTokenizer.load(modelDir.resolve("vocab.txt"), lowercase, maxSeqLen);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(ToxicityScorer.class)
+    public ToxicityScorer missingToxicityScorer() {
+        throw new IllegalStateException("moderation.engine=inproc needs the ONNX scorer, which this build "
+                + "does not contain: build the backend with -Pinproc-moderation, or use moderation.engine=worker");
+    }
+
+    /**
+     * Inference threads, each running one bucket's forward pass with a single ORT thread
+     * (like one Python worker). The queue is bounded and overflow runs on the listener thread,
+     * so an oversized poll slows consumption down instead of piling up tensors.
+     */
+    @Bean
+    public ExecutorService moderationInferenceExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "moderation-inference-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Batch listener over {@code moderation.requests}, one offset commit per poll. Only
+     * failures to score or publish reach the error handler (malformed requests are
+     * dead-lettered by the worker itself), and those are transient, so the poll is retried
+     * until it goes through rather than dropped.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> inProcessModerationListenerContainerFactory(
+            ConsumerFactory<Object, Object> consumerFactory,
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(retryDelayMs, FixedBackOff.UNLIMITED_ATTEMPTS)));
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.getContainerProperties().getKafkaConsumerProperties()
+                .setProperty("max.poll.records", String.valueOf(maxPollRecords));
+        return factory;
+    }
+}
@@ -0,0 +1,172 @@
+package org.example.backend.moderation.inference;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.example.backend.moderation.ModerationRequestMessage;
+import org.example.backend.moderation.ModerationVerdictMessage;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The Python moderation worker, in the backend's JVM ({@code moderation.engine=inproc}):
+ * consumes {@code moderation.requests} in the same consumer group, scores each text with the
+ * same model through a {@link ToxicityScorer}, and publishes the same verdict messages, so the
+ * rest of the pipeline can't tell which engine ran. Malformed requests go to the requests DLQ.
+ *
+ * <p>Each poll is micro-batched by length: requests are tokenized, sorted by token count and
+ * cut into buckets of at most {@code max-batch}, so a bucket pads to a length close to its own
+ * items instead of the poll's longest outlier (the effect behind performance.md §A's falling
+ * throughput at larger batches). Buckets run on the bounded inference executor, one forward
+ * pass each; verdicts go out in bucket order as each finishes.
+ *
+ * <p>At-least-once like the Python worker: the poll's offsets are committed only after every
+ * verdict in it is acked. A failed send or inference throws, and the container redelivers
+ * the whole poll after a back-off; the verdict consumer is idempotent, so repeats are harmless.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "moderation.engine", havingValue = InProcessModerationWorker.ENGINE)
+public class InProcessModerationWorker {
+
+    public static final String ENGINE = "inproc";
+
+    private final ToxicityScorer scorer;
+    private final WordPieceTokenizer tokenizer;
+    private final ExecutorService executor;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${moderation.topics.verdicts}")
+    private String verdictsTopic;
+
+    @Value("${moderation.topics.dlq}")
+    private String dlqTopic;
+
+    @Value("${moderation.inproc.max-batch:32}")
+    private int maxBatch;
+
+    @Value("${moderation.inproc.toxic-threshold:0.5}")
+    private double toxicThreshold;
+
+    @Value("${moderation.inproc.severe-toxic-threshold:0.5}")
+    private double severeToxicThreshold;
+
+    @Value("${moderation.inproc.timeout-ms:30000}")
+    private long timeoutMs;
+
+    public InProcessModerationWorker(ToxicityScorer scorer,
+                                     WordPieceTokenizer tokenizer,
+                                     @Qualifier("moderationInferenceExecutor") ExecutorService executor,
+                                     KafkaTemplate<String, String> kafkaTemplate,
+                                     ObjectMapper objectMapper) {
+        this.scorer = scorer;
+        this.tokenizer = tokenizer;
+        this.executor = executor;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /** A parsed request with its tokens, still tied to the record it came from (for its key). */
+    record Encoded(ConsumerRecord<String, String> record, ModerationRequestMessage request, int[] ids) {
+    }
+
+    @KafkaListener(
+            topics = "${moderation.topics.requests}",
+            groupId = "${moderation.inproc.group-id:moderation-workers}",
+            containerFactory = "inProcessModerationListenerContainerFactory")
+    public void onRequests(List<ConsumerRecord<String, String>> records) throws InterruptedException {
+        List<CompletableFuture<?>> acks = new ArrayList<>(records.size());
+        List<Encoded> encoded = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, String> record : records) {
+            ModerationRequestMessage request = parse(record);
+            if (request == null) {
+                acks.add(kafkaTemplate.send(dlqTopic, record.key(), record.value()));
+            } else {
+                encoded.add(new Encoded(record, request, tokenizer.encode(request.text())));
+            }
+        }
+
+        List<List<Encoded>> buckets = bucket(encoded);
+        List<Future<List<ToxicityScores>>> scored = new ArrayList<>(buckets.size());
+        for (List<Encoded> bucket : buckets) {
+            List<int[]> ids = bucket.stream().map(Encoded::ids).toList();
+            scored.add(executor.submit(() -> scorer.score(ids)));
+        }
+        for (int i = 0; i < buckets.size(); i++) {
+            List<Encoded> bucket = buckets.get(i);
+            List<ToxicityScores> scores = await(scored.get(i));
+            for (int j = 0; j < bucket.size(); j++) {
+                acks.add(publish(bucket.get(j), scores.get(j)));
+            }
+        }
+
+        await(CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new)));
+        log.debug("Moderated {} requests in {} buckets ({} to the DLQ)",
+                encoded.size(), buckets.size(), records.size() - encoded.size());
+    }
+
+    /** Shortest first, in runs of at most {@code max-batch}. */
+    List<List<Encoded>> bucket(List<Encoded> encoded) {
+        List<Encoded> sorted = new ArrayList<>(encoded);
+        sorted.sort(Comparator.comparingInt(e -> e.ids().length));
+        List<List<Encoded>> buckets = new ArrayList<>();
+        for (int from = 0; from < sorted.size(); from += maxBatch) {
+            buckets.add(sorted.subList(from, Math.min(from + maxBatch, sorted.size())));
+        }
+        return buckets;
+    }
+
+    private CompletableFuture<?> publish(Encoded item, ToxicityScores scores) {
+        ModerationRequestMessage request = item.request();
+        boolean flagged = scores.toxic() >= toxicThreshold || scores.severeToxic() >= severeToxicThreshold;
+        ModerationVerdictMessage verdict = new ModerationVerdictMessage(
+                request.contentType(), request.contentId(), request.version(), flagged, scores.asMap(),
+                request.cacheKey());
+        try {
+            return kafkaTemplate.send(verdictsTopic, item.record().key(), objectMapper.writeValueAsString(verdict));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unserializable verdict for " + request.contentId(), e);
+        }
+    }
+
+    // Same acceptance rule as the Python worker: a text and a content id, anything else is poison.
+    private ModerationRequestMessage parse(ConsumerRecord<String, String> record) {
+        try {
+            ModerationRequestMessage request = objectMapper.readValue(record.value(), ModerationRequestMessage.class);
+            if (request.text() == null || request.contentId() == null || request.contentId().isEmpty()) {
+                throw new IllegalArgumentException("missing text/contentId");
+            }
+            return request;
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.warn("Malformed moderation request {}-{}@{} -> DLQ: {}",
+                    record.topic(), record.partition(), record.offset(), e.getMessage());
+            return null;
+        }
+    }
+
+    private <T> T await(Future<T> future) throws InterruptedException {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Moderation batch failed, redelivering the poll", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Moderation batch timed out, redelivering the poll", e);
+        }
+    }
+}
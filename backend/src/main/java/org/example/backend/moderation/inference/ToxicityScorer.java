@@ -0,0 +1,15 @@
+package org.example.backend.moderation.inference;
+
+import java.util.List;
+
+/**
+ * One forward pass of the toxicity model over a micro-batch of already-tokenized texts (see
+ * {@link WordPieceTokenizer}). Implementations pad every sequence to the longest one in the
+ * call, so callers should hand in batches of similar length. Must be safe to call from
+ * several inference threads at once.
+ */
+public interface ToxicityScorer {
+
+    /** Scores in the order of {@code tokenIds}. */
+    List<ToxicityScores> score(List<int[]> tokenIds);
+}
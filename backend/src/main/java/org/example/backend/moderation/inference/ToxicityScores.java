@@ -0,0 +1,12 @@
+package org.example.backend.moderation.inference;
+
+import java.util.Map;
+
+/** Sigmoid outputs of the two labels the model is trained on, as the Python worker reports them. */
+public record ToxicityScores(double toxic, double severeToxic) {
+
+    /** Keyed the way {@code ModerationVerdictMessage.scores} is on the wire. */
+    public Map<String, Double> asMap() {
+        return Map.of("toxic", toxic, "severe_toxic", severeToxic);
+    }
+}
@@ -0,0 +1,194 @@
+package org.example.backend.moderation.inference;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Java port of the BERT tokenizer the Python worker loads from the model's tokenizer.json:
+ * BertNormalizer (drop control characters, space out CJK ideographs, lowercase, strip
+ * accents), BertPreTokenizer (split on whitespace and punctuation), then greedy
+ * longest-match WordPiece with {@code ##} continuations over the model's vocab.txt, truncated
+ * to {@code maxLength} and wrapped in [CLS] ... [SEP]. Ids only: type ids are all 0 and the
+ * attention mask is implied by the length, so the scorer derives both when it pads.
+ */
+public class WordPieceTokenizer {
+
+    static final String CLS = "[CLS]";
+    static final String SEP = "[SEP]";
+    static final String PAD = "[PAD]";
+    static final String UNK = "[UNK]";
+
+    // Longer "words" (URLs, base64, keyboard mashing) become a single [UNK], as in HF.
+    private static final int MAX_WORD_CHARS = 100;
+
+    private final Map<String, Integer> vocab;
+    private final boolean lowercase;
+    private final int maxLength;
+    private final int cls;
+    private final int sep;
+    private final int pad;
+    private final int unk;
+
+    public WordPieceTokenizer(Map<String, Integer> vocab, boolean lowercase, int maxLength) {
+        if (maxLength < 2) {
+            throw new IllegalArgumentException("maxLength must leave room for [CLS] and [SEP]");
+        }
+        this.vocab = Map.copyOf(vocab);
+        this.lowercase = lowercase;
+        this.maxLength = maxLength;
+        this.cls = required(CLS);
+        this.sep = required(SEP);
+        this.unk = required(UNK);
+        this.pad = vocab.getOrDefault(PAD, 0);
+    }
+
+    /** Reads a vocab.txt: one token per line, the line number is its id. */
+    public static WordPieceTokenizer load(Path vocabFile, boolean lowercase, int maxLength) throws IOException {
+        List<String> lines = Files.readAllLines(vocabFile, StandardCharsets.UTF_8);
+        Map<String, Integer> vocab = new HashMap<>(lines.size() * 2);
+        for (int i = 0; i < lines.size(); i++) {
+            vocab.putIfAbsent(lines.get(i).strip(), i);
+        }
+        return new WordPieceTokenizer(vocab, lowercase, maxLength);
+    }
+
+    private int required(String token) {
+        Integer id = vocab.get(token);
+        if (id == null) {
+            throw new IllegalArgumentException("Vocabulary has no " + token + " token");
+        }
+        return id;
+    }
+
+    public int padId() {
+        return pad;
+    }
+
+    /** Token ids of {@code text}, [CLS] and [SEP] included, at most {@code maxLength} long. */
+    public int[] encode(String text) {
+        int[] ids = new int[maxLength];
+        int count = 0;
+        ids[count++] = cls;
+        String normalized = normalize(text);
+        int limit = maxLength - 1;
+        int start = -1;
+        for (int i = 0; i <= normalized.length() && count < limit; i++) {
+            char c = i < normalized.length() ? normalized.charAt(i) : ' ';
+            boolean space = c == ' ';
+            boolean punctuation = !space && isPunctuation(c);
+            if (space || punctuation) {
+                if (start >= 0) {
+                    count = wordPiece(normalized.substring(start, i), ids, count, limit);
+                    start = -1;
+                }
+                if (punctuation && count < limit) {
+                    count = wordPiece(String.valueOf(c), ids, count, limit);
+                }
+            } else if (start < 0) {
+                start = i;
+            }
+        }
+        ids[count++] = sep;
+        return Arrays.copyOf(ids, count);
+    }
+
+    private int wordPiece(String word, int[] ids, int count, int limit) {
+        if (word.codePointCount(0, word.length()) > MAX_WORD_CHARS) {
+            ids[count++] = unk;
+            return count;
+        }
+        int[] pieces = new int[word.length()];
+        int found = 0;
+        int start = 0;
+        while (start < word.length()) {
+            int end = word.length();
+            Integer id = null;
+            while (end > start) {
+                String piece = word.substring(start, end);
+                id = vocab.get(start > 0 ? "##" + piece : piece);
+                if (id != null) {
+                    break;
+                }
+                end--;
+            }
+            if (id == null) {
+                ids[count++] = unk;
+                return count;
+            }
+            pieces[found++] = id;
+            start = end;
+        }
+        int take = Math.min(found, limit - count);
+        System.arraycopy(pieces, 0, ids, count, take);
+        return count + take;
+    }
+
+    // Everything BertNormalizer does, with whitespace collapsed to ' ' for the split.
+    private String normalize(String text) {
+        StringBuilder out = new StringBuilder(text.length() + 16);
+        text.codePoints().forEach(cp -> {
+            if (cp == 0 || cp == 0xFFFD || isControl(cp)) {
+                return;
+            }
+            if (isWhitespace(cp)) {
+                out.append(' ');
+            } else if (isCjk(cp)) {
+                out.append(' ').appendCodePoint(cp).append(' ');
+            } else {
+                out.appendCodePoint(cp);
+            }
+        });
+        if (!lowercase) {
+            return out.toString();
+        }
+        String decomposed = Normalizer.normalize(out.toString().toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        StringBuilder stripped = new StringBuilder(decomposed.length());
+        decomposed.codePoints()
+                .filter(cp -> Character.getType(cp) != Character.NON_SPACING_MARK)
+                .forEach(stripped::appendCodePoint);
+        return stripped.toString();
+    }
+
+    private static boolean isWhitespace(int cp) {
+        return cp == ' ' || cp == '\t' || cp == '\n' || cp == '\r'
+                || Character.getType(cp) == Character.SPACE_SEPARATOR;
+    }
+
+    private static boolean isControl(int cp) {
+        if (cp == '\t' || cp == '\n' || cp == '\r') {
+            return false;
+        }
+        int type = Character.getType(cp);
+        return type == Character.CONTROL || type == Character.FORMAT
+                || type == Character.PRIVATE_USE || type == Character.UNASSIGNED
+                || type == Character.SURROGATE;
+    }
+
+    // BERT counts all non-alphanumeric ASCII as punctuation, plus the Unicode P* categories.
+    private static boolean isPunctuation(char c) {
+        if ((c >= 33 && c <= 47) || (c >= 58 && c <= 64) || (c >= 91 && c <= 96) || (c >= 123 && c <= 126)) {
+            return true;
+        }
+        return switch (Character.getType(c)) {
+            case Character.CONNECTOR_PUNCTUATION, Character.DASH_PUNCTUATION, Character.START_PUNCTUATION,
+                 Character.END_PUNCTUATION, Character.INITIAL_QUOTE_PUNCTUATION,
+                 Character.FINAL_QUOTE_PUNCTUATION, Character.OTHER_PUNCTUATION -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isCjk(int cp) {
+        return (cp >= 0x4E00 && cp <= 0x9FFF) || (cp >= 0x3400 && cp <= 0x4DBF)
+                || (cp >= 0x20000 && cp <= 0x2A6DF) || (cp >= 0x2A700 && cp <= 0x2B73F)
+                || (cp >= 0x2B740 && cp <= 0x2B81F) || (cp >= 0x2B820 && cp <= 0x2CEAF)
+                || (cp >= 0xF900 && cp <= 0xFAFF) || (cp >= 0x2F800 && cp <= 0x2FA1F);
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.backend.post;
+
+import org.example.backend.util.UuidV7;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Bounded top-N of one forum's live posts by score, in the "top" sort's order (score DESC,
+ * id DESC — ids compared unsigned, as Postgres compares uuid), so a page read from here lines
+ * up with the SQL page that follows it.
+ *
+ * <p>A board seeded from a forum with at most {@code capacity} live posts is {@code complete}:
+ * it holds every post and admits any new one. Otherwise it is a truncated window and only
+ * knows its own members. A non-member enters only by outranking the last entry (evicting
+ * it); a member that falls to the last position is dropped, because an unseen post might now
+ * outrank it. The board therefore only shrinks on demotions and is reseeded by
+ * {@link ForumLeaderboardService} once it's too short or too old.
+ *
+ * <p>All access is synchronized on the board; boards are small and operations are O(log N).
+ */
+class ForumLeaderboard {
+
+    private record Entry(int score, UUID id) {
+    }
+
+    private static final Comparator<Entry> RANKING = (a, b) -> {
+        int byScore = Integer.compare(b.score(), a.score());
+        return byScore != 0 ? byScore : UuidV7.compareUnsigned(b.id(), a.id());
+    };
+
+    private final int capacity;
+    private final Instant seededAt;
+    private final TreeSet<Entry> ranked = new TreeSet<>(RANKING);
+    private final Map<UUID, Integer> scores = new HashMap<>();
+    private boolean complete;
+
+    /** @param seed up to {@code capacity + 1} rows in ranking order; the extra row only signals truncation */
+    ForumLeaderboard(int capacity, List<PostScore> seed, Instant seededAt) {
+        this.capacity = capacity;
+        this.seededAt = seededAt;
+        this.complete = seed.size() <= capacity;
+        for (PostScore row : seed.subList(0, Math.min(seed.size(), capacity))) {
+            put(row.getId(), row.getScore() == null ? 0 : row.getScore());
+        }
+    }
+
+    Instant seededAt() {
+        return seededAt;
+    }
+
+    synchronized int size() {
+        return ranked.size();
+    }
+
+    synchronized boolean complete() {
+        return complete;
+    }
+
+    /** Records a post's new score (after a vote, or 0 for a new post). */
+    synchronized void apply(UUID postId, int score) {
+        Integer previous = scores.get(postId);
+        if (previous != null) {
+            if (previous == score) {
+                return;
+            }
+            ranked.remove(new Entry(previous, postId));
+            scores.remove(postId);
+        }
+        Entry entry = new Entry(score, postId);
+        if (complete || ranked.isEmpty() || RANKING.compare(entry, ranked.last()) < 0) {
+            put(postId, score);
+            if (ranked.size() > capacity) {
+                Entry evicted = ranked.pollLast();
+                scores.remove(evicted.id());
+                complete = false;
+            }
+        }
+        // else: a truncated board can't place it — it ranks at or below the last known entry
+    }
+
+    synchronized void remove(UUID postId) {
+        Integer previous = scores.remove(postId);
+        if (previous != null) {
+            ranked.remove(new Entry(previous, postId));
+        }
+    }
+
+    /**
+     * Ids at ranks {@code [from, from + size)}, or null when the board can't vouch for the
+     * whole range (the range extends past a truncated board's members).
+     */
+    synchronized List<UUID> slice(long from, int size) {
+        if (!complete && from + size > ranked.size()) {
+            return null;
+        }
+        List<UUID> ids = new ArrayList<>(size);
+        Iterator<Entry> it = ranked.iterator();
+        for (long i = 0; it.hasNext() && i < from + size; i++) {
+            Entry entry = it.next();
+            if (i >= from) {
+                ids.add(entry.id());
+            }
+        }
+        return ids;
+    }
+
+    private void put(UUID postId, int score) {
+        ranked.add(new Entry(score, postId));
+        scores.put(postId, score);
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.backend.post;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-memory "top" leaderboards for the forums people are actually reading. The first read of
+ * a forum's score sort seeds a {@link ForumLeaderboard} from idx_post_forum_score (one
+ * bounded range of {@code post.leaderboard.size + 1} rows); after that, votes and new posts
+ * are applied to it as they're written, so the first pages of the sort need no index walk
+ * however hot the forum is.
+ *
+ * <p>Only resident boards are updated — a vote on a forum nobody is reading costs nothing.
+ * Boards are evicted least-recently-used past {@code post.leaderboard.max-forums}. Updates
+ * are applied from the writer's transaction with the score its vote statement computed, so a
+ * rolled-back vote or two racing votes can leave a board slightly off; every board is reseeded after
+ * {@code post.leaderboard.ttl-ms}, which bounds that drift, and earlier when demotions have
+ * shrunk it below half its capacity.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ForumLeaderboardService {
+
+    private final PostRepository postRepository;
+    private final Clock clock;
+
+    @Value("${post.leaderboard.size:200}")
+    private int capacity;
+
+    @Value("${post.leaderboard.max-forums:1000}")
+    private int maxForums;
+
+    @Value("${post.leaderboard.ttl-ms:60000}")
+    private long ttlMs;
+
+    // Access-ordered, so the eldest entry is the least recently read or voted on.
+    private final Map<UUID, ForumLeaderboard> boards = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, ForumLeaderboard> eldest) {
+            return size() > maxForums;
+        }
+    };
+
+    /**
+     * Post ids at ranks {@code [from, from + size)} of the forum's score sort, or null when
+     * the range lies past the leaderboard — the caller then reads SQL.
+     */
+    public List<UUID> topPage(UUID forumId, long from, int size) {
+        if (from + size > capacity) {
+            return null;
+        }
+        ForumLeaderboard board = board(forumId);
+        List<UUID> ids = board.slice(from, size);
+        if (ids == null && board.size() < capacity) {
+            // demotions shrank a truncated board under the requested range; start over
+            ids = reseed(forumId).slice(from, size);
+        }
+        return ids;
+    }
+
+    /** A vote moved the post's score to {@code score} (exact, pending counter slots included). */
+    public void onVote(UUID forumId, UUID postId, int score) {
+        ForumLeaderboard board = resident(forumId);
+        if (board != null) {
+            board.apply(postId, score);
+        }
+    }
+
+    public void onPostAdded(Post post) {
+        ForumLeaderboard board = resident(post.getForumId());
+        if (board != null) {
+            board.apply(post.getId(), 0);
+        }
+    }
+
+    // Deletions only know the post id; a scan of the resident boards is cheaper than a read.
+    public void onPostRemoved(UUID postId) {
+        synchronized (boards) {
+            boards.values().forEach(board -> board.remove(postId));
+        }
+    }
+
+    private ForumLeaderboard board(UUID forumId) {
+        ForumLeaderboard board;
+        synchronized (boards) {
+            board = boards.get(forumId);
+        }
+        Instant now = Instant.now(clock);
+        boolean stale = board == null
+                || board.seededAt().isBefore(now.minus(Duration.ofMillis(ttlMs)))
+                || (!board.complete() && board.size() < capacity / 2);
+        return stale ? reseed(forumId) : board;
+    }
+
+    private ForumLeaderboard resident(UUID forumId) {
+        synchronized (boards) {
+            return boards.get(forumId);
+        }
+    }
+
+    // Concurrent first reads may both seed; the last one wins, both are valid.
+    private ForumLeaderboard reseed(UUID forumId) {
+        List<PostScore> seed = postRepository.findForumTopScores(forumId, capacity + 1);
+        ForumLeaderboard board = new ForumLeaderboard(capacity, seed, Instant.now(clock));
+        synchronized (boards) {
+            boards.put(forumId, board);
+        }
+        log.debug("Seeded leaderboard for forum {} ({} posts, complete={})", forumId, board.size(), board.complete());
+        return board;
+    }
+}
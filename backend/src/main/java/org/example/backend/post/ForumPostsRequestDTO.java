@@ -19,5 +19,7 @@ public class ForumPostsRequestDTO {
     @NotNull
     private UUID forumId;
 
-    private String sortBy; // new - old - top
+    private String sortBy; // new - old - top - hot
+
+    private String totals; // exact (default) - estimate - none, see Totals
 }
@@ -0,0 +1,43 @@
+package org.example.backend.post;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+
+/**
+ * Background refresh of posts.hot_rank (V6). Only posts whose last_activity_at falls inside
+ * the window are considered, and only rows whose rank actually moved are rewritten, so a
+ * quiet tick is one index range scan and no writes.
+ *
+ * <p>Votes don't bump last_activity_at, so a vote on a post older than the window isn't
+ * picked up — by then the rank's age term has already pushed it far below fresh posts.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotRankScheduler {
+
+    private final PostRepository postRepository;
+    private final Clock clock;
+
+    @Value("${feed.hot.recompute-window-hours:48}")
+    private long windowHours;
+
+    @Scheduled(
+            fixedDelayString = "${feed.hot.recompute-interval-ms:60000}",
+            initialDelayString = "${feed.hot.recompute-initial-delay-ms:60000}")
+    @Transactional
+    public void recomputeRecent() {
+        Instant since = Instant.now(clock).minusSeconds(windowHours * 60 * 60);
+        int updated = postRepository.recomputeHotRankSince(since);
+        if (updated > 0) {
+            log.debug("Hot-rank pass updated {} post(s)", updated);
+        }
+    }
+}
@@ -59,9 +59,14 @@ public class Post extends SoftDeletable implements Moderatable {
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
 
-    @Column(name = "last_activity_at")
+    @Column(name = "last_activity_at", nullable = false)
     private Instant lastActivityAt;
 
+    // Precomputed "hot" ordering (post_hot_rank() in V6): seeded by an insert trigger,
+    // refreshed by HotRankScheduler — read-only from the app, like score.
+    @Column(name = "hot_rank", insertable = false, updatable = false)
+    private Double hotRank;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "moderation_status", nullable = false)
     @Builder.Default
@@ -0,0 +1,40 @@
+package org.example.backend.post;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Timer that drives {@link PostActivityTracker#flush}, plus a last flush on shutdown (the
+ * tracker's repository and transaction manager are still up: this bean depends on them).
+ * A failed flush keeps its times in memory and retries them next tick.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostActivityScheduler {
+
+    private final PostActivityTracker activityTracker;
+
+    @Scheduled(
+            fixedDelayString = "${post.activity.flush-ms:250}",
+            initialDelayString = "${post.activity.initial-delay-ms:1000}")
+    public void flush() {
+        try {
+            activityTracker.flush();
+        } catch (Exception e) {
+            log.warn("Post activity flush failed, retrying next tick: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            activityTracker.flush();
+        } catch (Exception e) {
+            log.warn("Post activity flush on shutdown failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.backend.post;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind posts.last_activity_at. {@link #record} only keeps the latest activity time
+ * per post in memory, so a comment no longer updates its post's row inside the request
+ * transaction; {@link #flush} (driven by {@link PostActivityScheduler}, and once more on
+ * shutdown) writes one coalesced update per active post.
+ *
+ * <p>Activity is recorded from inside the writer's transaction, so a rolled-back comment
+ * still counts as activity; for a ranking signal that's harmless. Times not yet flushed when
+ * the instance dies are lost, which only leaves a post's "hot" rank a tick behind.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostActivityTracker {
+
+    private final PostRepository postRepository;
+    private final Clock clock;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<UUID, Instant> pending = new ConcurrentHashMap<>();
+
+    public void record(UUID postId) {
+        pending.merge(postId, Instant.now(clock), PostActivityTracker::latest);
+    }
+
+    // Drained with remove() (see ForumTrendingService), and written in id order so two
+    // instances flushing overlapping posts lock their rows in the same order. The update
+    // only moves last_activity_at forward, so a late flush can't rewind it.
+    public void flush() {
+        Map<UUID, Instant> drained = new TreeMap<>();
+        for (UUID postId : List.copyOf(pending.keySet())) {
+            Instant ts = pending.remove(postId);
+            if (ts != null) {
+                drained.put(postId, ts);
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+        try {
+            // The template commits before returning, so a failed commit lands in the catch too.
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    drained.forEach(postRepository::touchLastActivity));
+            log.debug("Flushed last activity for {} post(s)", drained.size());
+        } catch (RuntimeException e) {
+            // nothing was written: hand the drained times back for the next flush
+            drained.forEach((postId, ts) -> pending.merge(postId, ts, PostActivityTracker::latest));
+            throw e;
+        }
+    }
+
+    private static Instant latest(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -4,8 +4,10 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.util.UUID;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.example.backend.common.paging.Totals;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,6 +18,9 @@ public class PostController {
     @Autowired
     private PostService postService;
 
+    @Autowired
+    private PostSearchService postSearchService;
+
     @PostMapping("/v1")
     public ResponseEntity<String> addPost(HttpServletRequest request, @Valid @RequestBody AddPostDTO addPostDto) {
         Long userId = (Long) request.getAttribute("userId");
@@ -48,7 +53,7 @@ public class PostController {
     }
 
     @PostMapping("/v1/forum-posts")
-    public ResponseEntity<Page<PostView>> getForumPosts(HttpServletRequest request,
+    public ResponseEntity<Slice<PostView>> getForumPosts(HttpServletRequest request,
             @Valid @RequestBody ForumPostsRequestDTO forumPostsRequestDTO) {
         return ResponseEntity.ok(postService.getForumPosts(forumPostsRequestDTO));
     }
@@ -59,15 +64,42 @@ public class PostController {
     }
 
     @GetMapping("/v1/my-posts")
-    public  ResponseEntity<Page<PostView>> getMyPosts(HttpServletRequest request,
-                                                      @PageableDefault(size = 20) Pageable pageable){
+    public  ResponseEntity<Slice<PostView>> getMyPosts(HttpServletRequest request,
+                                                      @PageableDefault(size = 20) Pageable pageable,
+                                                      @RequestParam(defaultValue = "exact") String totals){
         Long userId = (Long) request.getAttribute("userId");
-        return ResponseEntity.ok(postService.getMyPosts(userId, pageable));
+        return ResponseEntity.ok(postService.getMyPosts(userId, pageable, Totals.from(totals)));
     }
 
     @GetMapping("/v1/user/{userId}")
-    public  ResponseEntity<Page<PostView>> getOtherUserPosts(@PathVariable Long userId,
-                                                      @PageableDefault(size = 20) Pageable pageable){
-        return ResponseEntity.ok(postService.getOtherUserPosts(userId, pageable));
+    public  ResponseEntity<Slice<PostView>> getOtherUserPosts(@PathVariable Long userId,
+                                                      @PageableDefault(size = 20) Pageable pageable,
+                                                      @RequestParam(defaultValue = "exact") String totals){
+        return ResponseEntity.ok(postService.getOtherUserPosts(userId, pageable, Totals.from(totals)));
+    }
+
+    /**
+     * Full-text post search, best match first, with keyset (cursor) pagination
+     *
+     * Query parameters:
+     * - q: search query (required); supports "quoted phrases", or, and -exclusions
+     * - forumId: restrict to one forum (optional)
+     * - cursor: the previous page's nextCursor (omit for the first page)
+     * - size: page size (default: 20)
+     *
+     * Example: GET /api/post/v1/search?q=%22director%27s%20cut%22%20-trailer&size=10
+     */
+    @GetMapping("/v1/search")
+    public ResponseEntity<PostSearchResponse> searchPosts(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) UUID forumId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        if (size < 1 || size > 100) {
+            size = 20; // Default to 20 if invalid
+        }
+
+        return ResponseEntity.ok(postSearchService.search(query, forumId, cursor, size));
     }
 }
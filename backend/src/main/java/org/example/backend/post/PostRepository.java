@@ -1,30 +1,187 @@
 package org.example.backend.post;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, UUID> {
     List<Post> findByForumId(UUID forumId);
 
+    // ─── PostView reads ─────────────────────────────────────────────────────────
     // PostView (not Post) so the controller never serializes the raw entity (CQ-NEW-03).
-    Optional<PostView> findByIdAndIsDeletedFalse(UUID id);
+    // Author and forum names are joined in here, once per page, instead of the client
+    // resolving each one through the name endpoints. Left joins so a missing row degrades
+    // the name rather than dropping the post. The authorName expression matches
+    // UserService.getUserName ("first last", or just first when there's no last name, and
+    // "Unknown user" when the owner row is gone).
+    String VIEW_SELECT = "select p.id as id, p.forumId as forumId, p.ownerId as ownerId, p.title as title, " +
+            "p.content as content, p.commentCount as commentCount, p.upvoteCount as upvoteCount, " +
+            "p.downvoteCount as downvoteCount, p.score as score, p.createdAt as createdAt, " +
+            "f.name as forumName, " +
+            "case when u.id is null then 'Unknown user' " +
+            "else trim(concat(coalesce(u.firstName, ''), ' ', coalesce(u.lastName, ''))) end as authorName ";
+    String VIEW_JOINS = "left join Forum f on f.id = p.forumId left join User u on u.id = p.ownerId ";
 
-    Page<Post> findByIsDeletedFalseAndCreatedAtGreaterThanEqual(Instant since, Pageable pageable);
+    @Query(VIEW_SELECT + "from Post p " + VIEW_JOINS + "where p.id = :id and p.isDeleted = false")
+    Optional<PostView> findByIdAndIsDeletedFalse(@Param("id") UUID id);
 
-    Page<PostView> findByIsDeletedFalseAndForumIdIn(List<UUID> forumIds, Pageable pageable);
-    Page<PostView> findByIsDeletedFalseAndForumId(UUID forumId, Pageable pageable);
-    Page<PostView> findAllByOwnerIdAndIsDeletedFalse(Long ownerId, Pageable pageable);
+    // Batch hydration for id lists ranked elsewhere (explore snapshots, keyset pages);
+    // returned in arbitrary order — callers re-impose their own.
+    @Query(VIEW_SELECT + "from Post p " + VIEW_JOINS + "where p.id in :ids and p.isDeleted = false")
+    List<PostView> findViewsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Explore window as an id range: UUIDv7 ids sort by creation time, so "created since T"
+    // is "id >= UuidV7.lowerBound(T)" and rides the primary key instead of a created_at index.
+    @Query(value = VIEW_SELECT + "from Post p " + VIEW_JOINS +
+                   "where p.isDeleted = false and p.id >= :floor",
+           countQuery = "select count(p) from Post p where p.isDeleted = false and p.id >= :floor")
+    Page<PostView> findByIsDeletedFalseAndIdGreaterThanEqual(@Param("floor") UUID floor, Pageable pageable);
+
+    // ─── Explore keyset pagination (FeedService cursor mode) ─────────────────────
+    // Row-comparison seeks into the primary key and idx_post_explore_* indexes (each ends in
+    // the id tie-breaker, V5/V9): no OFFSET walk and no COUNT(*), so page N costs the same as
+    // page 1. The 7-day window is "id >= :floor" (UuidV7.lowerBound) since ids are time-ordered.
+    // First page and "after cursor" are separate statements rather than one query with an
+    // "(:id IS NULL OR …)" branch, which would stop the planner from using the seek.
+    @Query(value = """
+            SELECT * FROM posts WHERE NOT is_deleted AND id >= :floor
+            ORDER BY id DESC LIMIT :limit
+            """, nativeQuery = true)
+    List<Post> findExploreNewFirst(@Param("floor") UUID floor, @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT * FROM posts WHERE NOT is_deleted AND id >= :floor AND id < :id
+            ORDER BY id DESC LIMIT :limit
+            """, nativeQuery = true)
+    List<Post> findExploreNewAfter(@Param("floor") UUID floor, @Param("id") UUID id,
+                                   @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT * FROM posts WHERE NOT is_deleted AND id >= :floor
+            ORDER BY score DESC, id DESC LIMIT :limit
+            """, nativeQuery = true)
+    List<Post> findExploreScoreFirst(@Param("floor") UUID floor, @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT * FROM posts WHERE NOT is_deleted AND id >= :floor
+              AND (score, id) < (:score, :id)
+            ORDER BY score DESC, id DESC LIMIT :limit
+            """, nativeQuery = true)
+    List<Post> findExploreScoreAfter(@Param("floor") UUID floor, @Param("score") int score,
+                                     @Param("id") UUID id, @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT * FROM posts WHERE NOT is_deleted AND id >= :floor
+            ORDER BY hot_rank DESC, id DESC LIMIT :limit
+            """, nativeQuery = true)
+    List<Post> findExploreHotFirst(@Param("floor") UUID floor, @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT * FROM posts WHERE NOT is_deleted AND id >= :floor
+              AND (hot_rank, id) < (:rank, :id)
+            ORDER BY hot_rank DESC, id DESC LIMIT :limit
+            """, nativeQuery = true)
+    List<Post> findExploreHotAfter(@Param("floor") UUID floor, @Param("rank") double rank,
+                                   @Param("id") UUID id, @Param("limit") int limit);
+
+    // ─── Explore snapshots (ExploreSnapshotService) ─────────────────────────────
+    // Id-only top-N reads over the same indexes; the snapshot refresh hydrates nothing.
+    @Query(value = """
+            SELECT id FROM posts WHERE NOT is_deleted AND id >= :floor
+            ORDER BY id DESC LIMIT :limit
+            """, nativeQuery = true)
+    List<UUID> findExploreNewIds(@Param("floor") UUID floor, @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT id FROM posts WHERE NOT is_deleted AND id >= :floor
+            ORDER BY score DESC, id DESC LIMIT :limit
+            """, nativeQuery = true)
+    List<UUID> findExploreScoreIds(@Param("floor") UUID floor, @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT id FROM posts WHERE NOT is_deleted AND id >= :floor
+            ORDER BY hot_rank DESC, id DESC LIMIT :limit
+            """, nativeQuery = true)
+    List<UUID> findExploreHotIds(@Param("floor") UUID floor, @Param("limit") int limit);
+
+    long countByIsDeletedFalseAndIdGreaterThanEqual(UUID floor);
+
+    // Seed for ForumLeaderboard: the forum's "top" order over idx_post_forum_score (V10).
+    @Query(value = """
+            SELECT id, score FROM posts WHERE forum_id = :forumId AND NOT is_deleted
+            ORDER BY score DESC, id DESC LIMIT :limit
+            """, nativeQuery = true)
+    List<PostScore> findForumTopScores(@Param("forumId") UUID forumId, @Param("limit") int limit);
+
+    // ─── Full-text search (PostSearchService) ────────────────────────────────────
+    // Matches come from idx_post_search (V11); the visibility predicate is spelled exactly as
+    // the index's so the planner can use it. Ranked by ts_rank_cd (cast to float8 so the
+    // cursor's rank compares equal on the next page), keyset on (rank, id).
+    @Query(value = """
+            SELECT p.id AS id, ts_rank_cd(p.search_vector, query)::float8 AS rank
+            FROM posts p CROSS JOIN websearch_to_tsquery('english', :q) AS query
+            WHERE NOT p.is_deleted AND p.moderation_status <> 'REMOVED'
+              AND p.search_vector @@ query
+              AND (ts_rank_cd(p.search_vector, query)::float8, p.id) < (:rank, :id)
+            ORDER BY rank DESC, p.id DESC LIMIT :limit
+            """, nativeQuery = true)
+    List<PostSearchHit> search(@Param("q") String q, @Param("rank") double rank,
+                               @Param("id") UUID id, @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT p.id AS id, ts_rank_cd(p.search_vector, query)::float8 AS rank
+            FROM posts p CROSS JOIN websearch_to_tsquery('english', :q) AS query
+            WHERE NOT p.is_deleted AND p.moderation_status <> 'REMOVED'
+              AND p.forum_id = :forumId AND p.search_vector @@ query
+              AND (ts_rank_cd(p.search_vector, query)::float8, p.id) < (:rank, :id)
+            ORDER BY rank DESC, p.id DESC LIMIT :limit
+            """, nativeQuery = true)
+    List<PostSearchHit> searchInForum(@Param("q") String q, @Param("forumId") UUID forumId,
+                                      @Param("rank") double rank, @Param("id") UUID id,
+                                      @Param("limit") int limit);
+
+    @Query(value = VIEW_SELECT + "from Post p " + VIEW_JOINS +
+                   "where p.isDeleted = false and p.forumId = :forumId",
+           countQuery = "select count(p) from Post p where p.isDeleted = false and p.forumId = :forumId")
+    Page<PostView> findByIsDeletedFalseAndForumId(@Param("forumId") UUID forumId, Pageable pageable);
+
+    @Query(value = VIEW_SELECT + "from Post p " + VIEW_JOINS +
+                   "where p.isDeleted = false and p.ownerId = :ownerId",
+           countQuery = "select count(p) from Post p where p.isDeleted = false and p.ownerId = :ownerId")
+    Page<PostView> findAllByOwnerIdAndIsDeletedFalse(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    // Forum export (ForumExportService): one forward-only server-side cursor, fetchSize rows
+    // per round trip. Must be consumed inside a read-only transaction (the PG driver only
+    // uses a cursor with autocommit off) and closed by the caller.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(VIEW_SELECT + "from Post p " + VIEW_JOINS + "where p.isDeleted = false and p.forumId = :forumId order by p.id")
+    Stream<PostView> streamForumExport(@Param("forumId") UUID forumId);
+
+    // Slice twins of the two above for ?totals=none|estimate: no count query, one extra row.
+    @Query(VIEW_SELECT + "from Post p " + VIEW_JOINS + "where p.isDeleted = false and p.forumId = :forumId")
+    Slice<PostView> findSliceByForumId(@Param("forumId") UUID forumId, Pageable pageable);
+
+    @Query(VIEW_SELECT + "from Post p " + VIEW_JOINS + "where p.isDeleted = false and p.ownerId = :ownerId")
+    Slice<PostView> findSliceByOwnerId(@Param("ownerId") Long ownerId, Pageable pageable);
 
     @Modifying
     @Query("update Post p set p.isDeleted = true, p.deletedAt = :ts where p.id = :id and p.isDeleted = false")
@@ -34,10 +191,22 @@ public interface PostRepository extends JpaRepository<Post, UUID> {
     @Query("update Post p set p.isDeleted = true, p.deletedAt = :ts where p.forumId = :forumId and p.isDeleted = false")
     int softDeleteByForum(@Param("forumId") UUID forumId, @Param("ts") Instant ts);
 
+    // PostActivityTracker's coalesced write-behind; only ever moves the time forward.
     @Modifying
-    @Query("update Post p set p.lastActivityAt = :ts where p.id = :id")
+    @Query("update Post p set p.lastActivityAt = :ts where p.id = :id and p.lastActivityAt < :ts")
     int touchLastActivity(@Param("id") UUID id, @Param("ts") Instant ts);
 
+    // Hot-rank refresh (HotRankScheduler). last_activity_at >= created_at always, so the
+    // window predicate alone covers both new posts and older ones with fresh comments, and
+    // rides idx_post_recent_activity. IS DISTINCT FROM skips unchanged rows (no dead tuples).
+    @Modifying
+    @Query(value = """
+            UPDATE posts SET hot_rank = post_hot_rank(score, comment_count, created_at)
+            WHERE NOT is_deleted AND last_activity_at >= :since
+              AND hot_rank IS DISTINCT FROM post_hot_rank(score, comment_count, created_at)
+            """, nativeQuery = true)
+    int recomputeHotRankSince(@Param("since") Instant since);
+
     @Modifying
     @Query("delete from Post p where p.isDeleted = true and p.deletedAt < :cutoff")
     int purgeDeletedBefore(@Param("cutoff") Instant cutoff);
@@ -51,6 +220,16 @@ public interface PostRepository extends JpaRepository<Post, UUID> {
            "and p.moderationStatus = org.example.backend.moderation.ModerationStatus.PENDING")
     int approveModeration(@Param("id") UUID id, @Param("version") long version);
 
+    // Batched form for the verdict listener: the same version/status guard for a whole poll's
+    // clean verdicts, as parallel arrays joined row-wise (one plan whatever the batch size).
+    @Modifying
+    @Query(value = """
+            UPDATE posts t SET moderation_status = 'APPROVED'
+            FROM unnest(CAST(:ids AS uuid[]), CAST(:versions AS bigint[])) AS v(id, version)
+            WHERE t.id = v.id AND t.moderation_version = v.version AND t.moderation_status = 'PENDING'
+            """, nativeQuery = true)
+    int approveModerationBatch(@Param("ids") UUID[] ids, @Param("versions") Long[] versions);
+
     @Modifying
     @Query("update Post p set p.moderationStatus = org.example.backend.moderation.ModerationStatus.REMOVED where p.id = :id")
     int markModerationRemoved(@Param("id") UUID id);
@@ -0,0 +1,9 @@
+package org.example.backend.post;
+
+import java.util.UUID;
+
+/** Id + score pair read to seed a {@link ForumLeaderboard}. */
+public interface PostScore {
+    UUID getId();
+    Integer getScore();
+}
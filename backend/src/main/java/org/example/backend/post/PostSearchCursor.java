@@ -0,0 +1,41 @@
+package org.example.backend.post;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in a post search: the last hit's rank plus its id (the tie-breaker), as an
+ * opaque URL-safe token. {@link #START} sorts above every real hit, so the first page runs
+ * the same seek statement as every later one.
+ */
+public record PostSearchCursor(double rank, UUID id) {
+
+    public static final PostSearchCursor START =
+            new PostSearchCursor(Double.POSITIVE_INFINITY, new UUID(-1L, -1L));
+
+    private static final String SEPARATOR = "|";
+
+    public static PostSearchCursor after(PostSearchHit last) {
+        return new PostSearchCursor(last.getRank(), last.getId());
+    }
+
+    public String encode() {
+        String raw = rank + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** @throws IllegalArgumentException for anything that isn't a token this class produced */
+    public static PostSearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new PostSearchCursor(Double.parseDouble(parts[0]), UUID.fromString(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.backend.post;
+
+import java.util.UUID;
+
+/** One ranked search match; the posts themselves are hydrated as {@link PostView}s. */
+public interface PostSearchHit {
+    UUID getId();
+    Double getRank();
+}
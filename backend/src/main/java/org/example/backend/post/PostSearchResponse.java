@@ -0,0 +1,23 @@
+package org.example.backend.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of post search results, best match first. Keyset-paged like the explore cursor
+ * feed: no totals, {@code nextCursor} is null on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSearchResponse {
+    private List<PostView> posts;
+    private String nextCursor;
+    private int pageSize;
+    private boolean hasNext;
+}
@@ -0,0 +1,66 @@
+package org.example.backend.post;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Full-text post search over posts.search_vector (V11): {@code websearch_to_tsquery} syntax
+ * (quoted phrases, {@code or}, {@code -exclusions}), best match first, optionally within one
+ * forum. Keyset-paged on (rank, id) from an opaque {@link PostSearchCursor}, so a deep page
+ * costs one more GIN probe, not an OFFSET walk, and nothing is ever counted.
+ */
+@Service
+@RequiredArgsConstructor
+public class PostSearchService {
+
+    static final int MAX_QUERY_LENGTH = 256;
+
+    private final PostRepository postRepository;
+
+    @Transactional(readOnly = true)
+    public PostSearchResponse search(String query, UUID forumId, String cursorToken, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query is too long");
+        }
+        PostSearchCursor cursor = (cursorToken == null || cursorToken.isBlank())
+                ? PostSearchCursor.START : PostSearchCursor.decode(cursorToken);
+        String q = query.trim();
+        int limit = size + 1; // one extra row answers hasNext without a count
+
+        List<PostSearchHit> hits = forumId == null
+                ? postRepository.search(q, cursor.rank(), cursor.id(), limit)
+                : postRepository.searchInForum(q, forumId, cursor.rank(), cursor.id(), limit);
+
+        boolean hasNext = hits.size() > size;
+        List<PostSearchHit> page = hasNext ? hits.subList(0, size) : hits;
+        return PostSearchResponse.builder()
+                .posts(hydrate(page))
+                .nextCursor(hasNext ? PostSearchCursor.after(page.get(page.size() - 1)).encode() : null)
+                .pageSize(size)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    // One batched view read, re-sorted into rank order.
+    private List<PostView> hydrate(List<PostSearchHit> hits) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> ids = hits.stream().map(PostSearchHit::getId).toList();
+        Map<UUID, PostView> byId = new HashMap<>();
+        for (PostView view : postRepository.findViewsByIdIn(ids)) {
+            byId.put(view.getId(), view);
+        }
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+}
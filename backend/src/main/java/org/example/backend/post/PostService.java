@@ -1,45 +1,59 @@
 package org.example.backend.post;
 
 import lombok.RequiredArgsConstructor;
+import org.example.backend.common.paging.Paging;
+import org.example.backend.common.paging.RowEstimator;
+import org.example.backend.common.paging.Totals;
 import org.example.backend.deletion.AccessService;
 import org.example.backend.deletion.CascadeDeletionService;
 import org.example.backend.errorHandler.ResourceNotFoundException;
 import org.example.backend.forum.Forum;
 import org.example.backend.forum.ForumRepository;
-import org.example.backend.forumfollowing.FollowingRepository;
 import org.example.backend.moderation.ContentType;
 import org.example.backend.moderation.ModerationOutboxService;
 import org.example.backend.moderation.ModerationStatus;
+import org.example.backend.timeline.HomeTimelineService;
+import org.example.backend.trending.ForumTrendingService;
 import org.example.backend.user.PrivateProfileException;
 import org.example.backend.user.User;
 import org.example.backend.user.UserRepository;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class PostService {
     private final ForumRepository forumRepository;
-    private final FollowingRepository followingRepository;
     private final PostRepository postRepository;
     private final CascadeDeletionService deletionService;
     private final AccessService accessService;
     private final ModerationOutboxService moderationOutboxService;
     private final UserRepository userRepository;
+    private final HomeTimelineService homeTimelineService;
+    private final RowEstimator rowEstimator;
+    private final ForumLeaderboardService leaderboards;
+    private final ForumTrendingService trendingService;
 
     // Optimistic-publish moderation: the post is saved and visible immediately with
     // moderationStatus=PENDING; toxicity is checked asynchronously via the Kafka pipeline
     // and a flagged verdict removes it later. The post insert and the outbox entry commit
-    // in one ordinary transaction; forum.post_count is maintained by a DB trigger.
+    // in one ordinary transaction; forum.post_count is maintained by a DB trigger. The post
+    // is also fanned out to its forum's active followers' home timelines in that transaction.
     @Transactional
     public Post addPost(AddPostDTO addPostDto, Long userId) {
         Forum forum = forumRepository.findById(addPostDto.getForumId())
@@ -58,6 +72,9 @@ public class PostService {
                 .build();
 
         Post saved = postRepository.save(post);
+        homeTimelineService.fanOut(saved);
+        leaderboards.onPostAdded(saved);
+        trendingService.recordPost(saved.getForumId());
         moderationOutboxService.enqueue(ContentType.POST, saved.getId(),
                 saved.getModerationVersion(), moderationText(saved.getTitle(), saved.getContent()));
         return saved;
@@ -84,14 +101,50 @@ public class PostService {
         return title + "\n" + content;
     }
 
+    private static final String FORUM_POSTS_ESTIMATE =
+            "SELECT 1 FROM posts WHERE forum_id = %L AND NOT is_deleted";
+    private static final String OWNER_POSTS_ESTIMATE =
+            "SELECT 1 FROM posts WHERE owner_id = %L AND NOT is_deleted";
+
     @Transactional(readOnly = true)
-    public Page<PostView> getForumPosts(ForumPostsRequestDTO forumPostsRequestDTO) {
+    public Slice<PostView> getForumPosts(ForumPostsRequestDTO forumPostsRequestDTO) {
         Sort sort = PostUtils.getSort(forumPostsRequestDTO.getSortBy());
         Pageable pageable = PageRequest.of(
                 forumPostsRequestDTO.getPage(),
                 forumPostsRequestDTO.getPageSize(),
                 sort);
-        return postRepository.findByIsDeletedFalseAndForumId(forumPostsRequestDTO.getForumId(), pageable);
+        UUID forumId = forumPostsRequestDTO.getForumId();
+        Totals totals = Totals.from(forumPostsRequestDTO.getTotals());
+        if ("top".equalsIgnoreCase(forumPostsRequestDTO.getSortBy())) {
+            Slice<PostView> top = fromLeaderboard(forumId, pageable, totals);
+            if (top != null) {
+                return top;
+            }
+        }
+        return Paging.fetch(totals, pageable,
+                p -> postRepository.findByIsDeletedFalseAndForumId(forumId, p),
+                p -> postRepository.findSliceByForumId(forumId, p),
+                () -> rowEstimator.estimate(FORUM_POSTS_ESTIMATE, forumId));
+    }
+
+    // First pages of the score sort come from the in-memory leaderboard: an id slice plus one
+    // primary-key fetch. Totals come from the trigger-maintained forums.post_count, exact in
+    // every mode, so no COUNT(*) either. Null when the page lies past the leaderboard.
+    private Slice<PostView> fromLeaderboard(UUID forumId, Pageable pageable, Totals totals) {
+        List<UUID> ids = leaderboards.topPage(forumId, pageable.getOffset(), pageable.getPageSize());
+        if (ids == null) {
+            return null;
+        }
+        Map<UUID, PostView> byId = new HashMap<>();
+        for (PostView view : postRepository.findViewsByIdIn(ids)) {
+            byId.put(view.getId(), view);
+        }
+        List<PostView> posts = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        long total = forumRepository.findById(forumId).map(Forum::getPostCount).orElse(0);
+        if (totals == Totals.NONE) {
+            return new SliceImpl<>(posts, pageable, pageable.getOffset() + pageable.getPageSize() < total);
+        }
+        return new PageImpl<>(posts, pageable, Math.max(total, pageable.getOffset() + posts.size()));
     }
 
     private void canUpdatePost(Post post, UUID postId, Long userId) {
@@ -112,6 +165,7 @@ public class PostService {
             throw new AccessDeniedException("User cannot delete this post");
         }
         deletionService.deletePost(postId);
+        leaderboards.onPostRemoved(postId);
     }
 
     /**
@@ -122,35 +176,37 @@ public class PostService {
     @Transactional
     public void systemDeletePost(Post post) {
         deletionService.deletePost(post.getId());
+        leaderboards.onPostRemoved(post.getId());
     }
 
-    @Transactional(readOnly = true)
+    // Home feed (followed forums), newest first, served from the fan-out timeline.
+    @Transactional
     public Page<PostView> getUserPosts(Long userId, MainFeedRequestDTO mainFeedRequestDTO) {
-        Pageable pageable = PageRequest.of(
-                mainFeedRequestDTO.getPage(),
-                mainFeedRequestDTO.getPageSize());
-        List<UUID> forumIds = followingRepository.findForumIdsByUserId(userId);
-        if (forumIds.isEmpty()) {
-            return Page.empty(pageable);
-        }
-        return postRepository.findByIsDeletedFalseAndForumIdIn(forumIds, pageable);
+        return homeTimelineService.read(userId, mainFeedRequestDTO.getPage(), mainFeedRequestDTO.getPageSize());
     }
 
     @Transactional(readOnly = true)
-    public Page<PostView> getMyPosts(Long userId, Pageable pageable) {
-        return postRepository.findAllByOwnerIdAndIsDeletedFalse(userId, pageable);
+    public Slice<PostView> getMyPosts(Long userId, Pageable pageable, Totals totals) {
+        return getOwnerPosts(userId, pageable, totals);
     }
 
     @Transactional(readOnly = true)
-    public Page<PostView> getOtherUserPosts(Long userId, Pageable pageable) {
+    public Slice<PostView> getOtherUserPosts(Long userId, Pageable pageable, Totals totals) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new AccessDeniedException("User not found with id: " + userId));
         if (user.getIsPublic()) {
-            return postRepository.findAllByOwnerIdAndIsDeletedFalse(userId, pageable);
+            return getOwnerPosts(userId, pageable, totals);
         }
         throw new PrivateProfileException("this profile is private");
     }
 
+    private Slice<PostView> getOwnerPosts(Long userId, Pageable pageable, Totals totals) {
+        return Paging.fetch(totals, pageable,
+                p -> postRepository.findAllByOwnerIdAndIsDeletedFalse(userId, p),
+                p -> postRepository.findSliceByOwnerId(userId, p),
+                () -> rowEstimator.estimate(OWNER_POSTS_ESTIMATE, userId));
+    }
+
     @Transactional(readOnly = true)
     public PostView getPostById(UUID postId) {
         return postRepository.findByIdAndIsDeletedFalse(postId)
@@ -3,19 +3,24 @@ package org.example.backend.post;
 import org.springframework.data.domain.Sort;
 
 public class PostUtils {
+    // Post ids are UUIDv7 (time-prefixed), so id order is creation order and "new"/"old"
+    // sort on the key that idx_post_forum_new and the primary key already carry.
     public static Sort getSort(String sortBy) {
         if (sortBy == null) {
-            return Sort.by(Sort.Direction.DESC, "createdAt");
+            return Sort.by(Sort.Direction.DESC, "id");
         }
 
         return switch (sortBy.toLowerCase()) {
             case "top" ->
                 Sort.by(Sort.Direction.DESC, "score")
                         .and(Sort.by(Sort.Direction.DESC, "id"));
+            case "hot" ->
+                Sort.by(Sort.Direction.DESC, "hotRank")
+                        .and(Sort.by(Sort.Direction.DESC, "id"));
             case "old" ->
-                Sort.by(Sort.Direction.ASC, "createdAt");
+                Sort.by(Sort.Direction.ASC, "id");
             default ->
-                Sort.by(Sort.Direction.DESC, "createdAt");
+                Sort.by(Sort.Direction.DESC, "id");
         };
     }
 }
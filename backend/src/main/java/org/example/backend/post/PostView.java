@@ -5,8 +5,9 @@ import java.util.UUID;
 
 /**
  * Post list/detail projection (CQ-NEW-03) — returned instead of the {@link Post} entity.
- * forumName/authorName are no longer denormalized onto the post; the frontend resolves
- * those via the forum-name and user-name endpoints, so they're not part of this view.
+ * forumName/authorName are not denormalized onto the post; every query producing this view
+ * joins forums/users once per page ({@link PostRepository#VIEW_SELECT}), so clients don't
+ * need a name lookup per row.
  */
 public interface PostView {
     UUID getId();
@@ -19,4 +20,6 @@ public interface PostView {
     Integer getDownvoteCount();
     Integer getScore();
     Instant getCreatedAt();
+    String getForumName();
+    String getAuthorName();
 }
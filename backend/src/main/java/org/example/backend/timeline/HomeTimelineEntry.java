@@ -0,0 +1,37 @@
+package org.example.backend.timeline;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One post in one user's materialized home timeline (table {@code home_timeline}). Written
+ * only through the bulk statements in {@link HomeTimelineRepository} — fan-out, rebuild and
+ * removal never load these as managed entities.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "home_timeline")
+@IdClass(HomeTimelineEntryId.class)
+public class HomeTimelineEntry {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "post_id")
+    private UUID postId;
+
+    @Column(name = "forum_id", nullable = false)
+    private UUID forumId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
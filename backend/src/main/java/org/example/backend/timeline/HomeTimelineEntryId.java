@@ -0,0 +1,32 @@
+package org.example.backend.timeline;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+/** Composite key for {@link HomeTimelineEntry} (home_timeline): a post appears once per user. */
+public class HomeTimelineEntryId implements Serializable {
+
+    private Long userId;
+    private UUID postId;
+
+    public HomeTimelineEntryId() {
+    }
+
+    public HomeTimelineEntryId(Long userId, UUID postId) {
+        this.userId = userId;
+        this.postId = postId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof HomeTimelineEntryId that)) return false;
+        return Objects.equals(userId, that.userId) && Objects.equals(postId, that.postId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, postId);
+    }
+}
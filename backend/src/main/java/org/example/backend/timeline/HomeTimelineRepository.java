@@ -0,0 +1,104 @@
+package org.example.backend.timeline;
+
+import org.example.backend.post.PostRepository;
+import org.example.backend.post.PostView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface HomeTimelineRepository extends JpaRepository<HomeTimelineEntry, HomeTimelineEntryId> {
+
+    // Read path: one range on idx_home_timeline_read, joined to posts by PK. The ORDER BY
+    // lives in the query (callers pass an unsorted Pageable) so it always matches the index.
+    @Query(value = PostRepository.VIEW_SELECT +
+                   "from HomeTimelineEntry t join Post p on p.id = t.postId " + PostRepository.VIEW_JOINS +
+                   "where t.userId = :userId and p.isDeleted = false " +
+                   "order by t.createdAt desc, t.postId desc",
+           countQuery = "select count(t) from HomeTimelineEntry t where t.userId = :userId")
+    Page<PostView> findTimeline(@Param("userId") Long userId, Pageable pageable);
+
+    // Fan-out on write: push one new post to every follower of its forum whose timeline is
+    // warm (read within the active window). Cold followers are skipped; they rebuild on read.
+    @Modifying
+    @Query(value = """
+            INSERT INTO home_timeline (user_id, post_id, forum_id, created_at)
+            SELECT f.user_id, :postId, :forumId, :createdAt
+            FROM forum_follows f
+            JOIN home_timeline_state s ON s.user_id = f.user_id
+            WHERE f.forum_id = :forumId AND s.last_read_at >= :activeSince
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int fanOut(@Param("postId") UUID postId, @Param("forumId") UUID forumId,
+               @Param("createdAt") Instant createdAt, @Param("activeSince") Instant activeSince);
+
+    // Rebuild (cold user) and follow backfill: the newest :limit live posts of the user's
+    // followed forums — or of one forum, for a fresh follow. ON CONFLICT makes a concurrent
+    // rebuild/fan-out for the same user harmless.
+    @Modifying
+    @Query(value = """
+            INSERT INTO home_timeline (user_id, post_id, forum_id, created_at)
+            SELECT :userId, p.id, p.forum_id, p.created_at
+            FROM posts p
+            JOIN forum_follows f ON f.forum_id = p.forum_id AND f.user_id = :userId
+            WHERE NOT p.is_deleted
+            ORDER BY p.id DESC
+            LIMIT :limit
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int fillFromFollows(@Param("userId") Long userId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO home_timeline (user_id, post_id, forum_id, created_at)
+            SELECT :userId, p.id, p.forum_id, p.created_at
+            FROM posts p
+            WHERE p.forum_id = :forumId AND NOT p.is_deleted
+            ORDER BY p.id DESC
+            LIMIT :limit
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int fillFromForum(@Param("userId") Long userId, @Param("forumId") UUID forumId, @Param("limit") int limit);
+
+    @Modifying
+    @Query("delete from HomeTimelineEntry t where t.userId = :userId")
+    int deleteByUser(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from HomeTimelineEntry t where t.userId = :userId and t.forumId = :forumId")
+    int deleteByUserAndForum(@Param("userId") Long userId, @Param("forumId") UUID forumId);
+
+    @Modifying
+    @Query("delete from HomeTimelineEntry t where t.postId = :postId")
+    int deleteByPost(@Param("postId") UUID postId);
+
+    // Via the forum's posts (idx_post_forum_* → idx_home_timeline_post) rather than a
+    // forum_id index that only this rare path would use.
+    @Modifying
+    @Query("delete from HomeTimelineEntry t where t.postId in (select p.id from Post p where p.forumId = :forumId)")
+    int deleteByForum(@Param("forumId") UUID forumId);
+
+    // Nightly: drop every user's entries beyond the newest :limit (fan-out only appends).
+    @Modifying
+    @Query(value = """
+            DELETE FROM home_timeline t
+            USING (SELECT user_id, post_id,
+                          row_number() OVER (PARTITION BY user_id ORDER BY created_at DESC, post_id DESC) AS rn
+                   FROM home_timeline) ranked
+            WHERE ranked.rn > :limit AND t.user_id = ranked.user_id AND t.post_id = ranked.post_id
+            """, nativeQuery = true)
+    int trimToLimit(@Param("limit") int limit);
+
+    // Nightly: cold users' timelines are dead weight — fan-out stopped feeding them.
+    @Modifying
+    @Query(value = """
+            DELETE FROM home_timeline
+            WHERE user_id IN (SELECT user_id FROM home_timeline_state WHERE last_read_at < :activeSince)
+            """, nativeQuery = true)
+    int deleteInactive(@Param("activeSince") Instant activeSince);
+}
@@ -0,0 +1,121 @@
+package org.example.backend.timeline;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.post.Post;
+import org.example.backend.post.PostView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Fan-out-on-write home timeline for followed forums (V7). Writers push, readers range-scan:
+ * <ul>
+ *   <li>{@link #fanOut} — a new post is inserted into the timeline of every <em>warm</em>
+ *       follower of its forum, in the post's own transaction (one INSERT … SELECT).</li>
+ *   <li>{@link #read} — a warm user's feed is one indexed range read in a stable
+ *       (created_at, post_id) order. A cold user (never read, or idle past the active window)
+ *       is rebuilt first from forum_follows + posts, capped at {@code max-entries}.</li>
+ *   <li>Soft-deletes, follows and unfollows patch the affected rows directly.</li>
+ * </ul>
+ * The timeline is a cache of followed-forum posts, never a source of truth. A rebuild marks
+ * the user warm in its own transaction before filling, so a post committed while the fill
+ * runs is fanned out to them rather than falling between the two; the duplicates this can
+ * produce are absorbed by ON CONFLICT DO NOTHING.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HomeTimelineService {
+
+    private final HomeTimelineRepository timelineRepository;
+    private final HomeTimelineStateRepository stateRepository;
+    private final Clock clock;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${feed.timeline.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${feed.timeline.active-days:7}")
+    private long activeDays;
+
+    // last_read_at only needs to be accurate to the active window, so reads don't write it
+    // more often than this.
+    @Value("${feed.timeline.read-touch-minutes:60}")
+    private long readTouchMinutes;
+
+    /** Must run inside the caller's post-insert transaction (PostService.addPost). */
+    public void fanOut(Post post) {
+        timelineRepository.fanOut(post.getId(), post.getForumId(), post.getCreatedAt(),
+                activeSince(Instant.now(clock)));
+    }
+
+    @Transactional
+    public Page<PostView> read(Long userId, int page, int pageSize) {
+        Instant now = Instant.now(clock);
+        HomeTimelineState state = stateRepository.findById(userId).orElse(null);
+        if (state == null || state.getLastReadAt().isBefore(activeSince(now))) {
+            rebuild(userId, now);
+        } else if (state.getLastReadAt().isBefore(now.minus(Duration.ofMinutes(readTouchMinutes)))) {
+            stateRepository.touch(userId, now);
+        }
+        Pageable pageable = PageRequest.of(page, pageSize);
+        return timelineRepository.findTimeline(userId, pageable);
+    }
+
+    private void rebuild(Long userId, Instant now) {
+        // Committed up front: the fill's snapshot can't see posts still in flight, and fanOut
+        // skips users that aren't warm yet, so marking inside this transaction would let such
+        // a post miss the user until their next rebuild — a week of activity away.
+        TransactionTemplate warm = new TransactionTemplate(transactionManager);
+        warm.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        warm.executeWithoutResult(status -> stateRepository.markBuilt(userId, now));
+        timelineRepository.deleteByUser(userId);
+        int filled = timelineRepository.fillFromFollows(userId, maxEntries);
+        log.debug("Rebuilt home timeline for user {} ({} posts)", userId, filled);
+    }
+
+    /** Backfills a warm timeline with the newly followed forum's recent posts. */
+    public void onFollow(Long userId, UUID forumId) {
+        if (stateRepository.existsById(userId)) {
+            timelineRepository.fillFromForum(userId, forumId, maxEntries);
+        }
+    }
+
+    public void onUnfollow(Long userId, UUID forumId) {
+        timelineRepository.deleteByUserAndForum(userId, forumId);
+    }
+
+    public void removePost(UUID postId) {
+        timelineRepository.deleteByPost(postId);
+    }
+
+    public void removeForum(UUID forumId) {
+        timelineRepository.deleteByForum(forumId);
+    }
+
+    /** Nightly: evicts cold users' timelines and trims warm ones back to the cap. */
+    @Transactional
+    public void compact() {
+        Instant activeSince = activeSince(Instant.now(clock));
+        int cold = timelineRepository.deleteInactive(activeSince);
+        stateRepository.deleteInactive(activeSince);
+        int trimmed = timelineRepository.trimToLimit(maxEntries);
+        log.info("[Cleanup] Home timelines: evicted {} cold entries, trimmed {}", cold, trimmed);
+    }
+
+    private Instant activeSince(Instant now) {
+        return now.minus(Duration.ofDays(activeDays));
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.backend.timeline;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Marks a user's home timeline as materialized (table {@code home_timeline_state}). No row,
+ * or a {@code lastReadAt} older than the active window, means the timeline is cold: fan-out
+ * skips the user and the next read rebuilds it.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "home_timeline_state")
+public class HomeTimelineState {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "built_at", nullable = false)
+    private Instant builtAt;
+
+    @Column(name = "last_read_at", nullable = false)
+    private Instant lastReadAt;
+}
@@ -0,0 +1,27 @@
+package org.example.backend.timeline;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface HomeTimelineStateRepository extends JpaRepository<HomeTimelineState, Long> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO home_timeline_state (user_id, built_at, last_read_at)
+            VALUES (:userId, :ts, :ts)
+            ON CONFLICT (user_id) DO UPDATE SET built_at = EXCLUDED.built_at, last_read_at = EXCLUDED.last_read_at
+            """, nativeQuery = true)
+    int markBuilt(@Param("userId") Long userId, @Param("ts") Instant ts);
+
+    @Modifying
+    @Query("update HomeTimelineState s set s.lastReadAt = :ts where s.userId = :userId")
+    int touch(@Param("userId") Long userId, @Param("ts") Instant ts);
+
+    @Modifying
+    @Query("delete from HomeTimelineState s where s.lastReadAt < :activeSince")
+    int deleteInactive(@Param("activeSince") Instant activeSince);
+}
@@ -0,0 +1,39 @@
+package org.example.backend.trending;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A forum's running 24h activity totals (table {@code forum_trending}, V12). Maintained only
+ * by {@link ForumTrendingRepository}'s flush statements; read-only from the app otherwise.
+ * Forums with no activity inside the window have no row.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "forum_trending")
+public class ForumTrending {
+
+    @Id
+    @Column(name = "forum_id")
+    private UUID forumId;
+
+    @Column(name = "posts_24h", nullable = false)
+    private Integer posts24h;
+
+    @Column(name = "follows_24h", nullable = false)
+    private Integer follows24h;
+
+    // generated column (V12): posts_24h + 2 * follows_24h
+    @Column(name = "trending_score", insertable = false, updatable = false)
+    private Integer trendingScore;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,60 @@
+package org.example.backend.trending;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface ForumTrendingRepository extends JpaRepository<ForumTrending, UUID> {
+
+    // Flush one forum-minute of counted activity: into its bucket and into the running totals,
+    // both additive so concurrent flushes from other instances compose. A forum purged since
+    // it was counted is skipped rather than failing the whole flush on the foreign key.
+    @Modifying
+    @Query(value = """
+            WITH bucket AS (
+                INSERT INTO forum_activity (forum_id, bucket_start, posts, follows)
+                SELECT :forumId, :bucketStart, :posts, :follows
+                WHERE EXISTS (SELECT 1 FROM forums WHERE id = :forumId)
+                ON CONFLICT (forum_id, bucket_start) DO UPDATE
+                    SET posts = forum_activity.posts + EXCLUDED.posts,
+                        follows = forum_activity.follows + EXCLUDED.follows
+            )
+            INSERT INTO forum_trending (forum_id, posts_24h, follows_24h, updated_at)
+            SELECT :forumId, :posts, :follows, :now
+            WHERE EXISTS (SELECT 1 FROM forums WHERE id = :forumId)
+            ON CONFLICT (forum_id) DO UPDATE
+                SET posts_24h = forum_trending.posts_24h + EXCLUDED.posts_24h,
+                    follows_24h = forum_trending.follows_24h + EXCLUDED.follows_24h,
+                    updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int addActivity(@Param("forumId") UUID forumId, @Param("bucketStart") Instant bucketStart,
+                    @Param("posts") int posts, @Param("follows") int follows, @Param("now") Instant now);
+
+    // Slide the window: drop buckets older than the cutoff and subtract them from the totals.
+    // DELETE … RETURNING claims each bucket once, so a concurrent flush can't subtract it twice.
+    @Modifying
+    @Query(value = """
+            WITH expired AS (
+                DELETE FROM forum_activity WHERE bucket_start < :cutoff
+                RETURNING forum_id, posts, follows
+            ), totals AS (
+                SELECT forum_id, sum(posts) AS posts, sum(follows) AS follows
+                FROM expired GROUP BY forum_id
+            )
+            UPDATE forum_trending t
+               SET posts_24h = t.posts_24h - totals.posts,
+                   follows_24h = t.follows_24h - totals.follows,
+                   updated_at = :now
+              FROM totals
+             WHERE t.forum_id = totals.forum_id
+            """, nativeQuery = true)
+    int expireBefore(@Param("cutoff") Instant cutoff, @Param("now") Instant now);
+
+    @Modifying
+    @Query(value = "DELETE FROM forum_trending WHERE posts_24h <= 0 AND follows_24h <= 0", nativeQuery = true)
+    int deleteInactive();
+}
@@ -0,0 +1,29 @@
+package org.example.backend.trending;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Timer that drives {@link ForumTrendingService#flush}. A failed flush keeps its counts in
+ * memory and retries them next tick; trending just lags by that much.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ForumTrendingScheduler {
+
+    private final ForumTrendingService trendingService;
+
+    @Scheduled(
+            fixedDelayString = "${feed.trending.flush-ms:60000}",
+            initialDelayString = "${feed.trending.initial-delay-ms:60000}")
+    public void flush() {
+        try {
+            trendingService.flush();
+        } catch (Exception e) {
+            log.warn("Trending flush failed, retrying next tick: {}", e.getMessage());
+        }
+    }
+}
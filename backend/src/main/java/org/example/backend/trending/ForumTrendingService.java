@@ -0,0 +1,91 @@
+package org.example.backend.trending;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sliding-window activity counters behind the explore "trending" forum sort (V12).
+ * {@link #recordPost}/{@link #recordFollow} only bump an in-memory per-forum, per-minute
+ * counter — no I/O on the write path. {@link #flush} (driven by {@link ForumTrendingScheduler})
+ * drains them into forum_activity/forum_trending and slides the window forward.
+ *
+ * <p>Counts are recorded from inside the writer's transaction, so a rolled-back post or
+ * follow still counts once; for a popularity signal that's harmless. Counts not yet flushed
+ * when the instance stops are lost, likewise.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ForumTrendingService {
+
+    private record Bucket(UUID forumId, long minute) {
+    }
+
+    private record Counts(int posts, int follows) {
+        Counts plus(Counts other) {
+            return new Counts(posts + other.posts, follows + other.follows);
+        }
+    }
+
+    private static final Counts ONE_POST = new Counts(1, 0);
+    private static final Counts ONE_FOLLOW = new Counts(0, 1);
+
+    private final ForumTrendingRepository trendingRepository;
+    private final Clock clock;
+
+    private final Map<Bucket, Counts> pending = new ConcurrentHashMap<>();
+
+    @Value("${feed.trending.window-hours:24}")
+    private long windowHours;
+
+    public void recordPost(UUID forumId) {
+        record(forumId, ONE_POST);
+    }
+
+    public void recordFollow(UUID forumId) {
+        record(forumId, ONE_FOLLOW);
+    }
+
+    // merge() is atomic per key and flush() takes buckets out with remove(), so an increment
+    // lands either in the drained value or in a fresh entry — never in neither.
+    private void record(UUID forumId, Counts delta) {
+        long minute = Instant.now(clock).toEpochMilli() / Duration.ofMinutes(1).toMillis();
+        pending.merge(new Bucket(forumId, minute), delta, Counts::plus);
+    }
+
+    @Transactional
+    public void flush() {
+        Instant now = Instant.now(clock);
+        Map<Bucket, Counts> drained = new HashMap<>();
+        for (Bucket bucket : List.copyOf(pending.keySet())) {
+            Counts counts = pending.remove(bucket);
+            if (counts != null) {
+                drained.put(bucket, counts);
+            }
+        }
+        try {
+            drained.forEach((bucket, counts) -> trendingRepository.addActivity(bucket.forumId(),
+                    Instant.ofEpochMilli(bucket.minute() * Duration.ofMinutes(1).toMillis()),
+                    counts.posts(), counts.follows(), now));
+            int expired = trendingRepository.expireBefore(now.minus(Duration.ofHours(windowHours)), now);
+            trendingRepository.deleteInactive();
+            log.debug("Flushed {} trending buckets, slid the window for {} forums", drained.size(), expired);
+        } catch (RuntimeException e) {
+            // the transaction rolls back: hand the drained counts back for the next flush
+            drained.forEach((bucket, counts) -> pending.merge(bucket, counts, Counts::plus));
+            throw e;
+        }
+    }
+}
@@ -1,8 +1,9 @@
 package org.example.backend.userfollowing;
 
 import jakarta.servlet.http.HttpServletRequest;
-import org.springframework.data.domain.Page;
+import org.example.backend.common.paging.Totals;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -47,20 +48,22 @@ public class FollowController {
     }
 
     @GetMapping("/v1/followers")
-    public ResponseEntity<Page<FollowerView>> getFollowers(
+    public ResponseEntity<Slice<FollowerView>> getFollowers(
             HttpServletRequest request,
-            @PageableDefault(size = 20) Pageable pageable
+            @PageableDefault(size = 20) Pageable pageable,
+            @RequestParam(defaultValue = "exact") String totals
     ){
         Long followedUserId = (Long) request.getAttribute("userId");
-        return ResponseEntity.ok(followService.getUserFollowers(followedUserId,pageable));
+        return ResponseEntity.ok(followService.getUserFollowers(followedUserId, pageable, Totals.from(totals)));
     }
 
     @GetMapping("/v1/followings")
-    public ResponseEntity<Page<FollowingView>> getFollowings(
+    public ResponseEntity<Slice<FollowingView>> getFollowings(
             HttpServletRequest request,
-            @PageableDefault(size = 20) Pageable pageable
+            @PageableDefault(size = 20) Pageable pageable,
+            @RequestParam(defaultValue = "exact") String totals
     ){
         Long followingUserId = (Long) request.getAttribute("userId");
-        return ResponseEntity.ok(followService.getUserFollowings(followingUserId,pageable));
+        return ResponseEntity.ok(followService.getUserFollowings(followingUserId, pageable, Totals.from(totals)));
     }
 }
@@ -5,8 +5,11 @@ import lombok.RequiredArgsConstructor;
 import org.example.backend.errorHandler.ResourceNotFoundException;
 import org.example.backend.user.User;
 import org.example.backend.user.UserRepository;
-import org.springframework.data.domain.Page;
+import org.example.backend.common.paging.Paging;
+import org.example.backend.common.paging.RowEstimator;
+import org.example.backend.common.paging.Totals;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -18,6 +21,7 @@ public class FollowService {
 
     private final UserRepository userRepository;
     private final FollowsRepository followsRepository;
+    private final RowEstimator rowEstimator;
 
     @Transactional
     public void follow(Long followingUserId, Long followedUserId){
@@ -63,14 +67,25 @@ public class FollowService {
         return false;
     }
 
+    private static final String FOLLOWERS_ESTIMATE =
+            "SELECT 1 FROM follows WHERE followed_user_id = %L AND NOT is_deleted";
+    private static final String FOLLOWINGS_ESTIMATE =
+            "SELECT 1 FROM follows WHERE following_user_id = %L AND NOT is_deleted";
+
     @Transactional(readOnly = true)
-    public Page<FollowerView> getUserFollowers(Long followedUserId, Pageable pageable){
-        return followsRepository.findAllByFollowedUser_IdAndIsDeletedFalse(followedUserId,pageable);
+    public Slice<FollowerView> getUserFollowers(Long followedUserId, Pageable pageable, Totals totals){
+        return Paging.fetch(totals, pageable,
+                p -> followsRepository.findAllByFollowedUser_IdAndIsDeletedFalse(followedUserId, p),
+                p -> followsRepository.findSliceByFollowedUser_IdAndIsDeletedFalse(followedUserId, p),
+                () -> rowEstimator.estimate(FOLLOWERS_ESTIMATE, followedUserId));
     }
 
     @Transactional(readOnly = true)
-    public Page<FollowingView> getUserFollowings(Long followingUserId, Pageable pageable){
-        return followsRepository.findAllByFollowingUser_IdAndIsDeletedFalse(followingUserId,pageable);
+    public Slice<FollowingView> getUserFollowings(Long followingUserId, Pageable pageable, Totals totals){
+        return Paging.fetch(totals, pageable,
+                p -> followsRepository.findAllByFollowingUser_IdAndIsDeletedFalse(followingUserId, p),
+                p -> followsRepository.findSliceByFollowingUser_IdAndIsDeletedFalse(followingUserId, p),
+                () -> rowEstimator.estimate(FOLLOWINGS_ESTIMATE, followingUserId));
     }
 
     private void newFollow(Long followingUserId, Long followedUserId,FollowsID followsId){
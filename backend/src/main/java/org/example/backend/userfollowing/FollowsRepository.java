@@ -2,6 +2,7 @@ package org.example.backend.userfollowing;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +10,6 @@ import org.springframework.stereotype.Repository;
 public interface FollowsRepository extends JpaRepository<Follows, FollowsID> {
     Page<FollowerView> findAllByFollowedUser_IdAndIsDeletedFalse(Long followedUserId, Pageable pageable);
     Page<FollowingView> findAllByFollowingUser_IdAndIsDeletedFalse(Long followingUserId, Pageable pageable);
+    Slice<FollowerView> findSliceByFollowedUser_IdAndIsDeletedFalse(Long followedUserId, Pageable pageable);
+    Slice<FollowingView> findSliceByFollowingUser_IdAndIsDeletedFalse(Long followingUserId, Pageable pageable);
 }
\ No newline at end of file
@@ -49,4 +49,36 @@ public final class UuidV7 {
         }
         return new UUID(msb, lsb);
     }
+
+    /**
+     * The smallest UUIDv7 that can carry {@code at}'s millisecond: timestamp prefix, version
+     * and variant set, every random bit zero. Postgres compares {@code uuid} bytewise
+     * (unsigned), so {@code id >= lowerBound(t)} selects exactly the v7 ids minted at or after
+     * {@code t} — a time window answered by the primary key instead of a created_at index.
+     * (Java's {@link UUID#compareTo} is signed; compare with {@link #compareUnsigned} instead.)
+     */
+    public static UUID lowerBound(Instant at) {
+        long ts = at.toEpochMilli();
+        long msb = (ts << 16) | 0x7000L;
+        long lsb = 0x8000_0000_0000_0000L;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Orders uuids the way Postgres does: bytewise, i.e. both halves unsigned. Use it wherever
+     * Java code merges or ranks ids against an {@code ORDER BY id}; {@link UUID#compareTo}
+     * compares the halves signed and disagrees once a half's top bit is set.
+     */
+    public static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    /** The creation instant (millisecond precision) encoded in a UUIDv7's prefix. */
+    public static Instant timestampOf(UUID id) {
+        if (id.version() != 7) {
+            throw new IllegalArgumentException("Not a UUIDv7: " + id);
+        }
+        return Instant.ofEpochMilli(id.getMostSignificantBits() >>> 16);
+    }
 }
@@ -1,8 +1,12 @@
 package org.example.backend.vote;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -11,4 +15,73 @@ import java.util.UUID;
 public interface CommentVoteRepository extends JpaRepository<CommentVote, CommentVoteId> {
     Optional<CommentVote> findByUserIdAndCommentId(Long userId, UUID commentId);
     List<CommentVote> findByUserId(Long userId);
+
+    @Query("select v.commentId as targetId, v.voteType as voteType from CommentVote v " +
+           "where v.userId = :userId and v.commentId in :ids")
+    List<VoteState> findStates(@Param("userId") Long userId, @Param("ids") Collection<UUID> ids);
+
+    // Same shapes as PostVoteRepository, over comments and comment_vote_shards.
+    String TARGET = """
+            SELECT c.id,
+                   c.upvote_count + coalesce(sum(s.up_delta), 0)::int AS up,
+                   c.downvote_count + coalesce(sum(s.down_delta), 0)::int AS down
+            FROM comments c LEFT JOIN comment_vote_shards s ON s.comment_id = c.id
+            WHERE c.id = :commentId AND NOT c.is_deleted
+            GROUP BY c.id
+            """;
+
+    @Query(value = "WITH target AS (" + TARGET + """
+            ), previous AS (
+                SELECT vote_type FROM comment_votes WHERE user_id = :userId AND comment_id = :commentId
+            ), upsert AS (
+                INSERT INTO comment_votes (user_id, comment_id, vote_type)
+                SELECT :userId, id, :value FROM target
+                ON CONFLICT (user_id, comment_id) DO UPDATE SET vote_type = EXCLUDED.vote_type
+                WHERE comment_votes.vote_type <> EXCLUDED.vote_type
+            )
+            SELECT (SELECT vote_type FROM previous) AS previous, t.up, t.down
+            FROM target t
+            """, nativeQuery = true)
+    Optional<VoteChange> upsert(@Param("userId") Long userId, @Param("commentId") UUID commentId,
+                                @Param("value") int value);
+
+    @Query(value = "WITH target AS (" + TARGET + """
+            ), previous AS (
+                SELECT vote_type FROM comment_votes WHERE user_id = :userId AND comment_id = :commentId
+            ), changed AS (
+                UPDATE comment_votes v SET vote_type = :value
+                FROM target t
+                WHERE v.user_id = :userId AND v.comment_id = t.id AND v.vote_type <> :value
+            )
+            SELECT pv.vote_type AS previous, t.up, t.down
+            FROM target t CROSS JOIN previous pv
+            """, nativeQuery = true)
+    Optional<VoteChange> updateExisting(@Param("userId") Long userId, @Param("commentId") UUID commentId,
+                                        @Param("value") int value);
+
+    @Query(value = "WITH target AS (" + TARGET + """
+            ), removed AS (
+                DELETE FROM comment_votes WHERE user_id = :userId AND comment_id = :commentId RETURNING vote_type
+            )
+            SELECT r.vote_type AS previous, t.up, t.down
+            FROM removed r LEFT JOIN target t ON true
+            """, nativeQuery = true)
+    Optional<VoteChange> remove(@Param("userId") Long userId, @Param("commentId") UUID commentId);
+
+    // Sharded counters (V14), folded like PostVoteRepository#foldShards.
+    @Modifying
+    @Query(value = """
+            WITH drained AS (
+                DELETE FROM comment_vote_shards RETURNING comment_id, up_delta, down_delta
+            ), totals AS (
+                SELECT comment_id, sum(up_delta) AS up, sum(down_delta) AS down
+                FROM drained GROUP BY comment_id
+            )
+            UPDATE comments t SET upvote_count = t.upvote_count + x.up, downvote_count = t.downvote_count + x.down
+            FROM totals x WHERE t.id = x.comment_id
+            """, nativeQuery = true)
+    int foldShards();
+
+    @Query(value = "SELECT up, down FROM (" + TARGET + ") t", nativeQuery = true)
+    Optional<VoteTotals> findTotals(@Param("commentId") UUID commentId);
 }
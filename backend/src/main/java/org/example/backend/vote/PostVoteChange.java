@@ -0,0 +1,8 @@
+package org.example.backend.vote;
+
+import java.util.UUID;
+
+/** {@link VoteChange} for a post, with the forum whose leaderboard the vote moves. */
+public interface PostVoteChange extends VoteChange {
+    UUID getForumId();
+}
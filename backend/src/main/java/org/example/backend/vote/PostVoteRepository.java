@@ -1,8 +1,12 @@
 package org.example.backend.vote;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -11,4 +15,82 @@ import java.util.UUID;
 public interface PostVoteRepository extends JpaRepository<PostVote, PostVoteId> {
     Optional<PostVote> findByUserIdAndPostId(Long userId, UUID postId);
     List<PostVote> findByUserId(Long userId);
+
+    // Bulk vote state for a rendered page (the IN list reaches Postgres as = ANY(array)).
+    @Query("select v.postId as targetId, v.voteType as voteType from PostVote v " +
+           "where v.userId = :userId and v.postId in :ids")
+    List<VoteState> findStates(@Param("userId") Long userId, @Param("ids") Collection<UUID> ids);
+
+    // The live post's exact counts: the folded columns plus whatever is still pending in the
+    // counter slots. Inside a vote statement this is the state before the vote (the trigger's
+    // slot write isn't visible to the statement's own snapshot).
+    String TARGET = """
+            SELECT p.id, p.forum_id,
+                   p.upvote_count + coalesce(sum(s.up_delta), 0)::int AS up,
+                   p.downvote_count + coalesce(sum(s.down_delta), 0)::int AS down
+            FROM posts p LEFT JOIN post_vote_shards s ON s.post_id = p.id
+            WHERE p.id = :postId AND NOT p.is_deleted
+            GROUP BY p.id
+            """;
+
+    // ─── Single-statement vote writes (VoteService) ──────────────────────────────
+    // Each returns the previous vote and the pre-vote counts, or no row when nothing was
+    // written: no live post for the upsert, no existing vote for the update/delete.
+    @Query(value = "WITH target AS (" + TARGET + """
+            ), previous AS (
+                SELECT vote_type FROM post_votes WHERE user_id = :userId AND post_id = :postId
+            ), upsert AS (
+                INSERT INTO post_votes (user_id, post_id, vote_type)
+                SELECT :userId, id, :value FROM target
+                ON CONFLICT (user_id, post_id) DO UPDATE SET vote_type = EXCLUDED.vote_type
+                WHERE post_votes.vote_type <> EXCLUDED.vote_type
+            )
+            SELECT t.forum_id AS "forumId", (SELECT vote_type FROM previous) AS previous, t.up, t.down
+            FROM target t
+            """, nativeQuery = true)
+    Optional<PostVoteChange> upsert(@Param("userId") Long userId, @Param("postId") UUID postId,
+                                    @Param("value") int value);
+
+    @Query(value = "WITH target AS (" + TARGET + """
+            ), previous AS (
+                SELECT vote_type FROM post_votes WHERE user_id = :userId AND post_id = :postId
+            ), changed AS (
+                UPDATE post_votes v SET vote_type = :value
+                FROM target t
+                WHERE v.user_id = :userId AND v.post_id = t.id AND v.vote_type <> :value
+            )
+            SELECT t.forum_id AS "forumId", pv.vote_type AS previous, t.up, t.down
+            FROM target t CROSS JOIN previous pv
+            """, nativeQuery = true)
+    Optional<PostVoteChange> updateExisting(@Param("userId") Long userId, @Param("postId") UUID postId,
+                                            @Param("value") int value);
+
+    // Removing a vote from a deleted post is allowed; its target columns come back null.
+    @Query(value = "WITH target AS (" + TARGET + """
+            ), removed AS (
+                DELETE FROM post_votes WHERE user_id = :userId AND post_id = :postId RETURNING vote_type
+            )
+            SELECT t.forum_id AS "forumId", r.vote_type AS previous, t.up, t.down
+            FROM removed r LEFT JOIN target t ON true
+            """, nativeQuery = true)
+    Optional<PostVoteChange> remove(@Param("userId") Long userId, @Param("postId") UUID postId);
+
+    // Sharded counters (V14): the vote trigger adds to one of the post's post_vote_shards
+    // slots. The fold drains every slot and adds the sums to the posts in one statement;
+    // a vote racing the fold either lands in a drained row (waited on) or a fresh one.
+    @Modifying
+    @Query(value = """
+            WITH drained AS (
+                DELETE FROM post_vote_shards RETURNING post_id, up_delta, down_delta
+            ), totals AS (
+                SELECT post_id, sum(up_delta) AS up, sum(down_delta) AS down
+                FROM drained GROUP BY post_id
+            )
+            UPDATE posts t SET upvote_count = t.upvote_count + x.up, downvote_count = t.downvote_count + x.down
+            FROM totals x WHERE t.id = x.post_id
+            """, nativeQuery = true)
+    int foldShards();
+
+    @Query(value = "SELECT up, down FROM (" + TARGET + ") t", nativeQuery = true)
+    Optional<VoteTotals> findTotals(@Param("postId") UUID postId);
 }
@@ -0,0 +1,11 @@
+package org.example.backend.vote;
+
+/**
+ * Result of a single-statement vote write: the user's previous vote (null if none) and the
+ * target's exact counts before the write (null when the target is gone — deletes only).
+ */
+public interface VoteChange {
+    Integer getPrevious();
+    Integer getUp();
+    Integer getDown();
+}
@@ -2,6 +2,7 @@ package org.example.backend.vote;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.util.Map;
 import java.util.UUID;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -19,8 +20,7 @@ public class VoteController {
             @Valid @RequestBody VoteDTO voteDTO) {
 
         Long userId = (Long) request.getAttribute("userId");
-        voteService.vote(voteDTO,VoteTargetType.POST,userId);
-        return ResponseEntity.ok().build();
+        return ResponseEntity.ok(voteService.vote(voteDTO,VoteTargetType.POST,userId));
     }
 
     @PostMapping("/v1/comment")
@@ -29,8 +29,7 @@ public class VoteController {
             @Valid @RequestBody VoteDTO voteDTO) {
 
         Long userId = (Long) request.getAttribute("userId");
-        voteService.vote(voteDTO,VoteTargetType.COMMENT,userId);
-        return ResponseEntity.ok().build();
+        return ResponseEntity.ok(voteService.vote(voteDTO,VoteTargetType.COMMENT,userId));
     }
 
     @PutMapping("/v1")
@@ -39,8 +38,7 @@ public class VoteController {
             @Valid @RequestBody UpdateVoteDTO updateVoteDTO) {
 
         Long userId = (Long) request.getAttribute("userId");
-        voteService.updateVote(updateVoteDTO,userId);
-        return ResponseEntity.ok().build();
+        return ResponseEntity.ok(voteService.updateVote(updateVoteDTO,userId));
     }
 
     @DeleteMapping("/v1/{targetId}")
@@ -53,6 +51,21 @@ public class VoteController {
         return ResponseEntity.ok().build();
     }
 
+    // Typed deletes: one statement, no probing of the other vote table.
+    @DeleteMapping("/v1/post/{postId}")
+    public ResponseEntity<?> deletePostVote(HttpServletRequest request, @PathVariable UUID postId) {
+        Long userId = (Long) request.getAttribute("userId");
+        voteService.deleteVote(postId, VoteTargetType.POST, userId);
+        return ResponseEntity.ok().build();
+    }
+
+    @DeleteMapping("/v1/comment/{commentId}")
+    public ResponseEntity<?> deleteCommentVote(HttpServletRequest request, @PathVariable UUID commentId) {
+        Long userId = (Long) request.getAttribute("userId");
+        voteService.deleteVote(commentId, VoteTargetType.COMMENT, userId);
+        return ResponseEntity.ok().build();
+    }
+
     @GetMapping("/v1/{targetId}")
     public ResponseEntity<Integer> getIsVoted(
             HttpServletRequest request,
@@ -62,4 +75,18 @@ public class VoteController {
         return ResponseEntity.ok(voteService.isVote(targetId,userId));
     }
 
+    /** The caller's votes on many targets at once: id → 1/-1, unvoted ids omitted. */
+    @PostMapping("/v1/states")
+    public ResponseEntity<Map<UUID, Integer>> getVoteStates(
+            HttpServletRequest request,
+            @Valid @RequestBody VoteStatesDTO voteStatesDTO) {
+        Long userId = (Long) request.getAttribute("userId");
+        return ResponseEntity.ok(voteService.getVoteStates(voteStatesDTO.getTargetIds(), userId));
+    }
+
+    @GetMapping("/v1/{targetId}/counts")
+    public ResponseEntity<VoteCountsDTO> getCounts(@PathVariable UUID targetId) {
+        return ResponseEntity.ok(voteService.getCounts(targetId));
+    }
+
 }
@@ -0,0 +1,17 @@
+package org.example.backend.vote;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Exact vote counts of one target, including votes not yet folded into its row. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class VoteCountsDTO {
+    private int upvoteCount;
+    private int downvoteCount;
+    private int score;
+}
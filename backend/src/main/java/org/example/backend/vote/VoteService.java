@@ -1,21 +1,33 @@
 package org.example.backend.vote;
 
 import lombok.RequiredArgsConstructor;
-import org.example.backend.comment.Comment;
 import org.example.backend.comment.CommentRepository;
-import org.example.backend.post.Post;
+import org.example.backend.post.ForumLeaderboardService;
 import org.example.backend.post.PostRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
- * Voting over the two typed tables (post_votes, comment_votes). The DB triggers maintain
- * the target's upvote_count/downvote_count (score is a generated column), so this service
- * only writes vote rows. A user can only read/delete their own vote (queried by userId),
- * so no separate ownership check is needed. Because UUIDs are unique across posts and
- * comments, targetId alone identifies which table a vote lives in.
+ * Voting over the two typed tables (post_votes, comment_votes). The DB triggers count each
+ * vote into the target's sharded counter slots, which {@link VoteShardFoldScheduler} folds
+ * into upvote_count/downvote_count (score is a generated column), so this service only
+ * writes vote rows; {@link #getCounts} adds the not-yet-folded slots for an exact read.
+ *
+ * <p>Every write is one native statement (see {@link PostVoteRepository}): the active-target
+ * check, the vote upsert/update/delete and the pre-vote exact counts happen together, and
+ * the new counts are derived from those and the previous vote. A user can only touch their
+ * own vote (keyed by userId), so no separate ownership check is needed. Because UUIDs are
+ * unique across posts and comments, targetId alone identifies which table a vote lives in;
+ * the untyped update/delete try posts first. Post score changes are also reported to
+ * {@link ForumLeaderboardService}.
  */
 @Service
 @RequiredArgsConstructor
@@ -25,43 +37,33 @@ public class VoteService {
     private final CommentVoteRepository commentVoteRepository;
     private final PostRepository postRepository;
     private final CommentRepository commentRepository;
+    private final ForumLeaderboardService leaderboards;
 
     @Transactional
-    public void vote(VoteDTO voteDTO, VoteTargetType targetType, Long userId) {
+    public VoteCountsDTO vote(VoteDTO voteDTO, VoteTargetType targetType, Long userId) {
         UUID targetId = voteDTO.getTargetId();
+        int value = voteDTO.getValue();
         if (targetType == VoteTargetType.POST) {
-            requireActivePost(targetId);
-            PostVote vote = postVoteRepository.findByUserIdAndPostId(userId, targetId)
-                    .orElseGet(() -> PostVote.builder().userId(userId).postId(targetId).build());
-            vote.setVoteType(voteDTO.getValue());
-            postVoteRepository.save(vote);
-        } else {
-            requireActiveComment(targetId);
-            CommentVote vote = commentVoteRepository.findByUserIdAndCommentId(userId, targetId)
-                    .orElseGet(() -> CommentVote.builder().userId(userId).commentId(targetId).build());
-            vote.setVoteType(voteDTO.getValue());
-            commentVoteRepository.save(vote);
+            PostVoteChange change = postVoteRepository.upsert(userId, targetId, value)
+                    .orElseThrow(() -> inactivePost(targetId));
+            return onPostVote(targetId, change, value);
         }
+        VoteChange change = commentVoteRepository.upsert(userId, targetId, value)
+                .orElseThrow(() -> inactiveComment(targetId));
+        return countsAfter(change, value);
     }
 
     @Transactional
-    public void updateVote(UpdateVoteDTO updateVoteDTO, Long userId) {
+    public VoteCountsDTO updateVote(UpdateVoteDTO updateVoteDTO, Long userId) {
         UUID targetId = updateVoteDTO.getTargetId();
-        PostVote pv = postVoteRepository.findByUserIdAndPostId(userId, targetId).orElse(null);
-        if (pv != null) {
-            requireActivePost(targetId);
-            pv.setVoteType(updateVoteDTO.getValue());
-            postVoteRepository.save(pv);
-            return;
+        int value = updateVoteDTO.getValue();
+        Optional<PostVoteChange> postChange = postVoteRepository.updateExisting(userId, targetId, value);
+        if (postChange.isPresent()) {
+            return onPostVote(targetId, postChange.get(), value);
         }
-        CommentVote cv = commentVoteRepository.findByUserIdAndCommentId(userId, targetId).orElse(null);
-        if (cv != null) {
-            requireActiveComment(targetId);
-            cv.setVoteType(updateVoteDTO.getValue());
-            commentVoteRepository.save(cv);
-            return;
-        }
-        throw new IllegalArgumentException("Vote not found");
+        return commentVoteRepository.updateExisting(userId, targetId, value)
+                .map(change -> countsAfter(change, value))
+                .orElseThrow(() -> missingVote(targetId, userId));
     }
 
     @Transactional(readOnly = true)
@@ -71,34 +73,122 @@ public class VoteService {
                 .orElse(0);
     }
 
+    static final int MAX_VOTE_STATES = 500;
+
+    /**
+     * The caller's votes on a page of targets (posts and comments mixed) in one query per
+     * table — the comment table only for ids the post table didn't answer. Targets without a
+     * vote are left out of the map.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, Integer> getVoteStates(Collection<UUID> targetIds, Long userId) {
+        if (targetIds.size() > MAX_VOTE_STATES) {
+            throw new IllegalArgumentException("At most " + MAX_VOTE_STATES + " targets per lookup");
+        }
+        Set<UUID> remaining = new HashSet<>(targetIds);
+        Map<UUID, Integer> states = new HashMap<>();
+        if (remaining.isEmpty()) {
+            return states;
+        }
+        for (VoteState state : postVoteRepository.findStates(userId, remaining)) {
+            states.put(state.getTargetId(), state.getVoteType());
+            remaining.remove(state.getTargetId());
+        }
+        if (!remaining.isEmpty()) {
+            states.putAll(getCommentVoteStates(remaining, userId));
+        }
+        return states;
+    }
+
+    @Transactional(readOnly = true)
+    public Map<UUID, Integer> getCommentVoteStates(Collection<UUID> commentIds, Long userId) {
+        Map<UUID, Integer> states = new HashMap<>();
+        if (!commentIds.isEmpty()) {
+            commentVoteRepository.findStates(userId, commentIds)
+                    .forEach(state -> states.put(state.getTargetId(), state.getVoteType()));
+        }
+        return states;
+    }
+
+    @Transactional(readOnly = true)
+    public VoteCountsDTO getCounts(UUID targetId) {
+        VoteTotals totals = postVoteRepository.findTotals(targetId)
+                .or(() -> commentVoteRepository.findTotals(targetId))
+                .orElseThrow(() -> new IllegalArgumentException("Vote target not found with id: " + targetId));
+        return counts(totals.getUp(), totals.getDown());
+    }
+
     @Transactional
     public void deleteVote(UUID targetId, Long userId) {
-        PostVote pv = postVoteRepository.findByUserIdAndPostId(userId, targetId).orElse(null);
-        if (pv != null) {
-            postVoteRepository.delete(pv);
-            return;
+        if (!removePostVote(targetId, userId) && commentVoteRepository.remove(userId, targetId).isEmpty()) {
+            throw new IllegalArgumentException("Vote not found");
         }
-        CommentVote cv = commentVoteRepository.findByUserIdAndCommentId(userId, targetId).orElse(null);
-        if (cv != null) {
-            commentVoteRepository.delete(cv);
-            return;
+    }
+
+    /** {@link #deleteVote(UUID, Long)} when the caller knows the target type: one statement. */
+    @Transactional
+    public void deleteVote(UUID targetId, VoteTargetType targetType, Long userId) {
+        boolean removed = targetType == VoteTargetType.POST
+                ? removePostVote(targetId, userId)
+                : commentVoteRepository.remove(userId, targetId).isPresent();
+        if (!removed) {
+            throw new IllegalArgumentException("Vote not found");
         }
-        throw new IllegalArgumentException("Vote not found");
     }
 
-    private void requireActivePost(UUID postId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new IllegalArgumentException("Post not found with id: " + postId));
-        if (Boolean.TRUE.equals(post.getIsDeleted())) {
-            throw new IllegalStateException("Cannot vote a deleted post");
+    private boolean removePostVote(UUID postId, Long userId) {
+        Optional<PostVoteChange> removed = postVoteRepository.remove(userId, postId);
+        removed.filter(change -> change.getForumId() != null)
+                .ifPresent(change -> onPostVote(postId, change, 0));
+        return removed.isPresent();
+    }
+
+    private VoteCountsDTO onPostVote(UUID postId, PostVoteChange change, int value) {
+        VoteCountsDTO counts = countsAfter(change, value);
+        if (valueOf(change.getPrevious()) != value) {
+            leaderboards.onVote(change.getForumId(), postId, counts.getScore());
         }
+        return counts;
+    }
+
+    // The statement returns the counts from before its own write; apply the vote's move
+    // (previous → value, 0 meaning "no vote") to get the counts after it.
+    private static VoteCountsDTO countsAfter(VoteChange change, int value) {
+        int previous = valueOf(change.getPrevious());
+        return counts(change.getUp() + (value == 1 ? 1 : 0) - (previous == 1 ? 1 : 0),
+                change.getDown() + (value == -1 ? 1 : 0) - (previous == -1 ? 1 : 0));
+    }
+
+    private static VoteCountsDTO counts(int up, int down) {
+        return VoteCountsDTO.builder().upvoteCount(up).downvoteCount(down).score(up - down).build();
+    }
+
+    private static int valueOf(Integer voteType) {
+        return voteType == null ? 0 : voteType;
     }
 
-    private void requireActiveComment(UUID commentId) {
-        Comment comment = commentRepository.findById(commentId)
-                .orElseThrow(() -> new IllegalArgumentException("Comment not found with id: " + commentId));
-        if (Boolean.TRUE.equals(comment.getIsDeleted())) {
-            throw new IllegalStateException("Cannot vote a deleted comment");
+    // updateExisting only matches votes on live targets, so a vote that is still there means
+    // its target was deleted.
+    private RuntimeException missingVote(UUID targetId, Long userId) {
+        if (postVoteRepository.findByUserIdAndPostId(userId, targetId).isPresent()) {
+            return inactivePost(targetId);
+        }
+        if (commentVoteRepository.findByUserIdAndCommentId(userId, targetId).isPresent()) {
+            return inactiveComment(targetId);
         }
+        return new IllegalArgumentException("Vote not found");
+    }
+
+    // Failure paths only: tell "no such target" (400) from "deleted target" (409).
+    private RuntimeException inactivePost(UUID postId) {
+        return postRepository.existsById(postId)
+                ? new IllegalStateException("Cannot vote a deleted post")
+                : new IllegalArgumentException("Post not found with id: " + postId);
+    }
+
+    private RuntimeException inactiveComment(UUID commentId) {
+        return commentRepository.existsById(commentId)
+                ? new IllegalStateException("Cannot vote a deleted comment")
+                : new IllegalArgumentException("Comment not found with id: " + commentId);
     }
 }
@@ -0,0 +1,34 @@
+package org.example.backend.vote;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Folds the sharded vote counters (V14) into posts/comments upvote_count and
+ * downvote_count. Each target row is written once per pass however many votes it got, so a
+ * viral post costs one row update per fold instead of one per vote. A failed pass leaves
+ * the slots in place for the next one.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VoteShardFoldScheduler {
+
+    private final PostVoteRepository postVoteRepository;
+    private final CommentVoteRepository commentVoteRepository;
+
+    @Scheduled(
+            fixedDelayString = "${vote.shards.fold-ms:1000}",
+            initialDelayString = "${vote.shards.initial-delay-ms:1000}")
+    @Transactional
+    public void fold() {
+        int posts = postVoteRepository.foldShards();
+        int comments = commentVoteRepository.foldShards();
+        if (posts + comments > 0) {
+            log.debug("Folded vote counters into {} post(s) and {} comment(s)", posts, comments);
+        }
+    }
+}
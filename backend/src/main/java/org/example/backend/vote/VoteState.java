@@ -0,0 +1,9 @@
+package org.example.backend.vote;
+
+import java.util.UUID;
+
+/** The caller's vote on one target, for bulk vote-state lookups. */
+public interface VoteState {
+    UUID getTargetId();
+    Integer getVoteType();
+}
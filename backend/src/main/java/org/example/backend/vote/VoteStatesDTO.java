@@ -0,0 +1,21 @@
+package org.example.backend.vote;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class VoteStatesDTO {
+    @NotNull
+    @Size(max = VoteService.MAX_VOTE_STATES)
+    private List<UUID> targetIds;
+}
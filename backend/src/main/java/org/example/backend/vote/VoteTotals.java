@@ -0,0 +1,7 @@
+package org.example.backend.vote;
+
+/** Folded plus pending vote counts of one post or comment (native projection). */
+public interface VoteTotals {
+    Integer getUp();
+    Integer getDown();
+}
@@ -2,8 +2,9 @@ package org.example.backend.watchHistory;
 
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.example.backend.common.paging.Totals;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -27,12 +28,13 @@ public class WatchHistoryController {
     }
 
     @GetMapping("/v1")
-    public ResponseEntity<Page<WatchHistoryViewDTO>> getWatchHistory(
+    public ResponseEntity<Slice<WatchHistoryViewDTO>> getWatchHistory(
             HttpServletRequest request,
-            @PageableDefault(size = 20, sort = "watchedAt", direction = org.springframework.data.domain.Sort.Direction.DESC) Pageable pageable
+            @PageableDefault(size = 20, sort = "watchedAt", direction = org.springframework.data.domain.Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(defaultValue = "exact") String totals
     ){
         Long watcherId = (Long) request.getAttribute("userId");
-        return ResponseEntity.ok(watchHistoryService.getWatcherWatchHistory(watcherId,pageable));
+        return ResponseEntity.ok(watchHistoryService.getWatcherWatchHistory(watcherId, pageable, Totals.from(totals)));
     }
 
     @DeleteMapping("/v1/{watchHistoryId}")
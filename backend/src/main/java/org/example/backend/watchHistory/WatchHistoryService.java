@@ -7,8 +7,11 @@ import org.example.backend.movie.MovieRepository;
 import org.example.backend.user.User;
 import org.example.backend.user.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.example.backend.common.paging.Paging;
+import org.example.backend.common.paging.RowEstimator;
+import org.example.backend.common.paging.Totals;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -22,6 +25,9 @@ public class WatchHistoryService {
     @Autowired
     MovieRepository movieRepository;
 
+    @Autowired
+    RowEstimator rowEstimator;
+
     @Transactional
     public WatchHistoryResponse addToWatchHistory(Long userId, Long movieID){
         Movie movie = movieRepository.findById(movieID)
@@ -47,9 +53,15 @@ public class WatchHistoryService {
         watchHistoryRepository.save(watchHistory);
     }
 
+    private static final String HISTORY_ESTIMATE =
+            "SELECT 1 FROM watch_history WHERE user_id = %L AND NOT is_deleted";
+
     @Transactional(readOnly = true)
-    public Page<WatchHistoryViewDTO> getWatcherWatchHistory(Long watcherId, Pageable pageable) {
-        return watchHistoryRepository.findAllByUserIdAndIsDeletedFalse(watcherId, pageable);
+    public Slice<WatchHistoryViewDTO> getWatcherWatchHistory(Long watcherId, Pageable pageable, Totals totals) {
+        return Paging.fetch(totals, pageable,
+                p -> watchHistoryRepository.findAllByUserIdAndIsDeletedFalse(watcherId, p),
+                p -> watchHistoryRepository.findSliceByUserIdAndIsDeletedFalse(watcherId, p),
+                () -> rowEstimator.estimate(HISTORY_ESTIMATE, watcherId));
     }
 }
 
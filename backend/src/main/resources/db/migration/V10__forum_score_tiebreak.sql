@@ -0,0 +1,5 @@
+-- Forum "top" sort (PostUtils: score DESC, id DESC) and the ForumLeaderboard seed read.
+-- The V1 index stopped at score, so every page and seed sorted each score's ties by id
+-- after the range read; with the tie-breaker in the index the top-N is a plain index range.
+DROP INDEX idx_post_forum_score;
+CREATE INDEX idx_post_forum_score ON posts (forum_id, score DESC, id DESC) WHERE NOT is_deleted;
@@ -0,0 +1,14 @@
+-- Full-text post search (PostSearchService).
+--
+-- search_vector is a STORED generated column, so it can never drift from title/content and
+-- needs no trigger; the title is weighted above the body for ranking. The GIN index carries
+-- the same visibility predicate every search query repeats, so soft-deleted and
+-- moderation-removed posts are never in it (and the planner can match the partial index).
+-- Adding a stored generated column rewrites posts once; run it in a quiet window.
+ALTER TABLE posts ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(content, '')), 'B')
+) STORED;
+
+CREATE INDEX idx_post_search ON posts USING GIN (search_vector)
+    WHERE NOT is_deleted AND moderation_status <> 'REMOVED';
@@ -0,0 +1,28 @@
+-- Trending forums: a 24h sliding window of new posts and new follows per forum.
+--
+-- Writers don't touch these tables: PostService/FollowingService bump in-memory per-minute
+-- counters (trending.ForumTrendingService), which a scheduled flush adds here. Each flush
+--   1. adds its deltas to the minute buckets in forum_activity AND to the running 24h totals
+--      in forum_trending (one statement per forum-minute), then
+--   2. deletes buckets that slid out of the window and subtracts them from the totals.
+-- So forum_trending is maintained incrementally and the explore "trending" sort is an index
+-- range on idx_forum_trending_score — no GROUP BY over posts or forum_follows, ever.
+-- Flushes are additive, so several app instances can flush into the same rows.
+CREATE TABLE forum_activity (
+    forum_id     UUID        NOT NULL REFERENCES forums (id) ON DELETE CASCADE,
+    bucket_start TIMESTAMPTZ NOT NULL,                -- minute the activity fell in
+    posts        INTEGER     NOT NULL DEFAULT 0,
+    follows      INTEGER     NOT NULL DEFAULT 0,
+    PRIMARY KEY (forum_id, bucket_start)
+);
+CREATE INDEX idx_forum_activity_bucket ON forum_activity (bucket_start);   -- window expiry
+
+CREATE TABLE forum_trending (
+    forum_id       UUID        PRIMARY KEY REFERENCES forums (id) ON DELETE CASCADE,
+    posts_24h      INTEGER     NOT NULL DEFAULT 0,
+    follows_24h    INTEGER     NOT NULL DEFAULT 0,
+    -- a follow is a stronger signal of a forum taking off than one more post
+    trending_score INTEGER     GENERATED ALWAYS AS (posts_24h + 2 * follows_24h) STORED,
+    updated_at     TIMESTAMPTZ NOT NULL
+);
+CREATE INDEX idx_forum_trending_score ON forum_trending (trending_score DESC, forum_id DESC);
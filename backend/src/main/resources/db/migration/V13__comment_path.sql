@@ -0,0 +1,51 @@
+-- Materialized path on comments: the reply hierarchy as an indexable string.
+--
+-- path is the concatenation of every ancestor's id, root first, each as 32 lowercase hex
+-- digits (the UUID without dashes), ending with the comment's own id. Fixed-width segments
+-- need no separator and no extension (ltree): depth is length(path) / 32 - 1, and a subtree
+-- is one btree range, path >= p AND path < p || 'g' ('g' sorts after every hex digit under
+-- the C collation). Siblings order by id inside a parent, so path order is depth-first in
+-- creation order.
+ALTER TABLE comments ADD COLUMN path TEXT COLLATE "C";
+
+WITH RECURSIVE tree AS (
+    SELECT id, replace(id::text, '-', '') AS path
+    FROM comments WHERE parent_id IS NULL
+    UNION ALL
+    SELECT c.id, t.path || replace(c.id::text, '-', '')
+    FROM comments c JOIN tree t ON c.parent_id = t.id
+)
+UPDATE comments c SET path = t.path, depth = length(t.path) / 32 - 1
+FROM tree t WHERE c.id = t.id;
+
+ALTER TABLE comments ALTER COLUMN path SET NOT NULL;
+
+-- 64 levels keep a path (2 KB) well inside the btree entry limit.
+ALTER TABLE comments ADD CONSTRAINT comment_depth_limit CHECK (depth < 64);
+
+-- path and depth are derived from the parent's row on insert, so the application never
+-- reads the parent to place a reply. parent_id is never updated (comments don't move),
+-- which is what keeps the stored path valid without an UPDATE trigger.
+CREATE FUNCTION trg_comment_path() RETURNS trigger AS $$
+DECLARE
+    parent_path TEXT;
+BEGIN
+    IF NEW.parent_id IS NULL THEN
+        NEW.path := replace(NEW.id::text, '-', '');
+    ELSE
+        SELECT path INTO parent_path FROM comments WHERE id = NEW.parent_id;
+        IF parent_path IS NULL THEN
+            RAISE EXCEPTION 'parent comment % does not exist', NEW.parent_id
+                USING ERRCODE = 'foreign_key_violation';
+        END IF;
+        NEW.path := parent_path || replace(NEW.id::text, '-', '');
+    END IF;
+    NEW.depth := length(NEW.path) / 32 - 1;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+CREATE TRIGGER comment_path BEFORE INSERT ON comments
+    FOR EACH ROW EXECUTE FUNCTION trg_comment_path();
+
+-- Subtree soft-delete, subtree count and descendant reads all work on live rows only.
+CREATE INDEX idx_comment_path ON comments (path) WHERE NOT is_deleted;
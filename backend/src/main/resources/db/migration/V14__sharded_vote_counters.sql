@@ -0,0 +1,85 @@
+-- Sharded vote counters.
+--
+-- The V1 vote triggers updated the target post/comment row on every vote, so all voters on
+-- one viral post queued on that row's lock (and each update rewrote the row and its
+-- generated score). Votes now add +/-1 to one of 16 randomly chosen counter slots per
+-- target; concurrent voters mostly hit different slot rows. VoteShardFoldScheduler
+-- periodically drains the slots into upvote_count/downvote_count, so those columns (and
+-- score, hot_rank, the "top" indexes) lag by at most one fold. Exact counts are the column
+-- plus the target's pending slots (PostVoteRepository/CommentVoteRepository.findTotals).
+CREATE TABLE post_vote_shards (
+    post_id    UUID     NOT NULL REFERENCES posts (id) ON DELETE CASCADE,
+    shard      SMALLINT NOT NULL,
+    up_delta   INTEGER  NOT NULL DEFAULT 0,
+    down_delta INTEGER  NOT NULL DEFAULT 0,
+    PRIMARY KEY (post_id, shard)
+);
+
+CREATE TABLE comment_vote_shards (
+    comment_id UUID     NOT NULL REFERENCES comments (id) ON DELETE CASCADE,
+    shard      SMALLINT NOT NULL,
+    up_delta   INTEGER  NOT NULL DEFAULT 0,
+    down_delta INTEGER  NOT NULL DEFAULT 0,
+    PRIMARY KEY (comment_id, shard)
+);
+
+CREATE OR REPLACE FUNCTION trg_post_vote_counts() RETURNS trigger AS $$
+DECLARE
+    target UUID;
+    up     INTEGER := 0;
+    down   INTEGER := 0;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        target := NEW.post_id;
+        IF NEW.vote_type = 1 THEN up := 1; ELSE down := 1; END IF;
+    ELSIF TG_OP = 'DELETE' THEN
+        -- is_deleted guard (V1): a purge's FK cascade must not record a slot for the post
+        -- the same command is deleting.
+        IF NOT EXISTS (SELECT 1 FROM posts WHERE id = OLD.post_id AND NOT is_deleted) THEN
+            RETURN NULL;
+        END IF;
+        target := OLD.post_id;
+        IF OLD.vote_type = 1 THEN up := -1; ELSE down := -1; END IF;
+    ELSIF TG_OP = 'UPDATE' AND NEW.vote_type <> OLD.vote_type THEN
+        target := NEW.post_id;
+        IF NEW.vote_type = 1 THEN up := 1; down := -1; ELSE up := -1; down := 1; END IF;
+    ELSE
+        RETURN NULL;
+    END IF;
+    INSERT INTO post_vote_shards AS s (post_id, shard, up_delta, down_delta)
+    VALUES (target, floor(random() * 16)::smallint, up, down)
+    ON CONFLICT (post_id, shard) DO UPDATE
+        SET up_delta = s.up_delta + EXCLUDED.up_delta, down_delta = s.down_delta + EXCLUDED.down_delta;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION trg_comment_vote_counts() RETURNS trigger AS $$
+DECLARE
+    target UUID;
+    up     INTEGER := 0;
+    down   INTEGER := 0;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        target := NEW.comment_id;
+        IF NEW.vote_type = 1 THEN up := 1; ELSE down := 1; END IF;
+    ELSIF TG_OP = 'DELETE' THEN
+        -- is_deleted guard (see trg_post_vote_counts)
+        IF NOT EXISTS (SELECT 1 FROM comments WHERE id = OLD.comment_id AND NOT is_deleted) THEN
+            RETURN NULL;
+        END IF;
+        target := OLD.comment_id;
+        IF OLD.vote_type = 1 THEN up := -1; ELSE down := -1; END IF;
+    ELSIF TG_OP = 'UPDATE' AND NEW.vote_type <> OLD.vote_type THEN
+        target := NEW.comment_id;
+        IF NEW.vote_type = 1 THEN up := 1; down := -1; ELSE up := -1; down := 1; END IF;
+    ELSE
+        RETURN NULL;
+    END IF;
+    INSERT INTO comment_vote_shards AS s (comment_id, shard, up_delta, down_delta)
+    VALUES (target, floor(random() * 16)::smallint, up, down)
+    ON CONFLICT (comment_id, shard) DO UPDATE
+        SET up_delta = s.up_delta + EXCLUDED.up_delta, down_delta = s.down_delta + EXCLUDED.down_delta;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
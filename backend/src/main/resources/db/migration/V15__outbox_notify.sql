@@ -0,0 +1,13 @@
+-- Wake the outbox relay as soon as a moderation request commits instead of waiting for its
+-- next poll. NOTIFY is transactional: it is delivered only when the inserting transaction
+-- commits (so the row is visible to the relay), and identical notifications from one
+-- transaction are folded into one. Statement-level, so a multi-row insert sends one.
+CREATE FUNCTION trg_moderation_outbox_notify() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('moderation_outbox', '');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER moderation_outbox_notify AFTER INSERT ON moderation_outbox
+    FOR EACH STATEMENT EXECUTE FUNCTION trg_moderation_outbox_notify();
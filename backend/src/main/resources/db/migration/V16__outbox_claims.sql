@@ -0,0 +1,13 @@
+-- MOD-03: let several backend instances relay the outbox without publishing the same rows.
+--
+-- A relay pass claims its batch (claimed_by / claimed_until) in a short transaction with
+-- FOR UPDATE SKIP LOCKED, so concurrent instances take disjoint rows without waiting on each
+-- other, then publishes outside any transaction. The lease makes a crashed instance's rows
+-- claimable again once claimed_until passes; a pass that fails to publish releases its rows.
+ALTER TABLE moderation_outbox ADD COLUMN claimed_by    TEXT;
+ALTER TABLE moderation_outbox ADD COLUMN claimed_until TIMESTAMPTZ;
+
+-- The claim only takes a row once every earlier row of the same content is in the same
+-- claim, so one content's versions are never split across instances. That check probes
+-- this index per candidate.
+CREATE INDEX idx_outbox_content ON moderation_outbox (content_id, id);
@@ -0,0 +1,5 @@
+-- CDC relay mode (moderation.outbox.mode=cdc): OutboxCdcRelay streams this publication from a
+-- logical replication slot (pgoutput) instead of polling the table. Inserts only — the relay
+-- trims published rows itself, and those deletes must not come back through the stream.
+-- Harmless while the poll relay is in use: with no slot attached, nothing decodes it.
+CREATE PUBLICATION moderation_outbox_pub FOR TABLE moderation_outbox WITH (publish = 'insert');
@@ -0,0 +1,17 @@
+-- Keyset (cursor) pagination for the explore feed.
+--
+-- The cursor endpoint seeks with a row comparison on (sort key…, id) and orders by the same
+-- columns, so each explore index needs the id tie-breaker as its last column — otherwise the
+-- seek is only an index range on the leading column followed by a sort. Same names as V1 so
+-- the offset endpoint keeps using them unchanged.
+DROP INDEX idx_post_explore_new;
+DROP INDEX idx_post_explore_score;
+CREATE INDEX idx_post_explore_new   ON posts (created_at DESC, id DESC)             WHERE NOT is_deleted;
+CREATE INDEX idx_post_explore_score ON posts (score DESC, created_at DESC, id DESC) WHERE NOT is_deleted;
+
+-- "hot" (last_activity_at) had a per-forum index only; the explore feed sorted the 7-day
+-- window in memory. A NULL last_activity_at would also fall out of a row-comparison seek
+-- (NULL compares as unknown), so backfill it and make it NOT NULL like the entity treats it.
+UPDATE posts SET last_activity_at = created_at WHERE last_activity_at IS NULL;
+ALTER TABLE posts ALTER COLUMN last_activity_at SET NOT NULL;
+CREATE INDEX idx_post_explore_hot ON posts (last_activity_at DESC, id DESC) WHERE NOT is_deleted;
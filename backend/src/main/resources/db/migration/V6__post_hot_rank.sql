@@ -0,0 +1,39 @@
+-- Precomputed time-decayed "hot" rank for posts.
+--
+-- hot_rank = sign(e) * log10(max(|e|, 1)) + (created_at epoch - 2024-01-01) / 45000,
+-- where e = score + 2 * comment_count (a comment is a stronger engagement signal than a vote).
+-- The age term is a constant per post, so ranks never decay in place: a newer post simply
+-- starts higher, and every 12.5h of age costs one order of magnitude of engagement. That
+-- keeps the column stable between engagement changes, so the hot feed is a plain index range
+-- scan instead of an ORDER BY over a per-query decay expression.
+--
+-- Maintenance: a BEFORE INSERT trigger seeds the rank; afterwards the background pass
+-- (HotRankScheduler) recomputes only posts with activity inside its window and only rewrites
+-- rows whose rank actually changed. Not done inside the vote/comment counter triggers on
+-- purpose — those already serialize on the post row, and the rank can lag by one pass.
+CREATE FUNCTION post_hot_rank(score INTEGER, comment_count INTEGER, created_at TIMESTAMPTZ)
+RETURNS DOUBLE PRECISION AS $$
+    SELECT sign(e) * log(greatest(abs(e), 1))
+           + (extract(epoch FROM created_at)::double precision - 1704067200) / 45000
+    FROM (SELECT (score + 2 * comment_count)::double precision AS e) engagement
+$$ LANGUAGE sql IMMUTABLE;
+
+ALTER TABLE posts ADD COLUMN hot_rank DOUBLE PRECISION NOT NULL DEFAULT 0;
+UPDATE posts SET hot_rank = post_hot_rank(score, comment_count, created_at);
+
+-- score is GENERATED and not yet computed in a BEFORE trigger, so derive it from the bases.
+CREATE FUNCTION trg_post_hot_rank_init() RETURNS trigger AS $$
+BEGIN
+    NEW.hot_rank := post_hot_rank(NEW.upvote_count - NEW.downvote_count, NEW.comment_count, NEW.created_at);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+CREATE TRIGGER post_hot_rank_init BEFORE INSERT ON posts
+    FOR EACH ROW EXECUTE FUNCTION trg_post_hot_rank_init();
+
+-- The explore/forum "hot" indexes move from last_activity_at to hot_rank. The V5
+-- last_activity_at index is kept (renamed): it drives the recompute pass's window scan.
+ALTER INDEX idx_post_explore_hot RENAME TO idx_post_recent_activity;
+CREATE INDEX idx_post_explore_hot ON posts (hot_rank DESC, id DESC) WHERE NOT is_deleted;
+DROP INDEX idx_post_forum_hot;
+CREATE INDEX idx_post_forum_hot ON posts (forum_id, hot_rank DESC, id DESC) WHERE NOT is_deleted;
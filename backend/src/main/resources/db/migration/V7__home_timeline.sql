@@ -0,0 +1,27 @@
+-- Fan-out-on-write home timeline (the followed-forums feed, PostService.getUserPosts).
+--
+-- Previously every home-feed read loaded all followed forum ids and ran an unbounded
+-- "forum_id IN (...)" scan with no order. Now a new post is pushed into the timelines of
+-- the forum's *active* followers at write time, and a read is one index range on
+-- (user_id, created_at DESC, post_id DESC).
+--
+-- home_timeline_state marks a user's timeline as materialized. Users without a state row
+-- (or whose last read is older than the active window) are "cold": fan-out skips them and
+-- their timeline is rebuilt from forum_follows + posts on their next read. That bounds the
+-- fan-out cost of a popular forum by its recently-active followers, not all followers.
+CREATE TABLE home_timeline (
+    user_id    BIGINT      NOT NULL REFERENCES users (user_id) ON DELETE CASCADE,
+    post_id    UUID        NOT NULL REFERENCES posts (id)      ON DELETE CASCADE,
+    forum_id   UUID        NOT NULL,                 -- lets unfollow drop a forum's entries
+    created_at TIMESTAMPTZ NOT NULL,                 -- copy of posts.created_at (sort key)
+    PRIMARY KEY (user_id, post_id)
+);
+CREATE INDEX idx_home_timeline_read ON home_timeline (user_id, created_at DESC, post_id DESC);
+CREATE INDEX idx_home_timeline_post ON home_timeline (post_id);   -- soft-delete removal + FK cascade
+
+CREATE TABLE home_timeline_state (
+    user_id      BIGINT      PRIMARY KEY REFERENCES users (user_id) ON DELETE CASCADE,
+    built_at     TIMESTAMPTZ NOT NULL,
+    last_read_at TIMESTAMPTZ NOT NULL
+);
+CREATE INDEX idx_home_timeline_state_read ON home_timeline_state (last_read_at);
@@ -0,0 +1,19 @@
+-- Planner row estimate for list totals (the "estimate" totals mode on paged endpoints).
+--
+-- An exact total is a second COUNT(*) over every matching row, which on a large forum or
+-- a popular post costs as much as the page itself. EXPLAIN only plans the query and reads
+-- the row estimate from pg_statistic, so this stays O(1) however many rows match.
+--
+-- The query is a format() template with one %L placeholder; the key is quoted as a
+-- literal by format(), never spliced in by the caller. Templates are fixed strings in
+-- RowEstimator's callers, not user input.
+
+CREATE OR REPLACE FUNCTION count_estimate(query_template TEXT, key TEXT) RETURNS BIGINT
+LANGUAGE plpgsql STABLE STRICT AS $$
+DECLARE
+    plan JSONB;
+BEGIN
+    EXECUTE 'EXPLAIN (FORMAT JSON) ' || format(query_template, key) INTO plan;
+    RETURN (plan -> 0 -> 'Plan' ->> 'Plan Rows')::BIGINT;
+END;
+$$;
@@ -0,0 +1,25 @@
+-- "New" ordering and time windows on the UUIDv7 primary key.
+--
+-- forums/posts/comments ids are UUIDv7 (util.UuidV7): a 48-bit millisecond prefix, compared
+-- bytewise by Postgres, so ORDER BY id is creation order and "created in the last N days"
+-- is id >= UuidV7.lowerBound(now - N days). That makes the created_at-ordered indexes
+-- redundant with the primary key (or can shrink to a (parent, id) shape that also gives a
+-- unique keyset order without a separate tie-breaker column).
+
+-- Explore "new" and forum "new": the primary key serves both directly.
+DROP INDEX idx_post_explore_new;
+DROP INDEX idx_forum_explore_new;
+
+-- Explore "score": the tie-breaker no longer needs created_at — id already orders by time.
+DROP INDEX idx_post_explore_score;
+CREATE INDEX idx_post_explore_score ON posts (score DESC, id DESC) WHERE NOT is_deleted;
+
+-- Per-parent "new" orderings (forum → posts, post → comments, comment → replies).
+DROP INDEX idx_post_forum_new;
+CREATE INDEX idx_post_forum_new ON posts (forum_id, id DESC) WHERE NOT is_deleted;
+
+DROP INDEX idx_comment_post_new;
+CREATE INDEX idx_comment_post_new ON comments (post_id, id) WHERE NOT is_deleted;
+
+DROP INDEX idx_comment_parent;
+CREATE INDEX idx_comment_parent ON comments (parent_id, id) WHERE NOT is_deleted;
@@ -0,0 +1,174 @@
+package org.example.backend.comment;
+
+import org.example.backend.AbstractPostgresIntegrationTest;
+import org.example.backend.util.UuidV7;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.persistence.autoconfigure.EntityScan;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The V13 materialized path against the real schema: the insert trigger that derives path and
+ * depth from the parent, the depth limit, and the subtree statements that range over it.
+ */
+@DataJpaTest
+@EntityScan(basePackages = "org.example.backend")
+@EnableJpaRepositories(basePackages = "org.example.backend")
+class CommentRepositoryTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private JdbcTemplate jdbc;
+    private Long ownerId;
+    private UUID postId;
+
+    // Sibling order is id order, and UuidV7 only orders ids across milliseconds, so comment
+    // ids here count up under a random prefix instead.
+    private final long idPrefix = ThreadLocalRandom.current().nextLong() >>> 1;
+    private long idSequence;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(dataSource);
+        ownerId = jdbc.queryForObject("INSERT INTO users (email) VALUES (?) RETURNING user_id", Long.class,
+                "commenter-" + UUID.randomUUID() + "@example.com");
+        UUID forumId = UuidV7.generate();
+        jdbc.update("INSERT INTO forums (id, owner_id, name, description, moderation_requested_at) " +
+                "VALUES (?, ?, 'comments', 'comments', now())", forumId, ownerId);
+        postId = UuidV7.generate();
+        jdbc.update("INSERT INTO posts (id, forum_id, owner_id, title, last_activity_at, moderation_requested_at) " +
+                "VALUES (?, ?, ?, 'post', now(), now())", postId, forumId, ownerId);
+    }
+
+    /** Inserts a comment the way the entity does: no path or depth, the trigger sets both. */
+    private UUID comment(UUID parentId) {
+        UUID id = new UUID(idPrefix, ++idSequence);
+        jdbc.update("INSERT INTO comments (id, post_id, parent_id, owner_id, content, moderation_requested_at) " +
+                "VALUES (?, ?, ?, ?, 'text', now())", id, postId, parentId, ownerId);
+        return id;
+    }
+
+    /** A chain of replies under a new top-level comment; returns the comment at {@code depth}. */
+    private UUID chain(int depth) {
+        UUID id = comment(null);
+        for (int i = 0; i < depth; i++) {
+            id = comment(id);
+        }
+        return id;
+    }
+
+    private String path(UUID id) {
+        return jdbc.queryForObject("SELECT path FROM comments WHERE id = ?", String.class, id);
+    }
+
+    private int depth(UUID id) {
+        return jdbc.queryForObject("SELECT depth FROM comments WHERE id = ?", Integer.class, id);
+    }
+
+    private static String segment(UUID id) {
+        return id.toString().replace("-", "");
+    }
+
+    // ---- TEST: the insert trigger places a reply under its parent's path ----
+
+    @Test
+    void insert_DerivesPathAndDepthFromTheParent() {
+        UUID root = comment(null);
+        UUID reply = comment(root);
+        UUID nested = comment(reply);
+
+        assertThat(path(root)).isEqualTo(segment(root));
+        assertThat(path(reply)).isEqualTo(segment(root) + segment(reply));
+        assertThat(path(nested)).isEqualTo(segment(root) + segment(reply) + segment(nested));
+        assertThat(depth(root)).isZero();
+        assertThat(depth(reply)).isEqualTo(1);
+        assertThat(depth(nested)).isEqualTo(2);
+    }
+
+    @Test
+    void insert_MissingParent_Rejected() {
+        assertThatThrownBy(() -> comment(UUID.randomUUID()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    // ---- TEST: the depth limit is enforced before the insert, then by the constraint ----
+
+    @Test
+    void incrementReplies_ParentAtMaxDepth_MatchesNothing() {
+        UUID deepest = chain(Comment.MAX_DEPTH);
+        UUID parentOfDeepest = jdbc.queryForObject("SELECT parent_id FROM comments WHERE id = ?", UUID.class, deepest);
+
+        assertThat(depth(deepest)).isEqualTo(Comment.MAX_DEPTH);
+        assertThat(commentRepository.incrementReplies(parentOfDeepest, postId)).isEqualTo(1);
+        assertThat(commentRepository.incrementReplies(deepest, postId)).isZero();
+        assertThat(commentRepository.existsByIdAndIsDeletedFalseAndDepthGreaterThanEqual(deepest, Comment.MAX_DEPTH))
+                .isTrue();
+        assertThat(commentRepository.existsByIdAndIsDeletedFalseAndDepthGreaterThanEqual(parentOfDeepest, Comment.MAX_DEPTH))
+                .isFalse();
+    }
+
+    @Test
+    void insert_PastMaxDepth_RejectedByTheConstraint() {
+        UUID deepest = chain(Comment.MAX_DEPTH);
+
+        assertThatThrownBy(() -> comment(deepest))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    // ---- TEST: subtree statements cover the comment and its descendants, nothing else ----
+
+    @Test
+    void softDeleteSubtree_DeletesOnlyThatSubtree() {
+        UUID root = comment(null);
+        UUID kept = comment(root);
+        UUID doomed = comment(root);
+        UUID doomedReply = comment(doomed);
+        UUID doomedNested = comment(doomedReply);
+        UUID otherRoot = comment(null);
+
+        int deleted = commentRepository.softDeleteSubtree(doomed, Instant.now());
+
+        assertThat(deleted).isEqualTo(3);
+        assertThat(jdbc.queryForList("SELECT id FROM comments WHERE post_id = ? AND is_deleted ORDER BY id",
+                UUID.class, postId)).containsExactly(doomed, doomedReply, doomedNested);
+        assertThat(jdbc.queryForList("SELECT id FROM comments WHERE post_id = ? AND NOT is_deleted ORDER BY id",
+                UUID.class, postId)).containsExactly(root, kept, otherRoot);
+        assertThat(jdbc.queryForObject("SELECT comment_count FROM posts WHERE id = ?", Integer.class, postId))
+                .isEqualTo(3);
+        assertThat(commentRepository.softDeleteSubtree(doomed, Instant.now())).isZero();
+    }
+
+    @Test
+    void countAndFindDescendants_DepthFirstInCreationOrder() {
+        UUID root = comment(null);
+        UUID first = comment(root);
+        UUID second = comment(root);
+        UUID firstReply = comment(first);
+        comment(null);
+
+        assertThat(commentRepository.countDescendants(root)).isEqualTo(3);
+        assertThat(commentRepository.findDescendants(root, root, PageRequest.of(0, 10)).getContent())
+                .extracting(CommentView::getId)
+                .containsExactly(first, firstReply, second);
+        assertThat(commentRepository.findDescendants(root, firstReply, PageRequest.of(0, 10)).getContent())
+                .extracting(CommentView::getId)
+                .containsExactly(second);
+    }
+}
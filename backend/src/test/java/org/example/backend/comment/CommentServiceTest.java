@@ -0,0 +1,218 @@
+package org.example.backend.comment;
+
+import org.example.backend.moderation.ContentType;
+import org.example.backend.moderation.ModerationOutboxService;
+import org.example.backend.post.Post;
+import org.example.backend.post.PostActivityTracker;
+import org.example.backend.post.PostRepository;
+import org.example.backend.vote.VoteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CommentServiceTest {
+
+    private static final int[] FANOUT = {2, 1};
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private CommentThreadQuery threadQuery;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private ModerationOutboxService moderationOutboxService;
+
+    @Mock
+    private PostActivityTracker activityTracker;
+
+    @Mock
+    private VoteService voteService;
+
+    @InjectMocks
+    private CommentService commentService;
+
+    private final UUID postId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(commentService, "threadFanout", FANOUT);
+    }
+
+    private static CommentThreadNode row(UUID id, UUID parentId, int level, int score, int replies, boolean overflow) {
+        return CommentThreadNode.builder()
+                .id(id).parentId(parentId).level(level).score(score)
+                .numberOfReplies(replies).overflow(overflow).build();
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: flattened rows get parent indexes; overflow rows become tokens, not comments
+    // -------------------------------------------------------------------------
+    @Test
+    void getThread_BuildsParentIndexedArrayWithContinuations() {
+        UUID r1 = UUID.randomUUID(), c1 = UUID.randomUUID(), c2 = UUID.randomUUID(), c3 = UUID.randomUUID();
+        UUID g1 = UUID.randomUUID(), r2 = UUID.randomUUID(), r3 = UUID.randomUUID();
+        when(threadQuery.read(eq(postId), any(), eq(2), eq(2), eq(FANOUT))).thenReturn(List.of(
+                row(r1, null, 0, 9, 3, false),
+                row(c1, r1, 1, 5, 1, false),
+                row(g1, c1, 2, 1, 4, false),        // at the depth limit with replies below
+                row(c2, r1, 1, 4, 0, false),
+                row(c3, r1, 1, 3, 0, true),         // third reply past the cap of 2
+                row(r2, null, 0, 7, 0, false),
+                row(r3, null, 0, 6, 0, true)));     // third root past limit=2
+
+        CommentThreadResponse response = commentService.getThread(postId, "score", 2, 2, null, null);
+
+        List<CommentThreadNode> comments = response.getComments();
+        assertThat(comments).extracting(CommentThreadNode::getId).containsExactly(r1, c1, g1, c2, r2);
+        assertThat(comments).extracting(CommentThreadNode::getParentIndex).containsExactly(-1, 0, 1, 0, -1);
+
+        // r1's replies were capped: resume after c2, its last returned reply
+        assertThat(CommentThreadCursor.decode(comments.get(0).getMoreReplies()))
+                .isEqualTo(new CommentThreadCursor(r1, CommentSort.SCORE, 4, c2));
+        // g1 sits at the depth limit: its replies start from the beginning
+        assertThat(CommentThreadCursor.decode(comments.get(2).getMoreReplies()))
+                .isEqualTo(CommentThreadCursor.start(g1, CommentSort.SCORE));
+        assertThat(comments.get(1).getMoreReplies()).isNull();
+        assertThat(comments.get(4).getMoreReplies()).isNull();
+
+        assertThat(response.isHasNext()).isTrue();
+        assertThat(CommentThreadCursor.decode(response.getNextCursor()))
+                .isEqualTo(new CommentThreadCursor(null, CommentSort.SCORE, 7, r2));
+    }
+
+    @Test
+    void getThread_WithCursor_StartsFromThatSiblingList() {
+        UUID parent = UUID.randomUUID();
+        CommentThreadCursor cursor = CommentThreadCursor.start(parent, CommentSort.NEW);
+        when(threadQuery.read(postId, cursor, 20, 3, FANOUT)).thenReturn(List.of());
+
+        CommentThreadResponse response = commentService.getThread(postId, "new", 3, 20, cursor.encode(), null);
+
+        assertThat(response.getComments()).isEmpty();
+        assertThat(response.isHasNext()).isFalse();
+        assertThat(response.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getThread_WithVoter_EmbedsVotesFromOneLookup() {
+        UUID r1 = UUID.randomUUID(), c1 = UUID.randomUUID();
+        when(threadQuery.read(eq(postId), any(), eq(20), eq(3), eq(FANOUT))).thenReturn(List.of(
+                row(r1, null, 0, 2, 1, false),
+                row(c1, r1, 1, 1, 0, false)));
+        when(voteService.getCommentVoteStates(Set.of(r1, c1), 7L)).thenReturn(Map.of(c1, -1));
+
+        List<CommentThreadNode> comments = commentService.getThread(postId, "score", 3, 20, null, 7L).getComments();
+
+        assertThat(comments).extracting(CommentThreadNode::getMyVote).containsExactly(0, -1);
+        verify(voteService).getCommentVoteStates(any(), eq(7L));
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: out-of-range bounds and mismatched cursors are a 400
+    // -------------------------------------------------------------------------
+    @Test
+    void getThread_InvalidArguments_Rejected() {
+        String newCursor = CommentThreadCursor.start(null, CommentSort.NEW).encode();
+
+        assertThatThrownBy(() -> commentService.getThread(postId, "score", CommentService.MAX_THREAD_DEPTH + 1, 20, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> commentService.getThread(postId, "score", 3, 0, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> commentService.getThread(postId, "score", 3, 20, newCursor, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> commentService.getThread(postId, "score", 3, 20, "garbage!", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(threadQuery, never()).read(any(), any(), anyInt(), anyInt(), any());
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: replies are placed without loading the parent
+    // -------------------------------------------------------------------------
+    private AddCommentDTO reply(UUID parentId) {
+        return AddCommentDTO.builder().postId(postId).parentId(parentId).content("reply").build();
+    }
+
+    @Test
+    void addComment_Reply_BumpsParentAndSavesWithoutReadingIt() {
+        UUID parentId = UUID.randomUUID();
+        when(postRepository.findById(postId)).thenReturn(Optional.of(Post.builder().id(postId).isDeleted(false).build()));
+        when(commentRepository.incrementReplies(parentId, postId)).thenReturn(1);
+        when(commentRepository.save(any(Comment.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        Comment saved = commentService.addComment(7L, reply(parentId));
+
+        assertThat(saved.getParentId()).isEqualTo(parentId);
+        verify(commentRepository, never()).findById(any());
+        verify(activityTracker).record(postId);
+        verify(postRepository, never()).touchLastActivity(any(), any());
+        verify(moderationOutboxService).enqueue(eq(ContentType.COMMENT), any(), anyLong(), eq("reply"));
+    }
+
+    @Test
+    void addComment_MissingParent_RejectedBeforeInsert() {
+        UUID parentId = UUID.randomUUID();
+        when(postRepository.findById(postId)).thenReturn(Optional.of(Post.builder().id(postId).isDeleted(false).build()));
+        when(commentRepository.incrementReplies(parentId, postId)).thenReturn(0);
+
+        assertThatThrownBy(() -> commentService.addComment(7L, reply(parentId)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not found");
+        verify(commentRepository, never()).save(any());
+        verifyNoInteractions(moderationOutboxService);
+    }
+
+    @Test
+    void addComment_ParentAtMaxDepth_RejectedBeforeInsert() {
+        UUID parentId = UUID.randomUUID();
+        when(postRepository.findById(postId)).thenReturn(Optional.of(Post.builder().id(postId).isDeleted(false).build()));
+        when(commentRepository.incrementReplies(parentId, postId)).thenReturn(0);
+        when(commentRepository.existsByIdAndIsDeletedFalseAndDepthGreaterThanEqual(parentId, Comment.MAX_DEPTH))
+                .thenReturn(true);
+
+        assertThatThrownBy(() -> commentService.addComment(7L, reply(parentId)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Maximum reply depth reached");
+        verify(commentRepository, never()).save(any());
+        verifyNoInteractions(moderationOutboxService);
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: descendant pages start after the root, then after the last id returned
+    // -------------------------------------------------------------------------
+    @Test
+    void getDescendants_DefaultsCursorToTheRoot() {
+        UUID root = UUID.randomUUID(), last = UUID.randomUUID();
+
+        commentService.getDescendants(root, null, 50);
+        commentService.getDescendants(root, last, 50);
+
+        verify(commentRepository).findDescendants(root, root, PageRequest.of(0, 50));
+        verify(commentRepository).findDescendants(root, last, PageRequest.of(0, 50));
+        assertThatThrownBy(() -> commentService.getDescendants(root, null, CommentService.MAX_SUBTREE_PAGE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,156 @@
+package org.example.backend.comment;
+
+import org.example.backend.AbstractPostgresIntegrationTest;
+import org.example.backend.util.UuidV7;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.persistence.autoconfigure.EntityScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * The thread read's recursive CTE against the real schema: depth-first display order,
+ * per-level caps with one overflow row per truncated sibling list, the depth limit, and
+ * keyset continuation.
+ *
+ * <p>The tree (ids count up, so NEW order is newest first):
+ * <pre>
+ * r1 ── a1
+ *    ├─ a2
+ *    └─ a3 ── b1
+ *          └─ b2
+ * r2
+ * r3
+ * </pre>
+ */
+@DataJpaTest
+@EntityScan(basePackages = "org.example.backend")
+@EnableJpaRepositories(basePackages = "org.example.backend")
+class CommentThreadQueryTest extends AbstractPostgresIntegrationTest {
+
+    private static final int[] FANOUT = {2, 1};
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbc;
+    private CommentThreadQuery threadQuery;
+    private Long ownerId;
+    private UUID postId;
+
+    // Sibling order is id order, and UuidV7 only orders ids across milliseconds, so comment
+    // ids here count up under a random prefix instead.
+    private final long idPrefix = ThreadLocalRandom.current().nextLong() >>> 1;
+    private long idSequence;
+
+    private UUID r1, r2, r3, a1, a2, a3, b1, b2;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(dataSource);
+        threadQuery = new CommentThreadQuery(new NamedParameterJdbcTemplate(dataSource));
+        ownerId = jdbc.queryForObject("INSERT INTO users (email) VALUES (?) RETURNING user_id", Long.class,
+                "thread-" + UUID.randomUUID() + "@example.com");
+        UUID forumId = UuidV7.generate();
+        jdbc.update("INSERT INTO forums (id, owner_id, name, description, moderation_requested_at) " +
+                "VALUES (?, ?, 'thread', 'thread', now())", forumId, ownerId);
+        postId = UuidV7.generate();
+        jdbc.update("INSERT INTO posts (id, forum_id, owner_id, title, last_activity_at, moderation_requested_at) " +
+                "VALUES (?, ?, ?, 'post', now(), now())", postId, forumId, ownerId);
+
+        r1 = comment(null);
+        a1 = comment(r1);
+        a2 = comment(r1);
+        a3 = comment(r1);
+        b1 = comment(a3);
+        b2 = comment(a3);
+        r2 = comment(null);
+        r3 = comment(null);
+        // number_of_replies is maintained by CommentService, not a trigger
+        jdbc.update("UPDATE comments c SET number_of_replies = " +
+                "(SELECT count(*) FROM comments k WHERE k.parent_id = c.id) WHERE c.post_id = ?", postId);
+    }
+
+    private UUID comment(UUID parentId) {
+        UUID id = new UUID(idPrefix, ++idSequence);
+        jdbc.update("INSERT INTO comments (id, post_id, parent_id, owner_id, content, moderation_requested_at) " +
+                "VALUES (?, ?, ?, ?, 'text', now())", id, postId, parentId, ownerId);
+        return id;
+    }
+
+    private List<CommentThreadNode> read(CommentThreadCursor cursor, int rootLimit, int maxDepth) {
+        return threadQuery.read(postId, cursor, rootLimit, maxDepth, FANOUT);
+    }
+
+    // ---- TEST: rows come back depth-first, each sibling list capped with one overflow row ----
+
+    @Test
+    void read_New_DepthFirstWithPerLevelCaps() {
+        List<CommentThreadNode> rows = read(CommentThreadCursor.start(null, CommentSort.NEW), 3, 2);
+
+        assertThat(rows)
+                .extracting(CommentThreadNode::getId, CommentThreadNode::getLevel, CommentThreadNode::isOverflow)
+                .containsExactly(
+                        tuple(r3, 0, false),
+                        tuple(r2, 0, false),
+                        tuple(r1, 0, false),
+                        tuple(a3, 1, false),
+                        tuple(b2, 2, false),
+                        tuple(b1, 2, true),     // past the second-level cap of 1
+                        tuple(a2, 1, false),
+                        tuple(a1, 1, true));    // past the first-level cap of 2
+        assertThat(rows).extracting(CommentThreadNode::getDepth).containsExactly(0, 0, 0, 1, 2, 2, 1, 1);
+    }
+
+    @Test
+    void read_RootOverflow_IsNotDescendedInto() {
+        List<CommentThreadNode> rows = read(CommentThreadCursor.start(null, CommentSort.NEW), 2, 2);
+
+        assertThat(rows)
+                .extracting(CommentThreadNode::getId, CommentThreadNode::isOverflow)
+                .containsExactly(tuple(r3, false), tuple(r2, false), tuple(r1, true));
+    }
+
+    @Test
+    void read_MaxDepth_StopsDescending() {
+        List<CommentThreadNode> rows = read(CommentThreadCursor.start(null, CommentSort.NEW), 3, 1);
+
+        assertThat(rows).extracting(CommentThreadNode::getId).containsExactly(r3, r2, r1, a3, a2, a1);
+        assertThat(rows).extracting(CommentThreadNode::getLevel).allMatch(level -> level <= 1);
+    }
+
+    // ---- TEST: continuation resumes inside one sibling list, after the cursor's key ----
+
+    @Test
+    void read_AfterCursor_ResumesThatSiblingList() {
+        List<CommentThreadNode> first = read(CommentThreadCursor.start(r1, CommentSort.NEW), 1, 0);
+        assertThat(first).extracting(CommentThreadNode::getId).containsExactly(a3, a2);
+
+        List<CommentThreadNode> rest = read(CommentThreadCursor.after(r1, CommentSort.NEW, first.get(0)), 5, 0);
+
+        assertThat(rest).extracting(CommentThreadNode::getId).containsExactly(a2, a1);
+        assertThat(rest).extracting(CommentThreadNode::getLevel).containsOnly(0);
+    }
+
+    @Test
+    void read_Score_OrdersSiblingsByScoreThenNewest() {
+        jdbc.update("UPDATE comments SET upvote_count = 5 WHERE id = ?", r1);
+        jdbc.update("UPDATE comments SET downvote_count = 1 WHERE id = ?", r3);
+
+        List<CommentThreadNode> rows = read(CommentThreadCursor.start(null, CommentSort.SCORE), 3, 0);
+
+        assertThat(rows).extracting(CommentThreadNode::getId).containsExactly(r1, r2, r3);
+        assertThat(rows).extracting(CommentThreadNode::getScore).containsExactly(5, 0, -1);
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.backend.common.paging;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PagingTest {
+
+    private final Pageable pageable = PageRequest.of(2, 10);
+    private final List<String> fullPage = List.of("a", "b", "c", "d", "e", "f", "g", "h", "i", "j");
+
+    @Test
+    void fromParsesModesAndDefaultsToExact() {
+        assertEquals(Totals.NONE, Totals.from("none"));
+        assertEquals(Totals.ESTIMATE, Totals.from("Estimate"));
+        assertEquals(Totals.EXACT, Totals.from("exact"));
+        assertEquals(Totals.EXACT, Totals.from(null));
+        assertEquals(Totals.EXACT, Totals.from("bogus"));
+    }
+
+    @Test
+    void exactRunsOnlyTheCountedQuery() {
+        Page<String> page = new PageImpl<>(List.of("a"), pageable, 21);
+        AtomicInteger estimates = new AtomicInteger();
+
+        Slice<String> result = Paging.fetch(Totals.EXACT, pageable,
+                p -> page,
+                p -> fail("slice query must not run"),
+                estimates::incrementAndGet);
+
+        assertSame(page, result);
+        assertEquals(0, estimates.get());
+    }
+
+    @Test
+    void noneReturnsASliceWithoutTotals() {
+        Slice<String> slice = new SliceImpl<>(List.of("a"), pageable, true);
+
+        Slice<String> result = Paging.fetch(Totals.NONE, pageable,
+                p -> fail("count query must not run"),
+                p -> slice,
+                () -> fail("estimate must not run"));
+
+        assertSame(slice, result);
+        assertFalse(result instanceof Page);
+    }
+
+    @Test
+    void estimateUsesPlannerRowsWhenMorePagesFollow() {
+        Slice<String> slice = new SliceImpl<>(fullPage, pageable, true);
+
+        Page<?> result = (Page<?>) Paging.fetch(Totals.ESTIMATE, pageable,
+                p -> fail("count query must not run"), p -> slice, () -> 500);
+
+        assertEquals(500, result.getTotalElements());
+        assertEquals(50, result.getTotalPages());
+    }
+
+    @Test
+    void estimateNeverUndercountsWhatWasSeen() {
+        // stale statistics say 3 rows, but we're on page 2 and there is still a next row
+        Slice<String> slice = new SliceImpl<>(fullPage, pageable, true);
+
+        Page<?> result = (Page<?>) Paging.fetch(Totals.ESTIMATE, pageable,
+                p -> fail("count query must not run"), p -> slice, () -> 3);
+
+        assertEquals(31, result.getTotalElements());
+        assertTrue(result.hasNext());
+    }
+
+    @Test
+    void estimateOnTheLastPageIsExact() {
+        Slice<String> slice = new SliceImpl<>(List.of("a", "b"), pageable, false);
+
+        Page<?> result = (Page<?>) Paging.fetch(Totals.ESTIMATE, pageable,
+                p -> fail("count query must not run"), p -> slice, () -> 900);
+
+        assertEquals(22, result.getTotalElements());
+        assertFalse(result.hasNext());
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.backend.feed;
+
+import org.example.backend.post.Post;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExploreCursorTest {
+
+    private Post post(int score, Instant createdAt, Instant lastActivityAt) {
+        Post post = new Post();
+        post.setId(UUID.randomUUID());
+        post.setScore(score);
+        post.setCreatedAt(createdAt);
+        post.setLastActivityAt(lastActivityAt);
+        post.setHotRank(1234.5678);
+        return post;
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: encode → decode is lossless for every sort
+    // -------------------------------------------------------------------------
+    @Test
+    void encodeDecode_RoundTripsEverySort() {
+        Post last = post(-3, Instant.parse("2026-01-02T03:04:05.123456Z"),
+                Instant.parse("2026-01-03T00:00:00.000001Z"));
+
+        for (ExploreSort sort : ExploreSort.values()) {
+            ExploreCursor cursor = ExploreCursor.after(sort, last);
+            assertEquals(cursor, ExploreCursor.decode(cursor.encode()));
+        }
+    }
+
+    @Test
+    void after_UsesTheSortsOwnKey() {
+        Instant created = Instant.parse("2026-01-02T00:00:00Z");
+        Instant active = Instant.parse("2026-01-05T00:00:00Z");
+        Post last = post(7, created, active);
+
+        assertEquals(1234.5678, ExploreCursor.after(ExploreSort.HOT, last).rank());
+        assertNull(ExploreCursor.after(ExploreSort.HOT, last).score());
+        assertEquals(last.getId(), ExploreCursor.after(ExploreSort.NEW, last).id());
+        assertNull(ExploreCursor.after(ExploreSort.NEW, last).score());
+        assertNull(ExploreCursor.after(ExploreSort.NEW, last).rank());
+        assertEquals(7, ExploreCursor.after(ExploreSort.SCORE, last).score());
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: tokens are URL-safe (sent back as a query parameter)
+    // -------------------------------------------------------------------------
+    @Test
+    void encode_IsUrlSafe() {
+        String token = ExploreCursor.after(ExploreSort.SCORE, post(1, Instant.now(), Instant.now())).encode();
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: tampered / foreign tokens are a 400 (IllegalArgumentException), never a 500
+    // -------------------------------------------------------------------------
+    @Test
+    void decode_RejectsGarbage() {
+        assertThrows(IllegalArgumentException.class, () -> ExploreCursor.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> ExploreCursor.decode("Zm9vfGJhcg"));
+    }
+
+    @Test
+    void decode_RejectsScoreCursorWithoutScore() {
+        String raw = "SCORE|||" + UUID.randomUUID();
+        String token = java.util.Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes());
+        assertThrows(IllegalArgumentException.class, () -> ExploreCursor.decode(token));
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: tokens from the old created_at layout no longer decode (400, client restarts)
+    // -------------------------------------------------------------------------
+    @Test
+    void decode_RejectsPreviousTokenLayout() {
+        String raw = "NEW|||2026-01-01T00:00:00Z|" + UUID.randomUUID();
+        String token = java.util.Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes());
+        assertThrows(IllegalArgumentException.class, () -> ExploreCursor.decode(token));
+    }
+
+    @Test
+    void sortFrom_MatchesOffsetEndpointAliases() {
+        assertEquals(ExploreSort.SCORE, ExploreSort.from("top"));
+        assertEquals(ExploreSort.SCORE, ExploreSort.from("score"));
+        assertEquals(ExploreSort.SCORE, ExploreSort.from("whatever"));
+        assertEquals(ExploreSort.NEW, ExploreSort.from("NEW"));
+        assertEquals(ExploreSort.HOT, ExploreSort.from("hot"));
+    }
+}
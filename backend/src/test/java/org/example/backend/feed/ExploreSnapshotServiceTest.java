@@ -0,0 +1,107 @@
+package org.example.backend.feed;
+
+import org.example.backend.forum.ForumRepository;
+import org.example.backend.post.PostRepository;
+import org.example.backend.util.UuidV7;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExploreSnapshotServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-06-15T12:00:00Z");
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private ForumRepository forumRepository;
+
+    @Spy
+    private Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    @InjectMocks
+    private ExploreSnapshotService service;
+
+    private final UUID a = UUID.randomUUID();
+    private final UUID b = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "snapshotSize", 2);
+        lenient().when(postRepository.findExploreNewIds(any(), anyInt())).thenReturn(List.of());
+        lenient().when(postRepository.findExploreHotIds(any(), anyInt())).thenReturn(List.of());
+        lenient().when(forumRepository.findExploreFollowersIds(anyInt())).thenReturn(List.of());
+        lenient().when(forumRepository.findExplorePostsIds(anyInt())).thenReturn(List.of());
+        lenient().when(forumRepository.findExploreNewIds(anyInt())).thenReturn(List.of());
+    }
+
+    @Test
+    void refreshAll_BeforeFirstRefresh_NoSnapshot() {
+        assertThat(service.posts(ExploreSort.SCORE)).isNull();
+        assertThat(service.forums(ExploreForumSort.FOLLOWERS)).isNull();
+    }
+
+    @Test
+    void refreshAll_ReadsTopNFromSevenDayIdFloor() {
+        when(postRepository.countByIsDeletedFalseAndIdGreaterThanEqual(any())).thenReturn(5L);
+        when(postRepository.findExploreScoreIds(any(), anyInt())).thenReturn(List.of(a, b));
+
+        service.refreshAll();
+
+        verify(postRepository).findExploreScoreIds(UuidV7.lowerBound(NOW.minusSeconds(7L * 24 * 60 * 60)), 2);
+        ExploreSnapshot snapshot = service.posts(ExploreSort.SCORE);
+        assertThat(snapshot.ids()).containsExactly(a, b);
+        assertThat(snapshot.total()).isEqualTo(5L);
+        assertThat(snapshot.version()).isEqualTo(1L);
+        assertThat(snapshot.complete()).isFalse();
+        assertThat(snapshot.covers(0, 2)).isTrue();
+        assertThat(snapshot.covers(2, 2)).isFalse();
+    }
+
+    @Test
+    void refreshAll_UnchangedRanking_KeepsVersion() {
+        when(postRepository.countByIsDeletedFalseAndIdGreaterThanEqual(any())).thenReturn(2L);
+        when(postRepository.findExploreScoreIds(any(), anyInt())).thenReturn(List.of(a, b));
+
+        service.refreshAll();
+        service.refreshAll();
+
+        assertThat(service.posts(ExploreSort.SCORE).version()).isEqualTo(1L);
+    }
+
+    @Test
+    void refreshAll_ReorderedRanking_BumpsVersion() {
+        when(postRepository.countByIsDeletedFalseAndIdGreaterThanEqual(any())).thenReturn(2L);
+        when(postRepository.findExploreScoreIds(any(), anyInt()))
+                .thenReturn(List.of(a, b))
+                .thenReturn(List.of(b, a));
+
+        service.refreshAll();
+        service.refreshAll();
+
+        ExploreSnapshot snapshot = service.posts(ExploreSort.SCORE);
+        assertThat(snapshot.version()).isEqualTo(2L);
+        assertThat(snapshot.ids()).containsExactly(b, a);
+        // the whole ranked set fits, so even a page past the end is answerable
+        assertThat(snapshot.complete()).isTrue();
+        assertThat(snapshot.slice(4, 2)).isEmpty();
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.backend.feed;
+
+import org.example.backend.forum.ForumRepository;
+import org.example.backend.post.Post;
+import org.example.backend.post.PostRepository;
+import org.example.backend.post.PostView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FeedServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-06-15T12:00:00Z");
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private ForumRepository forumRepository;
+
+    @Mock
+    private ExploreSnapshotService snapshotService;
+
+    @Spy
+    private Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    @InjectMocks
+    private FeedService feedService;
+
+    private final UUID a = UUID.randomUUID();
+    private final UUID b = UUID.randomUUID();
+    private final UUID c = UUID.randomUUID();
+
+    private static PostView view(UUID id) {
+        PostView view = mock(PostView.class);
+        when(view.getId()).thenReturn(id);
+        return view;
+    }
+
+    @Test
+    void getExploreFeed_InsideSnapshot_ServedInSnapshotOrderWithoutLiveQuery() {
+        ExploreSnapshot snapshot = new ExploreSnapshot(3, NOW.minusSeconds(10), List.of(a, b, c), 3);
+        when(snapshotService.posts(ExploreSort.SCORE)).thenReturn(snapshot);
+        // b was deleted after the snapshot was taken — the view read skips it
+        List<PostView> survivors = List.of(view(a));
+        when(postRepository.findViewsByIdIn(List.of(a, b))).thenReturn(survivors);
+
+        PostPageResponse response = feedService.getExploreFeed(0, 2, "score");
+
+        assertThat(response.getPosts()).extracting(PostView::getId).containsExactly(a);
+        assertThat(response.getTotalElements()).isEqualTo(3);
+        assertThat(response.getTotalPages()).isEqualTo(2);
+        assertThat(response.isHasNext()).isTrue();
+        assertThat(response.getSnapshotVersion()).isEqualTo(3L);
+        assertThat(response.getSnapshotAgeMs()).isEqualTo(10_000L);
+        verify(postRepository, never()).findByIsDeletedFalseAndIdGreaterThanEqual(any(), any());
+    }
+
+    @Test
+    void getExploreFeedAfter_HydratesNamesInSeekOrder() {
+        Post first = Post.builder().id(b).score(5).createdAt(NOW).build();
+        Post second = Post.builder().id(a).score(4).createdAt(NOW).build();
+        when(postRepository.findExploreScoreFirst(any(), anyInt())).thenReturn(List.of(first, second));
+        List<PostView> views = List.of(view(a), view(b));
+        when(postRepository.findViewsByIdIn(anyList())).thenReturn(views);
+
+        PostCursorResponse response = feedService.getExploreFeedAfter(null, 5, "score");
+
+        assertThat(response.getPosts()).extracting(PostView::getId).containsExactly(b, a);
+        assertThat(response.isHasNext()).isFalse();
+        assertThat(response.getNextCursor()).isNull();
+    }
+}
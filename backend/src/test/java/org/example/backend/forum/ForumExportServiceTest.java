@@ -0,0 +1,163 @@
+package org.example.backend.forum;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.comment.CommentRepository;
+import org.example.backend.comment.CommentView;
+import org.example.backend.errorHandler.ResourceNotFoundException;
+import org.example.backend.post.PostRepository;
+import org.example.backend.post.PostView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ForumExportServiceTest {
+
+    @Mock
+    private ForumRepository forumRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ForumExportService exportService;
+
+    private final UUID forumId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        // Render each line as "type:id" so the test reads the interleaving directly.
+        lenient().when(objectMapper.writeValueAsBytes(any())).thenAnswer(inv -> {
+            ForumExportService.ExportLine line = inv.getArgument(0);
+            UUID id = line.data() instanceof PostView p ? p.getId() : ((CommentView) line.data()).getId();
+            return (line.type() + ":" + id).getBytes(StandardCharsets.UTF_8);
+        });
+    }
+
+    private static PostView post(UUID id) {
+        PostView post = mock(PostView.class);
+        lenient().when(post.getId()).thenReturn(id);
+        return post;
+    }
+
+    private static CommentView comment(UUID id, UUID postId) {
+        CommentView comment = mock(CommentView.class);
+        lenient().when(comment.getId()).thenReturn(id);
+        when(comment.getPostId()).thenReturn(postId);
+        return comment;
+    }
+
+    // Both cursors come back in uuid order, which Postgres compares unsigned.
+    private static UUID id(long high) {
+        return new UUID(high, 1L);
+    }
+
+    @Test
+    void writeTo_InterleavesEachPostWithItsComments() {
+        UUID p1 = id(1), p2 = id(2), p3 = id(-3); // -3 is the largest unsigned
+        UUID c1 = UUID.randomUUID(), c2 = UUID.randomUUID(), c3 = UUID.randomUUID();
+        List<PostView> posts = List.of(post(p1), post(p2), post(p3));
+        List<CommentView> comments = List.of(comment(c1, p1), comment(c2, p1), comment(c3, p3));
+        when(postRepository.streamForumExport(forumId)).thenReturn(posts.stream());
+        when(commentRepository.streamForumExport(forumId)).thenReturn(comments.stream());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeTo(forumId, out);
+
+        assertEquals(String.join("\n",
+                "post:" + p1, "comment:" + c1, "comment:" + c2,
+                "post:" + p2,
+                "post:" + p3, "comment:" + c3) + "\n",
+                out.toString(StandardCharsets.UTF_8));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void writeTo_CommentUnderMissingPost_SkippedWithoutStallingTheMerge() {
+        UUID p1 = id(1), gone = id(2), p3 = id(3);
+        UUID c1 = UUID.randomUUID(), orphan = UUID.randomUUID(), c3 = UUID.randomUUID();
+        List<PostView> posts = List.of(post(p1), post(p3));
+        List<CommentView> comments = List.of(comment(c1, p1), comment(orphan, gone), comment(c3, p3));
+        when(postRepository.streamForumExport(forumId)).thenReturn(posts.stream());
+        when(commentRepository.streamForumExport(forumId)).thenReturn(comments.stream());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeTo(forumId, out);
+
+        assertEquals(String.join("\n",
+                "post:" + p1, "comment:" + c1,
+                "post:" + p3, "comment:" + c3) + "\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writeTo_ReadsBothCursorsFromOneSnapshot() {
+        when(postRepository.streamForumExport(forumId)).thenReturn(Stream.empty());
+        when(commentRepository.streamForumExport(forumId)).thenReturn(Stream.empty());
+
+        exportService.writeTo(forumId, new ByteArrayOutputStream());
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertTrue(definition.getValue().isReadOnly());
+        assertEquals(TransactionDefinition.ISOLATION_REPEATABLE_READ, definition.getValue().getIsolationLevel());
+    }
+
+    @Test
+    void writeTo_EmptyForum_WritesNothing() {
+        when(postRepository.streamForumExport(forumId)).thenReturn(Stream.empty());
+        when(commentRepository.streamForumExport(forumId)).thenReturn(Stream.empty());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeTo(forumId, out);
+
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void exportForOwner_NotOwner_RejectedBeforeStreaming() {
+        Forum forum = Forum.builder().id(forumId).ownerId(1L).build();
+        when(forumRepository.findById(forumId)).thenReturn(Optional.of(forum));
+
+        assertThrows(AccessDeniedException.class, () -> exportService.exportForOwner(forumId, 2L));
+        verifyNoInteractions(postRepository, commentRepository);
+    }
+
+    @Test
+    void exportForOwner_DeletedForum_NotFound() {
+        Forum forum = Forum.builder().id(forumId).ownerId(1L).build();
+        forum.setIsDeleted(true);
+        when(forumRepository.findById(forumId)).thenReturn(Optional.of(forum));
+
+        assertThrows(ResourceNotFoundException.class, () -> exportService.exportForOwner(forumId, 1L));
+    }
+}
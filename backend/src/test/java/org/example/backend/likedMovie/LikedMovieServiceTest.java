@@ -1,5 +1,7 @@
 package org.example.backend.likedMovie;
 
+import org.example.backend.common.paging.RowEstimator;
+import org.example.backend.common.paging.Totals;
 import org.example.backend.movie.Movie;
 import org.example.backend.movie.MovieRepository;
 import org.example.backend.user.PrivateProfileException;
@@ -12,6 +14,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.Arrays;
@@ -33,7 +36,7 @@ class LikedMovieServiceTest {
         likedMovieRepository = mock(LikedMovieRepository.class);
         movieRepository = mock(MovieRepository.class);
         userRepository = mock(UserRepository.class);
-        likedMovieService = new LikedMovieService(likedMovieRepository, movieRepository, userRepository);
+        likedMovieService = new LikedMovieService(likedMovieRepository, movieRepository, userRepository, mock(RowEstimator.class));
     }
 
     // =============== Helper Methods ===============
@@ -287,7 +290,7 @@ class LikedMovieServiceTest {
         when(likedMovieRepository.findAllByUserIdAndIsDeletedFalse(userId, pageable))
                 .thenReturn(expectedPage);
 
-        Page<LikedMovieView> result = likedMovieService.getMyLikedMovies(userId, pageable);
+        Slice<LikedMovieView> result = likedMovieService.getMyLikedMovies(userId, pageable, Totals.EXACT);
 
         assertNotNull(result);
         assertEquals(2, result.getContent().size());
@@ -305,7 +308,7 @@ class LikedMovieServiceTest {
         when(likedMovieRepository.findAllByUserIdAndIsDeletedFalse(userId, pageable))
                 .thenReturn(emptyPage);
 
-        Page<LikedMovieView> result = likedMovieService.getMyLikedMovies(userId, pageable);
+        Slice<LikedMovieView> result = likedMovieService.getMyLikedMovies(userId, pageable, Totals.EXACT);
 
         assertNotNull(result);
         assertTrue(result.getContent().isEmpty());
@@ -322,7 +325,7 @@ class LikedMovieServiceTest {
         when(likedMovieRepository.findAllByUserIdAndIsDeletedFalse(userId, pageable))
                 .thenReturn(expectedPage);
 
-        Page<LikedMovieView> result = likedMovieService.getMyLikedMovies(userId, pageable);
+        Slice<LikedMovieView> result = likedMovieService.getMyLikedMovies(userId, pageable, Totals.EXACT);
 
         assertNotNull(result);
         verify(likedMovieRepository).findAllByUserIdAndIsDeletedFalse(userId, pageable);
@@ -343,7 +346,7 @@ class LikedMovieServiceTest {
         when(likedMovieRepository.findAllByUserIdAndIsDeletedFalse(userId, pageable))
                 .thenReturn(expectedPage);
 
-        Page<LikedMovieView> result = likedMovieService.getOtherUserLikedMovies(userId, pageable);
+        Slice<LikedMovieView> result = likedMovieService.getOtherUserLikedMovies(userId, pageable, Totals.EXACT);
 
         assertNotNull(result);
         assertEquals(1, result.getContent().size());
@@ -361,7 +364,7 @@ class LikedMovieServiceTest {
         when(userRepository.findById(userId)).thenReturn(Optional.of(privateUser));
 
         PrivateProfileException exception = assertThrows(PrivateProfileException.class,
-                () -> likedMovieService.getOtherUserLikedMovies(userId, pageable));
+                () -> likedMovieService.getOtherUserLikedMovies(userId, pageable, Totals.EXACT));
 
         assertEquals("this profile is private", exception.getMessage());
         verify(userRepository).findById(userId);
@@ -376,7 +379,7 @@ class LikedMovieServiceTest {
         when(userRepository.findById(userId)).thenReturn(Optional.empty());
 
         RuntimeException exception = assertThrows(RuntimeException.class,
-                () -> likedMovieService.getOtherUserLikedMovies(userId, pageable));
+                () -> likedMovieService.getOtherUserLikedMovies(userId, pageable, Totals.EXACT));
 
         assertEquals("User not found", exception.getMessage());
         verify(userRepository).findById(userId);
@@ -395,7 +398,7 @@ class LikedMovieServiceTest {
         when(likedMovieRepository.findAllByUserIdAndIsDeletedFalse(userId, pageable))
                 .thenReturn(emptyPage);
 
-        Page<LikedMovieView> result = likedMovieService.getOtherUserLikedMovies(userId, pageable);
+        Slice<LikedMovieView> result = likedMovieService.getOtherUserLikedMovies(userId, pageable, Totals.EXACT);
 
         assertNotNull(result);
         assertTrue(result.getContent().isEmpty());
@@ -411,7 +414,7 @@ class LikedMovieServiceTest {
         when(userRepository.findById(userId)).thenReturn(Optional.of(privateUser));
 
         assertThrows(PrivateProfileException.class,
-                () -> likedMovieService.getOtherUserLikedMovies(userId, pageable));
+                () -> likedMovieService.getOtherUserLikedMovies(userId, pageable, Totals.EXACT));
 
         // Verify the user was fetched and checked
         ArgumentCaptor<Long> userIdCaptor = ArgumentCaptor.forClass(Long.class);
@@ -593,18 +596,18 @@ class LikedMovieServiceTest {
         when(likedMovieRepository.findAllByUserIdAndIsDeletedFalse(anyLong(), any(Pageable.class)))
                 .thenReturn(page);
 
-        Page<LikedMovieView> myLikes = likedMovieService.getMyLikedMovies(publicUserId, pageable);
+        Slice<LikedMovieView> myLikes = likedMovieService.getMyLikedMovies(publicUserId, pageable, Totals.EXACT);
         assertNotNull(myLikes);
         verifyNoInteractions(userRepository);
 
         // Other user's liked movies - public profile allowed
         when(userRepository.findById(publicUserId)).thenReturn(Optional.of(publicUser));
-        Page<LikedMovieView> publicLikes = likedMovieService.getOtherUserLikedMovies(publicUserId, pageable);
+        Slice<LikedMovieView> publicLikes = likedMovieService.getOtherUserLikedMovies(publicUserId, pageable, Totals.EXACT);
         assertNotNull(publicLikes);
 
         // Other user's liked movies - private profile blocked
         when(userRepository.findById(privateUserId)).thenReturn(Optional.of(privateUser));
         assertThrows(PrivateProfileException.class,
-                () -> likedMovieService.getOtherUserLikedMovies(privateUserId, pageable));
+                () -> likedMovieService.getOtherUserLikedMovies(privateUserId, pageable, Totals.EXACT));
     }
 }
\ No newline at end of file
@@ -0,0 +1,138 @@
+package org.example.backend.moderation;
+
+import org.example.backend.AbstractPostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.persistence.autoconfigure.EntityScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The outbox claim against the real schema: oldest-first leases, lease expiry, SKIP LOCKED,
+ * and the rule that keeps one content item's versions in one claim. Not wrapped in a test
+ * transaction: the claim commits on its own, and the locking test needs a second connection
+ * to see the rows. Each test starts from an empty outbox and leaves one behind.
+ */
+@DataJpaTest
+@EntityScan(basePackages = "org.example.backend")
+@EnableJpaRepositories(basePackages = "org.example.backend")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ModerationOutboxRepositoryTest extends AbstractPostgresIntegrationTest {
+
+    private static final long LEASE_SECONDS = 30;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ModerationOutboxRepository outboxRepository;
+
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("DELETE FROM moderation_outbox");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.update("DELETE FROM moderation_outbox");
+    }
+
+    private long enqueue(UUID contentId, long version) {
+        return jdbc.queryForObject("INSERT INTO moderation_outbox (content_type, content_id, content_version, text) " +
+                "VALUES ('POST', ?, ?, 'text') RETURNING id", Long.class, contentId, version);
+    }
+
+    private static List<Long> ids(List<ModerationOutboxEntry> entries) {
+        return entries.stream().map(ModerationOutboxEntry::getId).toList();
+    }
+
+    // ---- TEST: claims are oldest-first and leased, so a second claim takes what's left ----
+
+    @Test
+    void claim_OldestFirst_LeasedEntriesNotClaimedTwice() {
+        long first = enqueue(UUID.randomUUID(), 1);
+        long second = enqueue(UUID.randomUUID(), 1);
+        long third = enqueue(UUID.randomUUID(), 1);
+
+        assertThat(ids(outboxRepository.claim("a", 2, LEASE_SECONDS))).containsExactly(first, second);
+        assertThat(ids(outboxRepository.claim("b", 10, LEASE_SECONDS))).containsExactly(third);
+        assertThat(outboxRepository.claim("c", 10, LEASE_SECONDS)).isEmpty();
+        assertThat(jdbc.queryForObject("SELECT claimed_by FROM moderation_outbox WHERE id = ?", String.class, first))
+                .isEqualTo("a");
+    }
+
+    @Test
+    void claim_ExpiredLease_ClaimableAgain() {
+        long id = enqueue(UUID.randomUUID(), 1);
+        outboxRepository.claim("a", 10, LEASE_SECONDS);
+        jdbc.update("UPDATE moderation_outbox SET claimed_until = now() - interval '1 second' WHERE id = ?", id);
+
+        assertThat(ids(outboxRepository.claim("b", 10, LEASE_SECONDS))).containsExactly(id);
+        assertThat(jdbc.queryForObject("SELECT claimed_by FROM moderation_outbox WHERE id = ?", String.class, id))
+                .isEqualTo("b");
+    }
+
+    @Test
+    void release_OnlyTheOwnersClaims() {
+        long id = enqueue(UUID.randomUUID(), 1);
+        outboxRepository.claim("a", 10, LEASE_SECONDS);
+
+        assertThat(outboxRepository.release(List.of(id), "b")).isZero();
+        assertThat(outboxRepository.release(List.of(id), "a")).isEqualTo(1);
+        assertThat(ids(outboxRepository.claim("b", 10, LEASE_SECONDS))).containsExactly(id);
+    }
+
+    // ---- TEST: a content item's later versions never go to a different claim ----
+
+    @Test
+    void claim_LaterVersionWaitsForTheEarlierOnesClaim() {
+        UUID content = UUID.randomUUID();
+        long v1 = enqueue(content, 1);
+        long v2 = enqueue(content, 2);
+        long other = enqueue(UUID.randomUUID(), 1);
+
+        assertThat(ids(outboxRepository.claim("a", 1, LEASE_SECONDS))).containsExactly(v1);
+        // v2 is a candidate for "b", but v1 is held by "a" outside b's batch
+        assertThat(ids(outboxRepository.claim("b", 10, LEASE_SECONDS))).containsExactly(other);
+
+        outboxRepository.deleteByIdIn(List.of(v1));
+        assertThat(ids(outboxRepository.claim("b", 10, LEASE_SECONDS))).containsExactly(v2);
+    }
+
+    @Test
+    void claim_SkipsRowsLockedByAnotherTransaction() throws Exception {
+        UUID content = UUID.randomUUID();
+        long locked = enqueue(content, 1);
+        long heldBack = enqueue(content, 2);
+        long free = enqueue(UUID.randomUUID(), 1);
+
+        try (Connection other = dataSource.getConnection()) {
+            other.setAutoCommit(false);
+            try (Statement lock = other.createStatement()) {
+                lock.execute("SELECT id FROM moderation_outbox WHERE id = " + locked + " FOR UPDATE");
+            }
+
+            // No wait on the lock; the locked row's later version stays behind it.
+            assertThat(ids(outboxRepository.claim("a", 10, LEASE_SECONDS))).containsExactly(free);
+            other.rollback();
+        }
+
+        assertThat(ids(outboxRepository.claim("b", 10, LEASE_SECONDS))).containsExactly(locked, heldBack);
+    }
+}
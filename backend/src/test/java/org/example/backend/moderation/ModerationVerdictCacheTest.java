@@ -0,0 +1,89 @@
+package org.example.backend.moderation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ModerationVerdictCacheTest {
+
+    private ModerationVerdictCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ModerationVerdictCache();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "modelVersion", "rev-1");
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+    }
+
+    private static ModerationOutboxEntry entry(String text) {
+        return ModerationOutboxEntry.builder()
+                .id(1L).contentType("COMMENT").contentId(UUID.randomUUID()).contentVersion(7L).text(text).build();
+    }
+
+    private static ModerationVerdictMessage verdict(String key, boolean flagged) {
+        return new ModerationVerdictMessage("POST", UUID.randomUUID().toString(), 1L, flagged,
+                Map.of("toxic", flagged ? 0.9 : 0.1), key);
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: the key ignores case and whitespace, but not wording or the model version
+    // -------------------------------------------------------------------------
+    @Test
+    void keyOf_NormalizesTextAndIncludesModelVersion() {
+        String key = cache.keyOf("Great movie!");
+
+        assertThat(cache.keyOf("  great \n MOVIE!\t")).isEqualTo(key);
+        assertThat(cache.keyOf("Great movie?")).isNotEqualTo(key);
+        ReflectionTestUtils.setField(cache, "modelVersion", "rev-2");
+        assertThat(cache.keyOf("Great movie!")).isNotEqualTo(key);
+        ReflectionTestUtils.setField(cache, "enabled", false);
+        assertThat(cache.keyOf("Great movie!")).isNull();
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: a hit is readdressed to the entry's content and version
+    // -------------------------------------------------------------------------
+    @Test
+    void verdictFor_HitCarriesTheEntrysIdentity() {
+        String key = cache.keyOf("great movie!");
+        cache.put(verdict(key, true));
+        ModerationOutboxEntry entry = entry("Great movie!");
+
+        ModerationVerdictMessage hit = cache.verdictFor(entry, key);
+
+        assertThat(hit.contentType()).isEqualTo("COMMENT");
+        assertThat(hit.contentId()).isEqualTo(entry.getContentId().toString());
+        assertThat(hit.version()).isEqualTo(7L);
+        assertThat(hit.flagged()).isTrue();
+        assertThat(hit.scores()).containsEntry("toxic", 0.9);
+        assertThat(cache.verdictFor(entry, cache.keyOf("other"))).isNull();
+        assertThat(cache.verdictFor(entry, null)).isNull();
+        assertThat(cache.stats()).isEqualTo(new ModerationVerdictCache.Stats(1, 1, 0, 1));
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: least recently used entries go first past max-entries, and are counted
+    // -------------------------------------------------------------------------
+    @Test
+    void put_EvictsLeastRecentlyUsed() {
+        cache.put(verdict("a", false));
+        cache.put(verdict("b", false));
+        cache.verdictFor(entry("x"), "a");      // a is now the most recent
+        cache.put(verdict("c", false));
+        cache.put(verdict(null, true));         // no key: nothing to file
+
+        assertThat(cache.verdictFor(entry("x"), "b")).isNull();
+        assertThat(cache.verdictFor(entry("x"), "a")).isNotNull();
+        assertThat(cache.verdictFor(entry("x"), "c")).isNotNull();
+        ModerationVerdictCache.Stats stats = cache.stats();
+        assertThat(stats.evictions()).isEqualTo(1);
+        assertThat(stats.size()).isEqualTo(2);
+        assertThat(stats.hitRate()).isEqualTo(0.75);
+    }
+}
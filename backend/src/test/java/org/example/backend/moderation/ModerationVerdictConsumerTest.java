@@ -10,11 +10,17 @@ import org.example.backend.forum.ForumService;
 import org.example.backend.post.Post;
 import org.example.backend.post.PostRepository;
 import org.example.backend.post.PostService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,10 +28,10 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 /**
- * Covers the verdict-application business logic, plus the precondition MOD-02's DLQ
- * relies on: an unexpected failure must propagate out of {@code onVerdict} rather than
- * being swallowed, so the container's error handler actually gets a chance to retry and
- * dead-letter it (see {@link ModerationKafkaConfig}).
+ * Covers the verdict-application business logic through the batch listener, plus the
+ * precondition MOD-02's DLQ relies on: an unexpected failure must propagate out of
+ * {@code onVerdicts} rather than being swallowed, so the container's error handler actually
+ * gets a chance to retry and dead-letter it (see {@link ModerationKafkaConfig}).
  */
 @ExtendWith(MockitoExtension.class)
 class ModerationVerdictConsumerTest {
@@ -42,6 +48,10 @@ class ModerationVerdictConsumerTest {
     private CommentService commentService;
     @Mock
     private ForumService forumService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ModerationVerdictCache verdictCache;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -49,7 +59,7 @@ class ModerationVerdictConsumerTest {
 
     private ModerationVerdictConsumer newConsumer() {
         return new ModerationVerdictConsumer(postRepository, commentRepository, forumRepository,
-                postService, commentService, forumService, objectMapper);
+                postService, commentService, forumService, objectMapper, transactionManager, verdictCache);
     }
 
     private String payload(String contentType, UUID contentId, long version, boolean flagged) {
@@ -58,6 +68,19 @@ class ModerationVerdictConsumerTest {
                 """.formatted(contentType, contentId, version, flagged);
     }
 
+    private static ConsumerRecord<String, String> record(long offset, String payload) {
+        return new ConsumerRecord<>("moderation.verdicts", 0, offset, "key", payload);
+    }
+
+    /** Delivers the payloads as one poll, the way the listener container does. */
+    private void consume(String... payloads) {
+        List<ConsumerRecord<String, String>> records = new ArrayList<>();
+        for (String payload : payloads) {
+            records.add(record(records.size(), payload));
+        }
+        consumer.onVerdicts(records);
+    }
+
     // -----------------------------------------------------
     // Malformed input — logged and dropped, never thrown (would wedge the partition forever).
     // -----------------------------------------------------
@@ -65,7 +88,7 @@ class ModerationVerdictConsumerTest {
     @Test
     void unparseableJson_isSkippedSilently() {
         consumer = newConsumer();
-        assertDoesNotThrow(() -> consumer.onVerdict("not json"));
+        assertDoesNotThrow(() -> consume("not json"));
         verifyNoInteractions(postRepository, commentRepository, forumRepository);
     }
 
@@ -73,7 +96,7 @@ class ModerationVerdictConsumerTest {
     void missingRequiredField_isSkippedSilently() {
         consumer = newConsumer();
         String payload = "{\"contentType\":\"POST\",\"contentId\":\"" + UUID.randomUUID() + "\"}"; // no version/flagged
-        assertDoesNotThrow(() -> consumer.onVerdict(payload));
+        assertDoesNotThrow(() -> consume(payload));
         verifyNoInteractions(postRepository, commentRepository, forumRepository);
     }
 
@@ -81,7 +104,7 @@ class ModerationVerdictConsumerTest {
     void invalidContentTypeOrId_isSkippedSilently() {
         consumer = newConsumer();
         String payload = payload("NOT_A_TYPE", UUID.randomUUID(), 1, true);
-        assertDoesNotThrow(() -> consumer.onVerdict(payload));
+        assertDoesNotThrow(() -> consume(payload));
         verifyNoInteractions(postRepository, commentRepository, forumRepository);
     }
 
@@ -94,12 +117,43 @@ class ModerationVerdictConsumerTest {
         consumer = newConsumer();
         UUID postId = UUID.randomUUID();
 
-        consumer.onVerdict(payload("POST", postId, 2, false));
+        consume(payload("POST", postId, 2, false));
 
-        verify(postRepository).approveModeration(postId, 2L);
+        verify(postRepository).approveModerationBatch(new UUID[]{postId}, new Long[]{2L});
         verifyNoInteractions(postService);
     }
 
+    // -----------------------------------------------------
+    // Verdict cache — valid verdicts are filed under their key; cache hits apply directly.
+    // -----------------------------------------------------
+
+    @Test
+    void validVerdict_isFiledInTheCache_malformedIsNot() {
+        consumer = newConsumer();
+        UUID postId = UUID.randomUUID();
+
+        consume("""
+                {"contentType":"POST","contentId":"%s","version":2,"flagged":false,"cacheKey":"abc"}
+                """.formatted(postId));
+        consume("{\"contentType\":\"POST\",\"cacheKey\":\"abc\"}");
+
+        ArgumentCaptor<ModerationVerdictMessage> filed = ArgumentCaptor.forClass(ModerationVerdictMessage.class);
+        verify(verdictCache).put(filed.capture());
+        assertEquals("abc", filed.getValue().cacheKey());
+        assertEquals(2L, filed.getValue().version());
+    }
+
+    @Test
+    void cachedVerdict_isAppliedWithoutTouchingTheCache() {
+        consumer = newConsumer();
+        UUID postId = UUID.randomUUID();
+
+        consumer.apply(new ModerationVerdictMessage("POST", postId.toString(), 5L, false, null, "abc"));
+
+        verify(postRepository).approveModeration(postId, 5L);
+        verifyNoInteractions(verdictCache);
+    }
+
     // -----------------------------------------------------
     // Flagged verdict — removes live content, idempotent no-op otherwise.
     // -----------------------------------------------------
@@ -111,7 +165,7 @@ class ModerationVerdictConsumerTest {
         Post post = Post.builder().id(postId).isDeleted(false).moderationVersion(3).build();
         when(postRepository.findById(postId)).thenReturn(java.util.Optional.of(post));
 
-        consumer.onVerdict(payload("POST", postId, 3, true));
+        consume(payload("POST", postId, 3, true));
 
         verify(postRepository).markModerationRemoved(postId);
         verify(postService).systemDeletePost(post);
@@ -124,7 +178,7 @@ class ModerationVerdictConsumerTest {
         Post post = Post.builder().id(postId).isDeleted(true).moderationVersion(3).build();
         when(postRepository.findById(postId)).thenReturn(java.util.Optional.of(post));
 
-        consumer.onVerdict(payload("POST", postId, 3, true));
+        consume(payload("POST", postId, 3, true));
 
         verify(postRepository, never()).markModerationRemoved(any());
         verifyNoInteractions(postService);
@@ -137,7 +191,7 @@ class ModerationVerdictConsumerTest {
         Post post = Post.builder().id(postId).isDeleted(false).moderationVersion(5).build();
         when(postRepository.findById(postId)).thenReturn(java.util.Optional.of(post));
 
-        consumer.onVerdict(payload("POST", postId, 3, true)); // verdict for an older version
+        consume(payload("POST", postId, 3, true)); // verdict for an older version
 
         verify(postRepository, never()).markModerationRemoved(any());
         verifyNoInteractions(postService);
@@ -149,26 +203,28 @@ class ModerationVerdictConsumerTest {
         UUID postId = UUID.randomUUID();
         when(postRepository.findById(postId)).thenReturn(java.util.Optional.empty());
 
-        consumer.onVerdict(payload("POST", postId, 1, true));
+        consume(payload("POST", postId, 1, true));
 
         verify(postRepository, never()).markModerationRemoved(any());
         verifyNoInteractions(postService);
     }
 
     // -----------------------------------------------------
-    // MOD-02 precondition: a real failure must escape onVerdict, not be caught.
+    // MOD-02 precondition: a real failure must escape onVerdicts, not be caught.
     // -----------------------------------------------------
 
     @Test
     void repositoryFailureOnCleanVerdict_propagatesOutOfListener() {
         consumer = newConsumer();
         UUID postId = UUID.randomUUID();
+        when(postRepository.approveModerationBatch(any(), any()))
+                .thenThrow(new RuntimeException("datastore blip"));
         doThrow(new RuntimeException("datastore blip"))
                 .when(postRepository).approveModeration(eq(postId), anyLong());
 
-        RuntimeException ex = assertThrows(RuntimeException.class,
-                () -> consumer.onVerdict(payload("POST", postId, 1, false)));
-        assertEquals("datastore blip", ex.getMessage());
+        BatchListenerFailedException ex = assertThrows(BatchListenerFailedException.class,
+                () -> consume(payload("POST", postId, 1, false)));
+        assertEquals("datastore blip", ex.getCause().getMessage());
     }
 
     @Test
@@ -178,8 +234,9 @@ class ModerationVerdictConsumerTest {
         when(postRepository.findById(postId))
                 .thenThrow(new RuntimeException("datastore blip"));
 
-        assertThrows(RuntimeException.class,
-                () -> consumer.onVerdict(payload("POST", postId, 1, true)));
+        BatchListenerFailedException ex = assertThrows(BatchListenerFailedException.class,
+                () -> consume(payload("POST", postId, 1, true)));
+        assertEquals("datastore blip", ex.getCause().getMessage());
     }
 
     // -----------------------------------------------------
@@ -193,7 +250,7 @@ class ModerationVerdictConsumerTest {
         Comment comment = Comment.builder().id(commentId).isDeleted(false).moderationVersion(1).build();
         when(commentRepository.findById(commentId)).thenReturn(java.util.Optional.of(comment));
 
-        consumer.onVerdict(payload("COMMENT", commentId, 1, true));
+        consume(payload("COMMENT", commentId, 1, true));
 
         verify(commentRepository).markModerationRemoved(commentId);
         verify(commentService).systemDeleteComment(comment);
@@ -206,9 +263,75 @@ class ModerationVerdictConsumerTest {
         Forum forum = Forum.builder().id(forumId).isDeleted(false).moderationVersion(1).build();
         when(forumRepository.findById(forumId)).thenReturn(java.util.Optional.of(forum));
 
-        consumer.onVerdict(payload("FORUM", forumId, 1, true));
+        consume(payload("FORUM", forumId, 1, true));
 
         verify(forumRepository).markModerationRemoved(forumId);
         verify(forumService).systemDeleteForum(forumId);
     }
+
+    // -----------------------------------------------------
+    // Batch listener — clean verdicts in one UPDATE per type, flagged ones per item.
+    // -----------------------------------------------------
+
+    @Test
+    void batch_cleanVerdictsApprovedInOneStatementPerType() {
+        consumer = newConsumer();
+        UUID post1 = UUID.randomUUID(), post2 = UUID.randomUUID(), comment = UUID.randomUUID();
+        UUID flagged = UUID.randomUUID();
+        Post flaggedPost = Post.builder().id(flagged).isDeleted(false).moderationVersion(4).build();
+        when(postRepository.findById(flagged)).thenReturn(java.util.Optional.of(flaggedPost));
+
+        consumer.onVerdicts(List.of(
+                record(0, payload("POST", post1, 1, false)),
+                record(1, "not json"),
+                record(2, payload("COMMENT", comment, 2, false)),
+                record(3, payload("POST", flagged, 4, true)),
+                record(4, payload("POST", post2, 3, false))));
+
+        ArgumentCaptor<UUID[]> ids = ArgumentCaptor.forClass(UUID[].class);
+        ArgumentCaptor<Long[]> versions = ArgumentCaptor.forClass(Long[].class);
+        verify(postRepository).approveModerationBatch(ids.capture(), versions.capture());
+        assertArrayEquals(new UUID[]{post1, post2}, ids.getValue());
+        assertArrayEquals(new Long[]{1L, 3L}, versions.getValue());
+        verify(commentRepository).approveModerationBatch(new UUID[]{comment}, new Long[]{2L});
+        verify(postRepository, never()).approveModeration(any(), anyLong());
+        verifyNoInteractions(forumRepository);
+
+        verify(postRepository).markModerationRemoved(flagged);
+        verify(postService).systemDeletePost(flaggedPost);
+    }
+
+    @Test
+    void batch_bulkApprovalFails_fallsBackPerItemAndNamesTheFailingRecord() {
+        consumer = newConsumer();
+        UUID good = UUID.randomUUID(), bad = UUID.randomUUID(), after = UUID.randomUUID();
+        when(postRepository.approveModerationBatch(any(), any()))
+                .thenThrow(new RuntimeException("datastore blip"));
+        when(postRepository.approveModeration(good, 1L)).thenReturn(1);
+        when(postRepository.approveModeration(bad, 1L)).thenThrow(new RuntimeException("datastore blip"));
+        ConsumerRecord<String, String> badRecord = record(1, payload("POST", bad, 1, false));
+
+        BatchListenerFailedException ex = assertThrows(BatchListenerFailedException.class,
+                () -> consumer.onVerdicts(List.of(
+                        record(0, payload("POST", good, 1, false)),
+                        badRecord,
+                        record(2, payload("POST", after, 1, false)))));
+
+        assertSame(badRecord, ex.getRecord());
+        verify(postRepository, never()).approveModeration(eq(after), anyLong());
+    }
+
+    @Test
+    void batch_failingFlaggedVerdict_namesItsRecord() {
+        consumer = newConsumer();
+        UUID postId = UUID.randomUUID();
+        when(postRepository.findById(postId)).thenThrow(new RuntimeException("datastore blip"));
+        ConsumerRecord<String, String> flagged = record(7, payload("POST", postId, 1, true));
+
+        BatchListenerFailedException ex = assertThrows(BatchListenerFailedException.class,
+                () -> consumer.onVerdicts(List.of(flagged)));
+
+        assertSame(flagged, ex.getRecord());
+        verify(postRepository, never()).approveModerationBatch(any(), any());
+    }
 }
@@ -13,6 +13,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.kafka.test.EmbeddedKafkaBroker;
 import org.springframework.kafka.test.context.EmbeddedKafka;
 import org.springframework.kafka.test.utils.KafkaTestUtils;
@@ -20,6 +21,7 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -40,7 +42,6 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
         "spring.kafka.consumer.group-id=mod02-dlq-test",
         "spring.kafka.consumer.auto-offset-reset=earliest",
         "spring.kafka.consumer.enable-auto-commit=false",
-        "spring.kafka.listener.ack-mode=record",
         "moderation.topics.requests=moderation.requests",
         "moderation.topics.verdicts=moderation.verdicts",
         "moderation.topics.dlq=moderation.requests.dlq",
@@ -91,10 +92,14 @@ class ModerationVerdictDlqIntegrationTest {
     static class PoisonListener {
         final AtomicInteger attempts = new AtomicInteger();
 
+        // Fails the way ModerationVerdictConsumer.onVerdicts does: naming the record, so the
+        // batch error handler retries and dead-letters that record alone.
         @KafkaListener(topics = "${moderation.topics.verdicts}", containerFactory = "moderationVerdictListenerContainerFactory")
-        void onMessage(String payload) {
+        void onMessages(List<ConsumerRecord<String, String>> records) {
             attempts.incrementAndGet();
-            throw new RuntimeException("always fails: " + payload);
+            ConsumerRecord<String, String> record = records.get(0);
+            throw new BatchListenerFailedException("always fails: " + record.value(),
+                    new RuntimeException("datastore blip"), record);
         }
     }
 }
@@ -0,0 +1,149 @@
+package org.example.backend.moderation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.replication.LogSequenceNumber;
+import org.postgresql.replication.PGReplicationStream;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxCdcRelayTest {
+
+    private static final String TOPIC = "moderation.requests";
+
+    @Mock
+    private OutboxRelay outboxRelay;
+
+    @Mock
+    private ModerationOutboxRepository outboxRepository;
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Mock
+    private ModerationVerdictCache verdictCache;
+
+    @Mock
+    private ModerationVerdictConsumer verdictConsumer;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private OutboxCdcRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(relay, "requestsTopic", TOPIC);
+    }
+
+    private static PgOutputDecoder.Insert insert(long id) {
+        return new PgOutputDecoder.Insert(ModerationOutboxEntry.builder()
+                .id(id).contentType("POST").contentId(UUID.randomUUID()).contentVersion(1)
+                .text("text").build());
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: LSNs are confirmed only for the fully acked prefix of transactions
+    // -------------------------------------------------------------------------
+    @Test
+    void confirmAcked_StopsAtTheFirstTransactionStillInFlight() {
+        CompletableFuture<SendResult<String, String>> first = new CompletableFuture<>();
+        CompletableFuture<SendResult<String, String>> second = new CompletableFuture<>();
+        CompletableFuture<SendResult<String, String>> third = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), anyString())).thenReturn(first, second, third);
+
+        relay.accept(insert(1));
+        relay.accept(insert(2));
+        relay.accept(new PgOutputDecoder.Commit(100));
+        relay.accept(null);                             // relation: nothing to do
+        relay.accept(new PgOutputDecoder.Commit(150));  // a transaction with no outbox rows
+        relay.accept(insert(3));
+        relay.accept(new PgOutputDecoder.Commit(200));
+
+        third.complete(null);
+        first.complete(null);
+        assertThat(relay.confirmAcked()).isEqualTo(-1);   // 2 is still out, so 3 waits too
+
+        second.complete(null);
+        assertThat(relay.confirmAcked()).isEqualTo(200);
+        assertThat(ReflectionTestUtils.getField(relay, "confirmedId")).isEqualTo(3L);
+        assertThat(relay.confirmAcked()).isEqualTo(-1);
+    }
+
+    @Test
+    void confirmAcked_FailedSend_DropsTheStream() {
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+
+        relay.accept(insert(1));
+        relay.accept(new PgOutputDecoder.Commit(100));
+
+        assertThatThrownBy(relay::confirmAcked).isInstanceOf(IllegalStateException.class);
+        assertThat(ReflectionTestUtils.getField(relay, "confirmedId")).isEqualTo(0L);
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: with nothing in flight the slot follows the stream, so an idle outbox pins no WAL
+    // -------------------------------------------------------------------------
+    @Test
+    void confirm_Idle_AdvancesToTheLastReceivedLsn() {
+        PGReplicationStream stream = mock(PGReplicationStream.class);
+        CompletableFuture<SendResult<String, String>> ack = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), anyString())).thenReturn(ack);
+        when(stream.getLastReceiveLSN()).thenReturn(LogSequenceNumber.valueOf(500));
+
+        relay.confirm(stream);
+        verify(stream).setFlushedLSN(LogSequenceNumber.valueOf(500));
+
+        relay.accept(insert(1));
+        relay.accept(new PgOutputDecoder.Commit(600));
+        when(stream.getLastReceiveLSN()).thenReturn(LogSequenceNumber.valueOf(700));
+        relay.confirm(stream);                          // 600 still in flight: hold at 500
+        verify(stream, never()).setFlushedLSN(LogSequenceNumber.valueOf(700));
+
+        ack.complete(null);
+        relay.confirm(stream);                          // acked and nothing else open
+        verify(stream).setFlushedLSN(LogSequenceNumber.valueOf(700));
+    }
+
+    @Test
+    void confirm_InsideATransaction_HoldsBackTheReceivedLsn() {
+        PGReplicationStream stream = mock(PGReplicationStream.class);
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.accept(new PgOutputDecoder.Begin());
+        relay.confirm(stream);                          // a keepalive may have moved it past the Begin
+        verify(stream, never()).getLastReceiveLSN();
+        verify(stream, never()).setFlushedLSN(any());
+
+        relay.accept(insert(1));
+        relay.accept(new PgOutputDecoder.Commit(600));
+        relay.accept(new PgOutputDecoder.Begin());
+        relay.confirm(stream);                          // the acked commit only
+        verify(stream).setFlushedLSN(LogSequenceNumber.valueOf(600));
+        verify(stream, never()).getLastReceiveLSN();
+    }
+}
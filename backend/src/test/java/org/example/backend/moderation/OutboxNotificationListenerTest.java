@@ -0,0 +1,95 @@
+package org.example.backend.moderation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxNotificationListenerTest {
+
+    @Mock
+    private OutboxRelay outboxRelay;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private PGConnection pgConnection;
+
+    @Mock
+    private PGNotification notification;
+
+    @InjectMocks
+    private OutboxNotificationListener listener;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        ReflectionTestUtils.setField(listener, "listenTimeoutMs", 10);
+        ReflectionTestUtils.setField(listener, "running", true);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+    }
+
+    // The last relay pass of a test stops the loop, as stop() would.
+    private boolean stopListening() {
+        ReflectionTestUtils.setField(listener, "running", false);
+        return false;
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: LISTEN, catch up once, then one drain per wakeup until the relay runs dry
+    // -------------------------------------------------------------------------
+    @Test
+    void listen_WakeupDrainsWhileBatchesComeBackFull() throws SQLException {
+        when(pgConnection.getNotifications(anyInt()))
+                .thenReturn(null)                                   // timeout, nothing to do
+                .thenReturn(new PGNotification[]{notification});
+        // catch-up pass: empty; wakeup: two full batches, then a short one
+        when(outboxRelay.relayBatch())
+                .thenReturn(false, true, true)
+                .thenAnswer(inv -> stopListening());
+
+        listener.listen(connection);
+
+        verify(statement).execute("LISTEN " + OutboxNotificationListener.CHANNEL);
+        verify(pgConnection, times(2)).getNotifications(10);
+        verify(outboxRelay, times(4)).relayBatch();
+    }
+
+    @Test
+    void listen_RelayFailure_DoesNotKillTheListener() throws SQLException {
+        when(outboxRelay.relayBatch())
+                .thenThrow(new RuntimeException("db down"))
+                .thenAnswer(inv -> stopListening());
+        when(pgConnection.getNotifications(anyInt())).thenReturn(new PGNotification[]{notification});
+
+        listener.listen(connection);
+
+        verify(outboxRelay, times(2)).relayBatch();
+    }
+
+    @Test
+    void listen_ConnectionFailure_Propagates() throws SQLException {
+        when(outboxRelay.relayBatch()).thenReturn(false);
+        when(pgConnection.getNotifications(anyInt())).thenThrow(new SQLException("connection reset"));
+
+        assertThatThrownBy(() -> listener.listen(connection)).isInstanceOf(SQLException.class);
+    }
+}
@@ -0,0 +1,251 @@
+package org.example.backend.moderation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final String TOPIC = "moderation.requests";
+
+    @Mock
+    private ModerationOutboxRepository outboxRepository;
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Mock
+    private ModerationVerdictCache verdictCache;
+
+    @Mock
+    private ModerationVerdictConsumer verdictConsumer;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private OutboxRelay relay;
+
+    private final UUID contentA = UUID.randomUUID();
+    private final UUID contentB = UUID.randomUUID();
+    private final UUID contentC = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(relay, "requestsTopic", TOPIC);
+        ReflectionTestUtils.setField(relay, "batchSize", 100);
+        ReflectionTestUtils.setField(relay, "sendTimeoutSeconds", 1L);
+        ReflectionTestUtils.setField(relay, "pipelined", true);
+    }
+
+    private static ModerationOutboxEntry entry(long id, UUID contentId) {
+        return ModerationOutboxEntry.builder()
+                .id(id).contentType("POST").contentId(contentId).contentVersion(id)
+                .text("text " + id).createdAt(Instant.EPOCH).build();
+    }
+
+    private static CompletableFuture<SendResult<String, String>> acked() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private static CompletableFuture<SendResult<String, String>> failed() {
+        return CompletableFuture.failedFuture(new RuntimeException("broker down"));
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: the whole batch is sent before any ack is awaited; one delete for all
+    // -------------------------------------------------------------------------
+    @Test
+    void relay_Pipelined_DeletesAckedBatchInOneStatement() {
+        when(outboxRepository.claim(anyString(), anyInt(), anyLong()))
+                .thenReturn(List.of(entry(1, contentA), entry(2, contentB), entry(3, contentC)));
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), anyString())).thenReturn(acked());
+
+        relay.relay();
+
+        verify(kafkaTemplate, times(3)).send(eq(TOPIC), anyString(), anyString());
+        verify(outboxRepository).deleteByIdIn(List.of(1L, 2L, 3L));
+        verify(outboxRepository, never()).deleteById(any());
+        verify(outboxRepository, never()).release(any(), any());
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: only a content item's newest version is published; the rest go with the batch
+    // -------------------------------------------------------------------------
+    @Test
+    void relay_Pipelined_CoalescesSupersededVersions() throws Exception {
+        when(outboxRepository.claim(anyString(), anyInt(), anyLong())).thenReturn(List.of(
+                entry(1, contentA), entry(2, contentB), entry(3, contentA), entry(4, contentA)));
+        ArgumentCaptor<String> payloads = ArgumentCaptor.forClass(String.class);
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), payloads.capture())).thenReturn(acked());
+
+        relay.relay();
+
+        assertThat(payloads.getAllValues()).hasSize(2);
+        assertThat(objectMapper.readValue(payloads.getAllValues().get(0), ModerationRequestMessage.class).version())
+                .isEqualTo(4L);
+        verify(outboxRepository).deleteByIdIn(List.of(1L, 3L, 4L, 2L));
+        verify(outboxRepository, never()).release(any(), any());
+    }
+
+    @Test
+    void relay_Pipelined_FailureKeepsOnlyTheUnackedEntry() {
+        when(outboxRepository.claim(anyString(), anyInt(), anyLong())).thenReturn(List.of(
+                entry(1, contentA), entry(2, contentA), entry(3, contentB)));
+        when(kafkaTemplate.send(eq(TOPIC), eq(contentA.toString()), anyString())).thenReturn(failed());
+        when(kafkaTemplate.send(eq(TOPIC), eq(contentB.toString()), anyString())).thenReturn(acked());
+
+        relay.relay();
+
+        // 1 is superseded by 2 whatever happens to 2's send; 2 stays for the next tick
+        verify(outboxRepository).deleteByIdIn(List.of(1L, 3L));
+        // claims on the whole batch are handed back; the deleted rows simply don't match
+        verify(outboxRepository).release(eq(List.of(1L, 2L, 3L)), anyString());
+    }
+
+    @Test
+    void relay_Pipelined_SendThrows_StopsFiringAndKeepsTheRest() {
+        when(outboxRepository.claim(anyString(), anyInt(), anyLong()))
+                .thenReturn(List.of(entry(1, contentA), entry(2, contentB), entry(3, contentC)));
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), anyString()))
+                .thenReturn(acked())
+                .thenThrow(new RuntimeException("metadata timeout"));
+
+        relay.relay();
+
+        verify(kafkaTemplate, times(2)).send(eq(TOPIC), anyString(), anyString());
+        verify(outboxRepository).deleteByIdIn(List.of(1L));
+    }
+
+    @Test
+    void relay_Pipelined_NothingAcked_DeletesNothing() {
+        when(outboxRepository.claim(anyString(), anyInt(), anyLong())).thenReturn(List.of(entry(1, contentA)));
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), anyString())).thenReturn(failed());
+
+        relay.relay();
+
+        verify(outboxRepository, never()).deleteByIdIn(any());
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: a verdict-cache hit is applied instead of published; a failed apply publishes
+    // -------------------------------------------------------------------------
+    @Test
+    void relay_CacheHit_AppliesVerdictWithoutPublishing() throws Exception {
+        ModerationOutboxEntry hit = entry(1, contentA), miss = entry(2, contentB), broken = entry(3, contentC);
+        ModerationVerdictMessage cached = new ModerationVerdictMessage("POST", contentA.toString(), 1L, false, null, "k1");
+        ModerationVerdictMessage cachedBroken = new ModerationVerdictMessage("POST", contentC.toString(), 3L, true, null, "k3");
+        when(outboxRepository.claim(anyString(), anyInt(), anyLong())).thenReturn(List.of(hit, miss, broken));
+        when(verdictCache.keyOf(anyString())).thenAnswer(inv -> "k" + inv.getArgument(0, String.class).substring(5));
+        Map<String, ModerationVerdictMessage> cachedByKey = Map.of("k1", cached, "k3", cachedBroken);
+        when(verdictCache.verdictFor(any(), anyString())).thenAnswer(inv -> cachedByKey.get(inv.getArgument(1, String.class)));
+        doAnswer(inv -> {
+            if (inv.getArgument(0) == cachedBroken) {
+                throw new RuntimeException("db blip");
+            }
+            return null;
+        }).when(verdictConsumer).apply(any(ModerationVerdictMessage.class));
+        ArgumentCaptor<String> payloads = ArgumentCaptor.forClass(String.class);
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), payloads.capture())).thenReturn(acked());
+
+        relay.relay();
+
+        verify(verdictConsumer).apply(cached);
+        verify(kafkaTemplate).send(eq(TOPIC), eq(contentB.toString()), anyString());
+        verify(kafkaTemplate).send(eq(TOPIC), eq(contentC.toString()), anyString());
+        assertThat(objectMapper.readValue(payloads.getAllValues().get(0), ModerationRequestMessage.class).cacheKey())
+                .isEqualTo("k2");
+        verify(outboxRepository).deleteByIdIn(List.of(1L, 2L, 3L));
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: every pass claims under this instance's id and the configured lease
+    // -------------------------------------------------------------------------
+    @Test
+    void relay_ClaimsUnderOneInstanceId() {
+        ReflectionTestUtils.setField(relay, "claimLeaseSeconds", 60L);
+        ArgumentCaptor<String> owner = ArgumentCaptor.forClass(String.class);
+        when(outboxRepository.claim(owner.capture(), eq(100), eq(60L))).thenReturn(List.of());
+
+        relay.relay();
+        relay.relay();
+
+        assertThat(owner.getAllValues()).hasSize(2).doesNotContainNull();
+        assertThat(owner.getAllValues().get(0)).isEqualTo(owner.getAllValues().get(1));
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: only a full, fully published batch tells the caller to go again
+    // -------------------------------------------------------------------------
+    @Test
+    void relayBatch_ReportsMoreOnlyAfterAFullCleanBatch() {
+        ReflectionTestUtils.setField(relay, "batchSize", 2);
+        when(outboxRepository.claim(anyString(), anyInt(), anyLong()))
+                .thenReturn(List.of(entry(1, contentA), entry(2, contentB)))
+                .thenReturn(List.of(entry(3, contentA), entry(4, contentB)))
+                .thenReturn(List.of(entry(5, contentA)));
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), anyString()))
+                .thenReturn(acked(), acked(), acked(), failed(), acked());
+
+        assertThat(relay.relayBatch()).isTrue();
+        assertThat(relay.relayBatch()).isFalse();   // full, but 4 failed
+        assertThat(relay.relayBatch()).isFalse();   // short batch: the outbox is drained
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: sequential mode still blocks per entry and stops at the first failure
+    // -------------------------------------------------------------------------
+    @Test
+    void relay_Sequential_StopsAtFirstFailure() {
+        ReflectionTestUtils.setField(relay, "pipelined", false);
+        when(outboxRepository.claim(anyString(), anyInt(), anyLong()))
+                .thenReturn(List.of(entry(1, contentA), entry(2, contentB), entry(3, contentC)));
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), anyString())).thenReturn(acked(), failed());
+
+        relay.relay();
+
+        verify(outboxRepository).deleteById(1L);
+        verify(kafkaTemplate, times(2)).send(eq(TOPIC), anyString(), anyString());
+        verify(outboxRepository, never()).deleteByIdIn(any());
+        verify(outboxRepository).release(eq(List.of(1L, 2L, 3L)), anyString());
+    }
+
+    @Test
+    void relay_Sequential_DeletesSupersededVersionsUpFront() {
+        ReflectionTestUtils.setField(relay, "pipelined", false);
+        when(outboxRepository.claim(anyString(), anyInt(), anyLong()))
+                .thenReturn(List.of(entry(1, contentA), entry(2, contentA)));
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), anyString())).thenReturn(acked());
+
+        relay.relay();
+
+        verify(outboxRepository).deleteByIdIn(List.of(1L));
+        verify(kafkaTemplate, times(1)).send(eq(TOPIC), anyString(), anyString());
+        verify(outboxRepository).deleteById(2L);
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.backend.moderation;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PgOutputDecoderTest {
+
+    private static final int OID = 16_384;
+    private static final String[] COLUMNS = {
+            "id", "content_type", "content_id", "content_version", "text", "created_at",
+            "claimed_by", "claimed_until"};
+
+    private final PgOutputDecoder decoder = new PgOutputDecoder();
+
+    private interface Body {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static ByteBuffer message(char type, Body body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(type);
+        body.write(out);
+        // the driver hands over a window into a larger buffer, not a zero-offset one
+        byte[] framed = new byte[bytes.size() + 3];
+        System.arraycopy(bytes.toByteArray(), 0, framed, 3, bytes.size());
+        return ByteBuffer.wrap(framed, 3, bytes.size()).slice();
+    }
+
+    private static void string(DataOutputStream out, String s) throws IOException {
+        out.write(s.getBytes(StandardCharsets.UTF_8));
+        out.writeByte(0);
+    }
+
+    private static ByteBuffer relation() throws IOException {
+        return message('R', out -> {
+            out.writeInt(OID);
+            string(out, "public");
+            string(out, "moderation_outbox");
+            out.writeByte('d');
+            out.writeShort(COLUMNS.length);
+            for (String column : COLUMNS) {
+                out.writeByte(0);
+                string(out, column);
+                out.writeInt(25);
+                out.writeInt(-1);
+            }
+        });
+    }
+
+    private static ByteBuffer insert(String... values) throws IOException {
+        return message('I', out -> {
+            out.writeInt(OID);
+            out.writeByte('N');
+            out.writeShort(values.length);
+            for (String value : values) {
+                if (value == null) {
+                    out.writeByte('n');
+                } else {
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    out.writeByte('t');
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+            }
+        });
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: relation metadata names the columns of the inserts that follow it
+    // -------------------------------------------------------------------------
+    @Test
+    void decode_InsertAfterRelation_RebuildsTheEntry() throws IOException {
+        UUID contentId = UUID.randomUUID();
+
+        assertThat(decoder.decode(relation())).isNull();
+        PgOutputDecoder.Change change = decoder.decode(insert(
+                "42", "COMMENT", contentId.toString(), "3", "héllo wörld",
+                "2026-10-18 10:00:00+00", null, null));
+
+        assertThat(change).isInstanceOf(PgOutputDecoder.Insert.class);
+        ModerationOutboxEntry entry = ((PgOutputDecoder.Insert) change).entry();
+        assertThat(entry.getId()).isEqualTo(42L);
+        assertThat(entry.getContentType()).isEqualTo("COMMENT");
+        assertThat(entry.getContentId()).isEqualTo(contentId);
+        assertThat(entry.getContentVersion()).isEqualTo(3L);
+        assertThat(entry.getText()).isEqualTo("héllo wörld");
+    }
+
+    @Test
+    void decode_Commit_CarriesTheEndLsn() throws IOException {
+        PgOutputDecoder.Change change = decoder.decode(message('C', out -> {
+            out.writeByte(0);
+            out.writeLong(0x1_0000_0010L);
+            out.writeLong(0x1_0000_0040L);
+            out.writeLong(0L);
+        }));
+
+        assertThat(change).isEqualTo(new PgOutputDecoder.Commit(0x1_0000_0040L));
+    }
+
+    @Test
+    void decode_Begin_MarksTheTransactionStart() throws IOException {
+        assertThat(decoder.decode(message('B', out -> {
+            out.writeLong(1L);
+            out.writeLong(2L);
+            out.writeInt(3);
+        }))).isEqualTo(new PgOutputDecoder.Begin());
+    }
+
+    @Test
+    void decode_OtherMessagesAndUnknownRelations() throws IOException {
+        assertThat(decoder.decode(message('Y', out -> {
+            out.writeInt(25);
+            string(out, "pg_catalog");
+            string(out, "text");
+        }))).isNull();
+        assertThatThrownBy(() -> decoder.decode(insert("1")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,158 @@
+package org.example.backend.moderation.inference;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.example.backend.moderation.ModerationVerdictMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InProcessModerationWorkerTest {
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final List<List<Integer>> calls = Collections.synchronizedList(new ArrayList<>());
+
+    private InProcessModerationWorker worker;
+
+    // Every word is its own token; "toxic" anywhere in the text scores it over the threshold.
+    private static WordPieceTokenizer tokenizer() {
+        Map<String, Integer> vocab = new HashMap<>(Map.of("[PAD]", 0, "[UNK]", 1, "[CLS]", 2, "[SEP]", 3, "toxic", 4));
+        for (String word : List.of("a", "b", "c", "d", "e", "f")) {
+            vocab.put(word, vocab.size());
+        }
+        return new WordPieceTokenizer(vocab, true, 256);
+    }
+
+    private List<ToxicityScores> fakeScore(List<int[]> tokenIds) {
+        calls.add(tokenIds.stream().map(ids -> ids.length).toList());
+        return tokenIds.stream()
+                .map(ids -> Arrays.stream(ids).anyMatch(id -> id == 4)
+                        ? new ToxicityScores(0.97, 0.1) : new ToxicityScores(0.02, 0.01))
+                .toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        worker = new InProcessModerationWorker(this::fakeScore, tokenizer(), executor, kafkaTemplate, objectMapper);
+        ReflectionTestUtils.setField(worker, "verdictsTopic", "moderation.verdicts");
+        ReflectionTestUtils.setField(worker, "dlqTopic", "moderation.requests.dlq");
+        ReflectionTestUtils.setField(worker, "maxBatch", 2);
+        ReflectionTestUtils.setField(worker, "toxicThreshold", 0.5);
+        ReflectionTestUtils.setField(worker, "severeToxicThreshold", 0.5);
+        ReflectionTestUtils.setField(worker, "timeoutMs", 5000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static ConsumerRecord<String, String> record(long offset, String key, String value) {
+        return new ConsumerRecord<>("moderation.requests", 0, offset, key, value);
+    }
+
+    private static String request(UUID contentId, long version, String text) {
+        return """
+                {"v":1,"contentType":"COMMENT","contentId":"%s","version":%d,"text":"%s"}
+                """.formatted(contentId, version, text);
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: a poll is sorted by token length and scored in buckets of max-batch
+    // -------------------------------------------------------------------------
+    @Test
+    void onRequests_ScoresLengthBucketsAndPublishesVerdictsKeyedLikeTheRequest() throws Exception {
+        when(kafkaTemplate.send(eq("moderation.verdicts"), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        List<ConsumerRecord<String, String>> records = new ArrayList<>();
+        List<UUID> ids = new ArrayList<>();
+        String[] texts = {"a b c d e", "a", "toxic b c", "a b"};
+        for (int i = 0; i < texts.length; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            records.add(record(i, id.toString(), request(id, i + 1, texts[i])));
+        }
+
+        worker.onRequests(records);
+
+        // token counts incl. [CLS]/[SEP]: 7, 3, 5, 4 -> buckets [3, 4] and [5, 7]
+        assertThat(calls).containsExactlyInAnyOrder(List.of(3, 4), List.of(5, 7));
+
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> payloads = ArgumentCaptor.forClass(String.class);
+        verify(kafkaTemplate, times(4)).send(eq("moderation.verdicts"), keys.capture(), payloads.capture());
+        Map<String, ModerationVerdictMessage> byKey = new HashMap<>();
+        for (int i = 0; i < 4; i++) {
+            byKey.put(keys.getAllValues().get(i),
+                    objectMapper.readValue(payloads.getAllValues().get(i), ModerationVerdictMessage.class));
+        }
+        ModerationVerdictMessage toxic = byKey.get(ids.get(2).toString());
+        assertThat(toxic.contentId()).isEqualTo(ids.get(2).toString());
+        assertThat(toxic.contentType()).isEqualTo("COMMENT");
+        assertThat(toxic.version()).isEqualTo(3L);
+        assertThat(toxic.flagged()).isTrue();
+        assertThat(toxic.scores()).containsEntry("toxic", 0.97).containsKey("severe_toxic");
+        assertThat(byKey.get(ids.get(1).toString()).flagged()).isFalse();
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: malformed requests are dead-lettered, not scored
+    // -------------------------------------------------------------------------
+    @Test
+    void onRequests_MalformedRequestsGoToTheDlq() throws Exception {
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        UUID id = UUID.randomUUID();
+
+        worker.onRequests(List.of(
+                record(0, "k1", "not json"),
+                record(1, "k2", "{\"contentType\":\"POST\",\"version\":1,\"text\":\"a\"}"),
+                record(2, id.toString(), request(id, 1, "a"))));
+
+        verify(kafkaTemplate).send("moderation.requests.dlq", "k1", "not json");
+        verify(kafkaTemplate).send(eq("moderation.requests.dlq"), eq("k2"), anyString());
+        verify(kafkaTemplate).send(eq("moderation.verdicts"), eq(id.toString()), anyString());
+        assertThat(calls).containsExactly(List.of(3));
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: an unacked verdict fails the poll so the container redelivers it
+    // -------------------------------------------------------------------------
+    @Test
+    void onRequests_FailedPublish_Throws() {
+        when(kafkaTemplate.send(eq("moderation.verdicts"), anyString(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+        UUID id = UUID.randomUUID();
+
+        assertThatThrownBy(() -> worker.onRequests(List.of(record(0, id.toString(), request(id, 1, "a")))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.backend.moderation.inference;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WordPieceTokenizerTest {
+
+    private static final List<String> TOKENS = List.of(
+            "[PAD]", "[UNK]", "[CLS]", "[SEP]",
+            "this", "movie", "is", "un", "##believ", "##able", "!", ",", "cafe", "'", "s", "好");
+
+    private static Map<String, Integer> vocab() {
+        Map<String, Integer> vocab = new HashMap<>();
+        for (int i = 0; i < TOKENS.size(); i++) {
+            vocab.put(TOKENS.get(i), i);
+        }
+        return vocab;
+    }
+
+    private static int id(String token) {
+        return TOKENS.indexOf(token);
+    }
+
+    private final WordPieceTokenizer tokenizer = new WordPieceTokenizer(vocab(), true, 256);
+
+    // -------------------------------------------------------------------------
+    // TEST: BERT normalization, punctuation splitting and ## continuations
+    // -------------------------------------------------------------------------
+    @Test
+    void encode_LowercasesSplitsPunctuationAndWordPieces() {
+        assertThat(tokenizer.encode("This  MOVIE is\tUnbelievable!"))
+                .containsExactly(id("[CLS]"), id("this"), id("movie"), id("is"),
+                        id("un"), id("##believ"), id("##able"), id("!"), id("[SEP]"));
+    }
+
+    @Test
+    void encode_StripsAccentsAndControlCharsAndSpacesOutCjk() {
+        assertThat(tokenizer.encode("Café\u0000's好movie"))
+                .containsExactly(id("[CLS]"), id("cafe"), id("'"), id("s"), id("好"), id("movie"), id("[SEP]"));
+    }
+
+    @Test
+    void encode_UnknownOrOverlongWordsBecomeOneUnk() {
+        assertThat(tokenizer.encode("movies, " + "x".repeat(101)))
+                .containsExactly(id("[CLS]"), id("[UNK]"), id(","), id("[UNK]"), id("[SEP]"));
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: truncation keeps [SEP] and cuts mid-word like the HF tokenizer
+    // -------------------------------------------------------------------------
+    @Test
+    void encode_TruncatesToMaxLengthIncludingSpecialTokens() {
+        WordPieceTokenizer shortTokenizer = new WordPieceTokenizer(vocab(), true, 5);
+
+        assertThat(shortTokenizer.encode("this is unbelievable"))
+                .containsExactly(id("[CLS]"), id("this"), id("is"), id("un"), id("[SEP]"));
+        assertThat(shortTokenizer.encode("")).containsExactly(id("[CLS]"), id("[SEP]"));
+    }
+
+    @Test
+    void constructor_RequiresSpecialTokens() {
+        Map<String, Integer> vocab = vocab();
+        vocab.remove("[SEP]");
+
+        assertThatThrownBy(() -> new WordPieceTokenizer(vocab, true, 256))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(tokenizer.padId()).isEqualTo(id("[PAD]"));
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.backend.post;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ForumLeaderboardTest {
+
+    private static final Instant NOW = Instant.parse("2026-06-15T12:00:00Z");
+
+    private record Row(UUID id, Integer score) implements PostScore {
+        @Override public UUID getId() { return id; }
+        @Override public Integer getScore() { return score; }
+    }
+
+    private final UUID a = UUID.randomUUID();
+    private final UUID b = UUID.randomUUID();
+    private final UUID c = UUID.randomUUID();
+    private final UUID d = UUID.randomUUID();
+
+    private ForumLeaderboard board(int capacity, Row... seed) {
+        return new ForumLeaderboard(capacity, new ArrayList<>(List.of(seed)), NOW);
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: a seed that fits is complete and serves any page, including past the end
+    // -------------------------------------------------------------------------
+    @Test
+    void seed_FitsCapacity_IsComplete() {
+        ForumLeaderboard board = board(3, new Row(a, 10), new Row(b, 5));
+
+        assertThat(board.complete()).isTrue();
+        assertThat(board.slice(0, 2)).containsExactly(a, b);
+        assertThat(board.slice(2, 2)).isEmpty();
+    }
+
+    @Test
+    void seed_ExtraRow_IsTruncatedAndRefusesRangesPastItsMembers() {
+        ForumLeaderboard board = board(2, new Row(a, 10), new Row(b, 5), new Row(c, 1));
+
+        assertThat(board.complete()).isFalse();
+        assertThat(board.size()).isEqualTo(2);
+        assertThat(board.slice(0, 2)).containsExactly(a, b);
+        assertThat(board.slice(1, 2)).isNull();
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: votes re-rank members
+    // -------------------------------------------------------------------------
+    @Test
+    void apply_MemberOvertakes_Reorders() {
+        ForumLeaderboard board = board(3, new Row(a, 10), new Row(b, 5), new Row(c, 1));
+
+        board.apply(c, 11);
+
+        assertThat(board.slice(0, 3)).containsExactly(c, a, b);
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: a truncated board admits an outsider only above its last entry, evicting it
+    // -------------------------------------------------------------------------
+    @Test
+    void apply_OutsiderOutranksLast_EntersAndEvictsLast() {
+        ForumLeaderboard board = board(2, new Row(a, 10), new Row(b, 5), new Row(c, 1));
+
+        board.apply(d, 3);
+        assertThat(board.slice(0, 2)).containsExactly(a, b);
+
+        board.apply(d, 7);
+        assertThat(board.slice(0, 2)).containsExactly(a, d);
+        assertThat(board.size()).isEqualTo(2);
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: a truncated board drops a member demoted to last — an unseen post may outrank it
+    // -------------------------------------------------------------------------
+    @Test
+    void apply_MemberDemotedToLast_IsDropped() {
+        ForumLeaderboard board = board(2, new Row(a, 10), new Row(b, 5), new Row(c, 1));
+
+        board.apply(a, 2);
+
+        assertThat(board.size()).isEqualTo(1);
+        assertThat(board.slice(0, 1)).containsExactly(b);
+        assertThat(board.slice(0, 2)).isNull();
+    }
+
+    @Test
+    void apply_CompleteBoardOverCapacity_BecomesTruncated() {
+        ForumLeaderboard board = board(2, new Row(a, 10), new Row(b, 5));
+
+        board.apply(c, 0);
+
+        assertThat(board.complete()).isFalse();
+        assertThat(board.slice(0, 2)).containsExactly(a, b);
+    }
+
+    @Test
+    void remove_DropsMember() {
+        ForumLeaderboard board = board(3, new Row(a, 10), new Row(b, 5));
+
+        board.remove(a);
+
+        assertThat(board.slice(0, 3)).containsExactly(b);
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: score ties break by id DESC compared unsigned, as Postgres orders uuid
+    // -------------------------------------------------------------------------
+    @Test
+    void ties_BreakByUnsignedIdDescending() {
+        UUID high = new UUID(0xF000_0000_0000_0000L, 0);   // negative as a signed long
+        UUID low = new UUID(0x1000_0000_0000_0000L, 0);
+        ForumLeaderboard board = board(3, new Row(low, 4), new Row(high, 4));
+
+        assertThat(board.slice(0, 2)).containsExactly(high, low);
+    }
+}
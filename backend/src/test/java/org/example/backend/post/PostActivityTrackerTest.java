@@ -0,0 +1,100 @@
+package org.example.backend.post;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostActivityTrackerTest {
+
+    private static final Instant T1 = Instant.parse("2026-06-15T12:00:00Z");
+    private static final Instant T2 = Instant.parse("2026-06-15T12:00:01Z");
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private Clock clock;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private PostActivityTracker activityTracker;
+
+    private final UUID postA = new UUID(0, 1);
+    private final UUID postB = new UUID(0, 2);
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: activity is coalesced in memory to one update per post, in id order
+    // -------------------------------------------------------------------------
+    @Test
+    void flush_WritesLatestActivityOncePerPost() {
+        when(clock.instant()).thenReturn(T1, T2, T1);
+        activityTracker.record(postB);
+        activityTracker.record(postB);
+        activityTracker.record(postA);
+        verifyNoInteractions(postRepository);
+
+        activityTracker.flush();
+
+        InOrder inOrder = inOrder(postRepository);
+        inOrder.verify(postRepository).touchLastActivity(postA, T1);
+        inOrder.verify(postRepository).touchLastActivity(postB, T2);
+        verifyNoMoreInteractions(postRepository);
+
+        activityTracker.flush();
+        verifyNoMoreInteractions(postRepository);
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: a failed flush hands its times back for the next one
+    // -------------------------------------------------------------------------
+    @Test
+    void flush_Failure_RetriesDrainedTimes() {
+        when(clock.instant()).thenReturn(T2);
+        activityTracker.record(postA);
+        when(postRepository.touchLastActivity(any(), any()))
+                .thenThrow(new RuntimeException("db down"))
+                .thenReturn(1);
+
+        assertThatThrownBy(() -> activityTracker.flush()).isInstanceOf(RuntimeException.class);
+        activityTracker.flush();
+
+        verify(postRepository, times(2)).touchLastActivity(postA, T2);
+    }
+
+    @Test
+    void flush_CommitFailure_RetriesDrainedTimes() {
+        when(clock.instant()).thenReturn(T2);
+        activityTracker.record(postA);
+        doThrow(new TransactionSystemException("commit failed"))
+                .doNothing()
+                .when(transactionManager).commit(any());
+
+        assertThatThrownBy(() -> activityTracker.flush()).isInstanceOf(TransactionSystemException.class);
+        activityTracker.flush();
+
+        verify(postRepository, times(2)).touchLastActivity(postA, T2);
+    }
+}
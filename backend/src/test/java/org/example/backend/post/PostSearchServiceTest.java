@@ -0,0 +1,110 @@
+package org.example.backend.post;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostSearchServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @InjectMocks
+    private PostSearchService searchService;
+
+    private final UUID a = UUID.randomUUID();
+    private final UUID b = UUID.randomUUID();
+    private final UUID c = UUID.randomUUID();
+
+    private static PostSearchHit hit(UUID id, double rank) {
+        return new PostSearchHit() {
+            @Override public UUID getId() { return id; }
+            @Override public Double getRank() { return rank; }
+        };
+    }
+
+    private static PostView view(UUID id) {
+        PostView view = mock(PostView.class);
+        when(view.getId()).thenReturn(id);
+        return view;
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: first page seeks from START, keeps rank order, and cursors off the last hit
+    // -------------------------------------------------------------------------
+    @Test
+    void search_FirstPage_RankOrderAndNextCursor() {
+        List<PostSearchHit> hits = List.of(hit(a, 0.9), hit(b, 0.5), hit(c, 0.1));
+        when(postRepository.search("heat", Double.POSITIVE_INFINITY, PostSearchCursor.START.id(), 3))
+                .thenReturn(hits);
+        List<PostView> views = List.of(view(b), view(a));   // arbitrary order from the IN read
+        when(postRepository.findViewsByIdIn(List.of(a, b))).thenReturn(views);
+
+        PostSearchResponse response = searchService.search("  heat ", null, null, 2);
+
+        assertThat(response.getPosts()).extracting(PostView::getId).containsExactly(a, b);
+        assertThat(response.isHasNext()).isTrue();
+        assertThat(PostSearchCursor.decode(response.getNextCursor())).isEqualTo(new PostSearchCursor(0.5, b));
+    }
+
+    @Test
+    void search_WithCursorAndForum_SeeksInForum() {
+        UUID forumId = UUID.randomUUID();
+        PostSearchCursor cursor = new PostSearchCursor(0.5, b);
+        when(postRepository.searchInForum("heat", forumId, 0.5, b, 3)).thenReturn(List.of(hit(c, 0.1)));
+        List<PostView> views = List.of(view(c));
+        when(postRepository.findViewsByIdIn(List.of(c))).thenReturn(views);
+
+        PostSearchResponse response = searchService.search("heat", forumId, cursor.encode(), 2);
+
+        assertThat(response.getPosts()).extracting(PostView::getId).containsExactly(c);
+        assertThat(response.isHasNext()).isFalse();
+        assertThat(response.getNextCursor()).isNull();
+        verify(postRepository, never()).search(anyString(), anyDouble(), any(), anyInt());
+    }
+
+    @Test
+    void search_NoHits_SkipsHydration() {
+        when(postRepository.search(eq("nothing"), anyDouble(), any(), anyInt())).thenReturn(List.of());
+
+        PostSearchResponse response = searchService.search("nothing", null, null, 20);
+
+        assertThat(response.getPosts()).isEmpty();
+        verify(postRepository, never()).findViewsByIdIn(any());
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: bad input is a 400 (IllegalArgumentException)
+    // -------------------------------------------------------------------------
+    @Test
+    void search_BlankOrOversizedQueryOrBadCursor_Rejected() {
+        assertThatThrownBy(() -> searchService.search(" ", null, null, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> searchService.search("x".repeat(PostSearchService.MAX_QUERY_LENGTH + 1), null, null, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> searchService.search("heat", null, "not a cursor!", 20))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    void cursor_RoundTripsRankExactly() {
+        PostSearchCursor cursor = new PostSearchCursor(0.06666666666666667, a);
+        assertThat(PostSearchCursor.decode(cursor.encode())).isEqualTo(cursor);
+        assertThat(PostSearchCursor.decode(PostSearchCursor.START.encode())).isEqualTo(PostSearchCursor.START);
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.backend.timeline;
+
+import org.example.backend.post.Post;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HomeTimelineServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-06-15T12:00:00Z");
+
+    @Mock
+    private HomeTimelineRepository timelineRepository;
+
+    @Mock
+    private HomeTimelineStateRepository stateRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    @InjectMocks
+    private HomeTimelineService service;
+
+    private final Long userId = 7L;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxEntries", 1000);
+        ReflectionTestUtils.setField(service, "activeDays", 7L);
+        ReflectionTestUtils.setField(service, "readTouchMinutes", 60L);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    private HomeTimelineState stateReadAt(Instant lastReadAt) {
+        return HomeTimelineState.builder().userId(userId).builtAt(lastReadAt).lastReadAt(lastReadAt).build();
+    }
+
+    // -------------------------------------------------------------------------
+    // read(): cold users are rebuilt, warm users are a plain range read
+    // -------------------------------------------------------------------------
+    @Test
+    void read_NoState_RebuildsBeforeReading() {
+        when(stateRepository.findById(userId)).thenReturn(Optional.empty());
+        when(timelineRepository.findTimeline(eq(userId), any(Pageable.class))).thenReturn(Page.empty());
+
+        service.read(userId, 0, 20);
+
+        // Warm state is committed before the fill so concurrent fan-outs already include the user.
+        var inOrder = inOrder(timelineRepository, stateRepository, transactionManager);
+        inOrder.verify(stateRepository).markBuilt(userId, NOW);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(timelineRepository).deleteByUser(userId);
+        inOrder.verify(timelineRepository).fillFromFollows(userId, 1000);
+        inOrder.verify(timelineRepository).findTimeline(eq(userId), any(Pageable.class));
+    }
+
+    @Test
+    void read_StateIdlePastActiveWindow_Rebuilds() {
+        when(stateRepository.findById(userId)).thenReturn(Optional.of(stateReadAt(NOW.minus(Duration.ofDays(8)))));
+        when(timelineRepository.findTimeline(eq(userId), any(Pageable.class))).thenReturn(Page.empty());
+
+        service.read(userId, 0, 20);
+
+        verify(timelineRepository).fillFromFollows(userId, 1000);
+        verify(stateRepository).markBuilt(userId, NOW);
+    }
+
+    @Test
+    void read_WarmRecentlyTouched_NoWrites() {
+        when(stateRepository.findById(userId)).thenReturn(Optional.of(stateReadAt(NOW.minus(Duration.ofMinutes(5)))));
+        when(timelineRepository.findTimeline(eq(userId), any(Pageable.class))).thenReturn(Page.empty());
+
+        service.read(userId, 2, 20);
+
+        verify(timelineRepository, never()).fillFromFollows(anyLong(), anyInt());
+        verify(stateRepository, never()).touch(anyLong(), any());
+        verify(timelineRepository).findTimeline(userId, PageRequest.of(2, 20));
+    }
+
+    @Test
+    void read_WarmButTouchStale_BumpsLastReadOnly() {
+        when(stateRepository.findById(userId)).thenReturn(Optional.of(stateReadAt(NOW.minus(Duration.ofHours(3)))));
+        when(timelineRepository.findTimeline(eq(userId), any(Pageable.class))).thenReturn(Page.empty());
+
+        service.read(userId, 0, 20);
+
+        verify(stateRepository).touch(userId, NOW);
+        verify(timelineRepository, never()).fillFromFollows(anyLong(), anyInt());
+    }
+
+    // -------------------------------------------------------------------------
+    // write hooks
+    // -------------------------------------------------------------------------
+    @Test
+    void fanOut_TargetsOnlyFollowersActiveWithinWindow() {
+        Post post = new Post();
+        post.setId(UUID.randomUUID());
+        post.setForumId(UUID.randomUUID());
+        post.setCreatedAt(NOW);
+
+        service.fanOut(post);
+
+        verify(timelineRepository).fanOut(post.getId(), post.getForumId(), NOW, NOW.minus(Duration.ofDays(7)));
+    }
+
+    @Test
+    void onFollow_ColdUser_DoesNotBackfill() {
+        when(stateRepository.existsById(userId)).thenReturn(false);
+
+        service.onFollow(userId, UUID.randomUUID());
+
+        verify(timelineRepository, never()).fillFromForum(anyLong(), any(), anyInt());
+    }
+
+    @Test
+    void onFollow_WarmUser_BackfillsThatForum() {
+        UUID forumId = UUID.randomUUID();
+        when(stateRepository.existsById(userId)).thenReturn(true);
+
+        service.onFollow(userId, forumId);
+
+        verify(timelineRepository).fillFromForum(userId, forumId, 1000);
+    }
+}
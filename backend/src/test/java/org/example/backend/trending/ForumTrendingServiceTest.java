@@ -0,0 +1,94 @@
+package org.example.backend.trending;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ForumTrendingServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-06-15T12:00:30Z");
+    private static final Instant MINUTE = Instant.parse("2026-06-15T12:00:00Z");
+
+    @Mock
+    private ForumTrendingRepository trendingRepository;
+
+    @Spy
+    private Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    @InjectMocks
+    private ForumTrendingService trendingService;
+
+    private final UUID forumA = UUID.randomUUID();
+    private final UUID forumB = UUID.randomUUID();
+
+    private void withWindow() {
+        ReflectionTestUtils.setField(trendingService, "windowHours", 24L);
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: writes only count in memory; a flush adds one row per forum-minute
+    // -------------------------------------------------------------------------
+    @Test
+    void flush_AddsCountedActivityPerForumMinute() {
+        withWindow();
+        trendingService.recordPost(forumA);
+        trendingService.recordPost(forumA);
+        trendingService.recordFollow(forumA);
+        trendingService.recordFollow(forumB);
+        verifyNoInteractions(trendingRepository);
+
+        trendingService.flush();
+
+        verify(trendingRepository).addActivity(forumA, MINUTE, 2, 1, NOW);
+        verify(trendingRepository).addActivity(forumB, MINUTE, 0, 1, NOW);
+        verify(trendingRepository).expireBefore(NOW.minusSeconds(24L * 60 * 60), NOW);
+        verify(trendingRepository).deleteInactive();
+    }
+
+    @Test
+    void flush_DrainsCounters() {
+        withWindow();
+        trendingService.recordPost(forumA);
+
+        trendingService.flush();
+        trendingService.flush();
+
+        verify(trendingRepository, times(1)).addActivity(any(), any(), anyInt(), anyInt(), any());
+        // the window still slides when nothing new was counted
+        verify(trendingRepository, times(2)).expireBefore(any(), any());
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: a failed flush (rolled back) keeps its counts for the next one
+    // -------------------------------------------------------------------------
+    @Test
+    void flush_Failure_RequeuesCounts() {
+        withWindow();
+        trendingService.recordPost(forumA);
+        when(trendingRepository.expireBefore(any(), any()))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(0);
+
+        assertThatThrownBy(() -> trendingService.flush()).isInstanceOf(IllegalStateException.class);
+        trendingService.recordPost(forumA);
+        trendingService.flush();
+
+        verify(trendingRepository).addActivity(forumA, MINUTE, 1, 0, NOW);
+        verify(trendingRepository).addActivity(forumA, MINUTE, 2, 0, NOW);
+    }
+}
@@ -1,12 +1,14 @@
 package org.example.backend.userfollowing;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.example.backend.common.paging.Totals;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
@@ -179,16 +181,16 @@ class FollowControllerTest {
         Page<FollowerView> followersPage = new PageImpl<>(followersList, pageable, 2);
 
         when(request.getAttribute("userId")).thenReturn(followedUserId);
-        when(followService.getUserFollowers(followedUserId, pageable)).thenReturn(followersPage);
+        when(followService.getUserFollowers(followedUserId, pageable, Totals.EXACT)).thenReturn(followersPage);
 
-        ResponseEntity<Page<FollowerView>> response = followController.getFollowers(request, pageable);
+        ResponseEntity<Slice<FollowerView>> response = followController.getFollowers(request, pageable, "exact");
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(2, response.getBody().getContent().size());
         assertEquals(followersPage, response.getBody());
         verify(request).getAttribute("userId");
-        verify(followService).getUserFollowers(followedUserId, pageable);
+        verify(followService).getUserFollowers(followedUserId, pageable, Totals.EXACT);
     }
 
     @Test
@@ -199,14 +201,14 @@ class FollowControllerTest {
         Page<FollowerView> emptyPage = new PageImpl<>(Arrays.asList(), pageable, 0);
 
         when(request.getAttribute("userId")).thenReturn(followedUserId);
-        when(followService.getUserFollowers(followedUserId, pageable)).thenReturn(emptyPage);
+        when(followService.getUserFollowers(followedUserId, pageable, Totals.EXACT)).thenReturn(emptyPage);
 
-        ResponseEntity<Page<FollowerView>> response = followController.getFollowers(request, pageable);
+        ResponseEntity<Slice<FollowerView>> response = followController.getFollowers(request, pageable, "exact");
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertTrue(response.getBody().getContent().isEmpty());
-        assertEquals(0, response.getBody().getTotalElements());
+        assertEquals(0, ((Page<?>) response.getBody()).getTotalElements());
     }
 
     @Test
@@ -217,12 +219,12 @@ class FollowControllerTest {
         Page<FollowerView> followersPage = new PageImpl<>(Arrays.asList());
 
         when(request.getAttribute("userId")).thenReturn(followedUserId);
-        when(followService.getUserFollowers(followedUserId, pageable)).thenReturn(followersPage);
+        when(followService.getUserFollowers(followedUserId, pageable, Totals.EXACT)).thenReturn(followersPage);
 
-        ResponseEntity<Page<FollowerView>> response = followController.getFollowers(request, pageable);
+        ResponseEntity<Slice<FollowerView>> response = followController.getFollowers(request, pageable, "exact");
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(followService).getUserFollowers(followedUserId, pageable);
+        verify(followService).getUserFollowers(followedUserId, pageable, Totals.EXACT);
     }
 
     @Test
@@ -233,12 +235,12 @@ class FollowControllerTest {
         Page<FollowerView> followersPage = new PageImpl<>(Arrays.asList());
 
         when(request.getAttribute("userId")).thenReturn(followedUserId);
-        when(followService.getUserFollowers(followedUserId, pageable)).thenReturn(followersPage);
+        when(followService.getUserFollowers(followedUserId, pageable, Totals.EXACT)).thenReturn(followersPage);
 
-        ResponseEntity<Page<FollowerView>> response = followController.getFollowers(request, pageable);
+        ResponseEntity<Slice<FollowerView>> response = followController.getFollowers(request, pageable, "exact");
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(followService).getUserFollowers(followedUserId, pageable);
+        verify(followService).getUserFollowers(followedUserId, pageable, Totals.EXACT);
     }
 
     @Test
@@ -248,9 +250,9 @@ class FollowControllerTest {
         Page<FollowerView> followersPage = new PageImpl<>(Arrays.asList());
 
         when(request.getAttribute("userId")).thenReturn(followedUserId);
-        when(followService.getUserFollowers(followedUserId, pageable)).thenReturn(followersPage);
+        when(followService.getUserFollowers(followedUserId, pageable, Totals.EXACT)).thenReturn(followersPage);
 
-        followController.getFollowers(request, pageable);
+        followController.getFollowers(request, pageable, "exact");
 
         verify(request).getAttribute("userId");
     }
@@ -268,16 +270,16 @@ class FollowControllerTest {
         Page<FollowingView> followingsPage = new PageImpl<>(followingsList, pageable, 3);
 
         when(request.getAttribute("userId")).thenReturn(followingUserId);
-        when(followService.getUserFollowings(followingUserId, pageable)).thenReturn(followingsPage);
+        when(followService.getUserFollowings(followingUserId, pageable, Totals.EXACT)).thenReturn(followingsPage);
 
-        ResponseEntity<Page<FollowingView>> response = followController.getFollowings(request, pageable);
+        ResponseEntity<Slice<FollowingView>> response = followController.getFollowings(request, pageable, "exact");
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(3, response.getBody().getContent().size());
         assertEquals(followingsPage, response.getBody());
         verify(request).getAttribute("userId");
-        verify(followService).getUserFollowings(followingUserId, pageable);
+        verify(followService).getUserFollowings(followingUserId, pageable, Totals.EXACT);
     }
 
     @Test
@@ -288,14 +290,14 @@ class FollowControllerTest {
         Page<FollowingView> emptyPage = new PageImpl<>(Arrays.asList(), pageable, 0);
 
         when(request.getAttribute("userId")).thenReturn(followingUserId);
-        when(followService.getUserFollowings(followingUserId, pageable)).thenReturn(emptyPage);
+        when(followService.getUserFollowings(followingUserId, pageable, Totals.EXACT)).thenReturn(emptyPage);
 
-        ResponseEntity<Page<FollowingView>> response = followController.getFollowings(request, pageable);
+        ResponseEntity<Slice<FollowingView>> response = followController.getFollowings(request, pageable, "exact");
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertTrue(response.getBody().getContent().isEmpty());
-        assertEquals(0, response.getBody().getTotalElements());
+        assertEquals(0, ((Page<?>) response.getBody()).getTotalElements());
     }
 
     @Test
@@ -306,12 +308,12 @@ class FollowControllerTest {
         Page<FollowingView> followingsPage = new PageImpl<>(Arrays.asList());
 
         when(request.getAttribute("userId")).thenReturn(followingUserId);
-        when(followService.getUserFollowings(followingUserId, pageable)).thenReturn(followingsPage);
+        when(followService.getUserFollowings(followingUserId, pageable, Totals.EXACT)).thenReturn(followingsPage);
 
-        ResponseEntity<Page<FollowingView>> response = followController.getFollowings(request, pageable);
+        ResponseEntity<Slice<FollowingView>> response = followController.getFollowings(request, pageable, "exact");
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(followService).getUserFollowings(followingUserId, pageable);
+        verify(followService).getUserFollowings(followingUserId, pageable, Totals.EXACT);
     }
 
     @Test
@@ -322,12 +324,12 @@ class FollowControllerTest {
         Page<FollowingView> followingsPage = new PageImpl<>(Arrays.asList());
 
         when(request.getAttribute("userId")).thenReturn(followingUserId);
-        when(followService.getUserFollowings(followingUserId, pageable)).thenReturn(followingsPage);
+        when(followService.getUserFollowings(followingUserId, pageable, Totals.EXACT)).thenReturn(followingsPage);
 
-        ResponseEntity<Page<FollowingView>> response = followController.getFollowings(request, pageable);
+        ResponseEntity<Slice<FollowingView>> response = followController.getFollowings(request, pageable, "exact");
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(followService).getUserFollowings(followingUserId, pageable);
+        verify(followService).getUserFollowings(followingUserId, pageable, Totals.EXACT);
     }
 
     @Test
@@ -337,9 +339,9 @@ class FollowControllerTest {
         Page<FollowingView> followingsPage = new PageImpl<>(Arrays.asList());
 
         when(request.getAttribute("userId")).thenReturn(followingUserId);
-        when(followService.getUserFollowings(followingUserId, pageable)).thenReturn(followingsPage);
+        when(followService.getUserFollowings(followingUserId, pageable, Totals.EXACT)).thenReturn(followingsPage);
 
-        followController.getFollowings(request, pageable);
+        followController.getFollowings(request, pageable, "exact");
 
         verify(request).getAttribute("userId");
     }
@@ -353,24 +355,24 @@ class FollowControllerTest {
 
         when(request.getAttribute("userId")).thenReturn(userId);
         when(followService.isFollowed(anyLong(), anyLong())).thenReturn(false);
-        when(followService.getUserFollowers(anyLong(), any(Pageable.class)))
+        when(followService.getUserFollowers(anyLong(), any(Pageable.class), eq(Totals.EXACT)))
                 .thenReturn(new PageImpl<>(Arrays.asList()));
-        when(followService.getUserFollowings(anyLong(), any(Pageable.class)))
+        when(followService.getUserFollowings(anyLong(), any(Pageable.class), eq(Totals.EXACT)))
                 .thenReturn(new PageImpl<>(Arrays.asList()));
 
         // Test all endpoints
         followController.follow(request, targetUserId);
         followController.unFollow(request, targetUserId);
         followController.isFollowed(request, targetUserId);
-        followController.getFollowers(request, pageable);
-        followController.getFollowings(request, pageable);
+        followController.getFollowers(request, pageable, "exact");
+        followController.getFollowings(request, pageable, "exact");
 
         // Verify all service methods were called
         verify(followService).follow(userId, targetUserId);
         verify(followService).unfollow(userId, targetUserId);
         verify(followService).isFollowed(userId, targetUserId);
-        verify(followService).getUserFollowers(userId, pageable);
-        verify(followService).getUserFollowings(userId, pageable);
+        verify(followService).getUserFollowers(userId, pageable, Totals.EXACT);
+        verify(followService).getUserFollowings(userId, pageable, Totals.EXACT);
     }
 
     @Test
@@ -381,16 +383,16 @@ class FollowControllerTest {
 
         when(request.getAttribute("userId")).thenReturn(userId);
         when(followService.isFollowed(anyLong(), anyLong())).thenReturn(true);
-        when(followService.getUserFollowers(anyLong(), any(Pageable.class)))
+        when(followService.getUserFollowers(anyLong(), any(Pageable.class), eq(Totals.EXACT)))
                 .thenReturn(new PageImpl<>(Arrays.asList()));
-        when(followService.getUserFollowings(anyLong(), any(Pageable.class)))
+        when(followService.getUserFollowings(anyLong(), any(Pageable.class), eq(Totals.EXACT)))
                 .thenReturn(new PageImpl<>(Arrays.asList()));
 
         ResponseEntity<?> followResponse = followController.follow(request, targetUserId);
         ResponseEntity<?> unfollowResponse = followController.unFollow(request, targetUserId);
         ResponseEntity<?> isFollowedResponse = followController.isFollowed(request, targetUserId);
-        ResponseEntity<Page<FollowerView>> followersResponse = followController.getFollowers(request, pageable);
-        ResponseEntity<Page<FollowingView>> followingsResponse = followController.getFollowings(request, pageable);
+        ResponseEntity<Slice<FollowerView>> followersResponse = followController.getFollowers(request, pageable, "exact");
+        ResponseEntity<Slice<FollowingView>> followingsResponse = followController.getFollowings(request, pageable, "exact");
 
         assertEquals(HttpStatus.OK, followResponse.getStatusCode());
         assertEquals(HttpStatus.OK, unfollowResponse.getStatusCode());
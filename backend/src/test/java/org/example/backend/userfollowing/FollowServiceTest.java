@@ -1,5 +1,7 @@
 package org.example.backend.userfollowing;
 
+import org.example.backend.common.paging.RowEstimator;
+import org.example.backend.common.paging.Totals;
 import org.example.backend.user.User;
 import org.example.backend.user.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +11,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
@@ -29,7 +32,7 @@ class FollowServiceTest {
     void setup() {
         userRepository = mock(UserRepository.class);
         followsRepository = mock(FollowsRepository.class);
-        followService = new FollowService(userRepository, followsRepository);
+        followService = new FollowService(userRepository, followsRepository, mock(RowEstimator.class));
     }
 
     // =============== Helper Methods ===============
@@ -441,7 +444,7 @@ class FollowServiceTest {
         when(followsRepository.findAllByFollowedUser_IdAndIsDeletedFalse(followedUserId, pageable))
                 .thenReturn(expectedPage);
 
-        Page<FollowerView> result = followService.getUserFollowers(followedUserId, pageable);
+        Slice<FollowerView> result = followService.getUserFollowers(followedUserId, pageable, Totals.EXACT);
 
         assertNotNull(result);
         assertEquals(2, result.getContent().size());
@@ -459,7 +462,7 @@ class FollowServiceTest {
         when(followsRepository.findAllByFollowedUser_IdAndIsDeletedFalse(followedUserId, pageable))
                 .thenReturn(emptyPage);
 
-        Page<FollowerView> result = followService.getUserFollowers(followedUserId, pageable);
+        Slice<FollowerView> result = followService.getUserFollowers(followedUserId, pageable, Totals.EXACT);
 
         assertNotNull(result);
         assertTrue(result.getContent().isEmpty());
@@ -476,7 +479,7 @@ class FollowServiceTest {
         when(followsRepository.findAllByFollowedUser_IdAndIsDeletedFalse(followedUserId, pageable))
                 .thenReturn(expectedPage);
 
-        Page<FollowerView> result = followService.getUserFollowers(followedUserId, pageable);
+        Slice<FollowerView> result = followService.getUserFollowers(followedUserId, pageable, Totals.EXACT);
 
         assertNotNull(result);
         verify(followsRepository).findAllByFollowedUser_IdAndIsDeletedFalse(followedUserId, pageable);
@@ -496,7 +499,7 @@ class FollowServiceTest {
         when(followsRepository.findAllByFollowingUser_IdAndIsDeletedFalse(followingUserId, pageable))
                 .thenReturn(expectedPage);
 
-        Page<FollowingView> result = followService.getUserFollowings(followingUserId, pageable);
+        Slice<FollowingView> result = followService.getUserFollowings(followingUserId, pageable, Totals.EXACT);
 
         assertNotNull(result);
         assertEquals(3, result.getContent().size());
@@ -514,7 +517,7 @@ class FollowServiceTest {
         when(followsRepository.findAllByFollowingUser_IdAndIsDeletedFalse(followingUserId, pageable))
                 .thenReturn(emptyPage);
 
-        Page<FollowingView> result = followService.getUserFollowings(followingUserId, pageable);
+        Slice<FollowingView> result = followService.getUserFollowings(followingUserId, pageable, Totals.EXACT);
 
         assertNotNull(result);
         assertTrue(result.getContent().isEmpty());
@@ -531,7 +534,7 @@ class FollowServiceTest {
         when(followsRepository.findAllByFollowingUser_IdAndIsDeletedFalse(followingUserId, pageable))
                 .thenReturn(expectedPage);
 
-        Page<FollowingView> result = followService.getUserFollowings(followingUserId, pageable);
+        Slice<FollowingView> result = followService.getUserFollowings(followingUserId, pageable, Totals.EXACT);
 
         assertNotNull(result);
         verify(followsRepository).findAllByFollowingUser_IdAndIsDeletedFalse(followingUserId, pageable);
@@ -2,6 +2,8 @@ package org.example.backend.util;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -66,4 +68,52 @@ class UuidV7Test {
         assertEquals(BATCH_SIZE, generated.size(),
                 "Expected all " + BATCH_SIZE + " UUIDs to be unique");
     }
+
+    // -------------------------------------------------------------------------
+    // TEST: lowerBound sorts (unsigned, as Postgres does) at or below every id of that ms
+    // -------------------------------------------------------------------------
+    @Test
+    void lowerBound_IsVersion7AndBelowIdsMintedAtOrAfter() throws InterruptedException {
+        Instant before = Instant.now();
+        Thread.sleep(2);
+        UUID id = UuidV7.generate();
+        UUID bound = UuidV7.lowerBound(before);
+
+        assertEquals(7, bound.version());
+        assertEquals(2, bound.variant());
+        assertTrue(Long.compareUnsigned(bound.getMostSignificantBits(), id.getMostSignificantBits()) < 0,
+                "An id minted after the cutoff must sort above its lower bound");
+        assertTrue(Long.compareUnsigned(UuidV7.lowerBound(Instant.now().plusSeconds(1)).getMostSignificantBits(),
+                                        id.getMostSignificantBits()) > 0,
+                "An id minted before the cutoff must sort below its lower bound");
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: timestampOf round-trips the millisecond prefix
+    // -------------------------------------------------------------------------
+    @Test
+    void timestampOf_RoundTripsLowerBoundAndGeneratedIds() {
+        Instant at = Instant.parse("2026-06-15T12:00:00.123Z");
+        assertEquals(at, UuidV7.timestampOf(UuidV7.lowerBound(at)));
+
+        Instant before = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Instant minted = UuidV7.timestampOf(UuidV7.generate());
+        assertFalse(minted.isBefore(before));
+        assertThrows(IllegalArgumentException.class, () -> UuidV7.timestampOf(UUID.randomUUID()));
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: compareUnsigned orders like Postgres where UUID#compareTo doesn't
+    // -------------------------------------------------------------------------
+    @Test
+    void compareUnsigned_TreatsTopBitAsHighNotNegative() {
+        UUID low = new UUID(0x0000_0000_0000_7000L, 0x8000_0000_0000_0000L);
+        UUID high = new UUID(0x8000_0000_0000_7000L, 0x8000_0000_0000_0000L);
+        UUID highLsb = new UUID(0x8000_0000_0000_7000L, 0x8000_0000_0000_0001L);
+
+        assertTrue(high.compareTo(low) < 0, "UUID#compareTo is signed");
+        assertTrue(UuidV7.compareUnsigned(high, low) > 0);
+        assertTrue(UuidV7.compareUnsigned(high, highLsb) < 0);
+        assertEquals(0, UuidV7.compareUnsigned(high, new UUID(high.getMostSignificantBits(), high.getLeastSignificantBits())));
+    }
 }
@@ -0,0 +1,161 @@
+package org.example.backend.vote;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.AbstractPostgresIntegrationTest;
+import org.example.backend.util.UuidV7;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.persistence.autoconfigure.EntityScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vote throughput on one hot post, before and after the sharded counters (V14). THREADS
+ * connections each cast VOTES_PER_THREAD upvotes, one transaction per vote:
+ * <ul>
+ *   <li>before — the V1 shape: the vote row plus an UPDATE of the post row in the same
+ *       transaction (the counting trigger is disabled and its update issued inline);</li>
+ *   <li>after — the vote row only; the V14 trigger adds it to a random counter slot.</li>
+ * </ul>
+ * Both runs must end with exact counts. Opt-in ({@code -Dbenchmark=true}): it needs Docker
+ * and takes longer than a unit test.
+ */
+@Slf4j
+@DataJpaTest
+@EntityScan(basePackages = "org.example.backend")
+@EnableJpaRepositories(basePackages = "org.example.backend")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class HotPostVoteBenchmarkTest extends AbstractPostgresIntegrationTest {
+
+    private static final int THREADS = 8;
+    private static final int VOTES_PER_THREAD = 500;
+    private static final int VOTES = THREADS * VOTES_PER_THREAD;
+
+    private static final String VOTE = "INSERT INTO post_votes (user_id, post_id, vote_type) VALUES (?, ?, 1)";
+    private static final String TOUCH_POST = "UPDATE posts SET upvote_count = upvote_count + 1 WHERE id = ?";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PostVoteRepository postVoteRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate jdbc;
+    private List<Long> voters;
+    private Long ownerId;
+    private UUID forumId;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(dataSource);
+        String tag = UUID.randomUUID().toString();
+        jdbc.update("INSERT INTO users (email) SELECT 'bench-' || g || '-' || ? || '@example.com' " +
+                "FROM generate_series(1, ?) g", tag, VOTES);
+        voters = jdbc.queryForList("SELECT user_id FROM users WHERE email LIKE ? ORDER BY user_id",
+                Long.class, "bench-%-" + tag + "@example.com");
+        ownerId = voters.get(0);
+        forumId = UuidV7.generate();
+        jdbc.update("INSERT INTO forums (id, owner_id, name, description, moderation_requested_at) " +
+                "VALUES (?, ?, 'bench', 'bench', now())", forumId, ownerId);
+    }
+
+    @Test
+    void hotPostVoteThroughput_BeforeAndAfterSharding() throws Exception {
+        UUID before = newPost();
+        UUID after = newPost();
+
+        jdbc.execute("ALTER TABLE post_votes DISABLE TRIGGER post_vote_counts");
+        double beforeRate;
+        try {
+            beforeRate = run(before, true);
+        } finally {
+            jdbc.execute("ALTER TABLE post_votes ENABLE TRIGGER post_vote_counts");
+        }
+        double afterRate = run(after, false);
+
+        assertThat(upvotes(before)).isEqualTo(VOTES);
+        assertThat(postVoteRepository.findTotals(after)).get()
+                .extracting(VoteTotals::getUp).isEqualTo(VOTES);
+        new TransactionTemplate(transactionManager).executeWithoutResult(s -> postVoteRepository.foldShards());
+        assertThat(upvotes(after)).isEqualTo(VOTES);
+
+        log.info("Hot-post votes, {} threads x {}: row counter {} votes/s, sharded {} votes/s ({}x)",
+                THREADS, VOTES_PER_THREAD, Math.round(beforeRate), Math.round(afterRate),
+                String.format("%.1f", afterRate / beforeRate));
+    }
+
+    private UUID newPost() {
+        UUID postId = UuidV7.generate();
+        jdbc.update("INSERT INTO posts (id, forum_id, owner_id, title, last_activity_at, moderation_requested_at) " +
+                "VALUES (?, ?, ?, 'hot', now(), now())", postId, forumId, ownerId);
+        return postId;
+    }
+
+    private int upvotes(UUID postId) {
+        return jdbc.queryForObject("SELECT upvote_count FROM posts WHERE id = ?", Integer.class, postId);
+    }
+
+    /** @return votes per second across all threads */
+    private double run(UUID postId, boolean updatePostRow) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int t = 0; t < THREADS; t++) {
+                List<Long> slice = voters.subList(t * VOTES_PER_THREAD, (t + 1) * VOTES_PER_THREAD);
+                workers.add(pool.submit(() -> {
+                    castVotes(postId, slice, updatePostRow);
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            return VOTES / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void castVotes(UUID postId, List<Long> userIds, boolean updatePostRow) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement vote = connection.prepareStatement(VOTE);
+             PreparedStatement touch = connection.prepareStatement(TOUCH_POST)) {
+            connection.setAutoCommit(false);
+            for (Long userId : userIds) {
+                vote.setLong(1, userId);
+                vote.setObject(2, postId);
+                vote.executeUpdate();
+                if (updatePostRow) {
+                    touch.setObject(1, postId);
+                    touch.executeUpdate();
+                }
+                connection.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package org.example.backend.vote;
+
+import org.example.backend.AbstractPostgresIntegrationTest;
+import org.example.backend.util.UuidV7;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.persistence.autoconfigure.EntityScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The single-statement vote writes against the real schema: the data-modifying CTEs, the V14
+ * counter-slot trigger they fire, and the fold that drains the slots into the post row.
+ */
+@DataJpaTest
+@EntityScan(basePackages = "org.example.backend")
+@EnableJpaRepositories(basePackages = "org.example.backend")
+class PostVoteRepositoryTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PostVoteRepository postVoteRepository;
+
+    private JdbcTemplate jdbc;
+    private Long voterId;
+    private UUID forumId;
+    private UUID postId;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(dataSource);
+        voterId = newUser();
+        forumId = UuidV7.generate();
+        jdbc.update("INSERT INTO forums (id, owner_id, name, description, moderation_requested_at) " +
+                "VALUES (?, ?, 'votes', 'votes', now())", forumId, voterId);
+        postId = newPost();
+    }
+
+    private Long newUser() {
+        return jdbc.queryForObject("INSERT INTO users (email) VALUES (?) RETURNING user_id", Long.class,
+                "voter-" + UUID.randomUUID() + "@example.com");
+    }
+
+    private UUID newPost() {
+        UUID id = UuidV7.generate();
+        jdbc.update("INSERT INTO posts (id, forum_id, owner_id, title, last_activity_at, moderation_requested_at) " +
+                "VALUES (?, ?, ?, 'post', now(), now())", id, forumId, voterId);
+        return id;
+    }
+
+    private VoteTotals totals(UUID id) {
+        return postVoteRepository.findTotals(id).orElseThrow();
+    }
+
+    // ---- TEST: upsert returns the previous vote and the counts from before the write ----
+
+    @Test
+    void upsert_NewVote_ReturnsPreVoteCountsAndCountsIt() {
+        PostVoteChange change = postVoteRepository.upsert(voterId, postId, 1).orElseThrow();
+
+        assertThat(change.getForumId()).isEqualTo(forumId);
+        assertThat(change.getPrevious()).isNull();
+        assertThat(change.getUp()).isZero();
+        assertThat(change.getDown()).isZero();
+        assertThat(totals(postId).getUp()).isEqualTo(1);
+        assertThat(totals(postId).getDown()).isZero();
+    }
+
+    @Test
+    void upsert_Flip_MovesTheVoteBetweenCounts() {
+        postVoteRepository.upsert(voterId, postId, 1);
+
+        PostVoteChange change = postVoteRepository.upsert(voterId, postId, -1).orElseThrow();
+
+        assertThat(change.getPrevious()).isEqualTo(1);
+        assertThat(change.getUp()).isEqualTo(1);
+        assertThat(change.getDown()).isZero();
+        assertThat(totals(postId).getUp()).isZero();
+        assertThat(totals(postId).getDown()).isEqualTo(1);
+        assertThat(postVoteRepository.findByUserIdAndPostId(voterId, postId)).get()
+                .extracting(PostVote::getVoteType).isEqualTo(-1);
+    }
+
+    @Test
+    void upsert_SameValue_CountsNothingTwice() {
+        postVoteRepository.upsert(voterId, postId, 1);
+
+        PostVoteChange change = postVoteRepository.upsert(voterId, postId, 1).orElseThrow();
+
+        assertThat(change.getPrevious()).isEqualTo(1);
+        assertThat(totals(postId).getUp()).isEqualTo(1);
+    }
+
+    @Test
+    void upsert_DeletedPost_WritesNothing() {
+        jdbc.update("UPDATE posts SET is_deleted = true, deleted_at = now() WHERE id = ?", postId);
+
+        assertThat(postVoteRepository.upsert(voterId, postId, 1)).isEmpty();
+        assertThat(postVoteRepository.findByUserIdAndPostId(voterId, postId)).isEmpty();
+    }
+
+    // ---- TEST: updateExisting only changes a vote that is already there ----
+
+    @Test
+    void updateExisting_NoVote_WritesNothing() {
+        assertThat(postVoteRepository.updateExisting(voterId, postId, 1)).isEmpty();
+        assertThat(postVoteRepository.findByUserIdAndPostId(voterId, postId)).isEmpty();
+    }
+
+    @Test
+    void updateExisting_ExistingVote_Flips() {
+        postVoteRepository.upsert(voterId, postId, -1);
+
+        PostVoteChange change = postVoteRepository.updateExisting(voterId, postId, 1).orElseThrow();
+
+        assertThat(change.getPrevious()).isEqualTo(-1);
+        assertThat(change.getDown()).isEqualTo(1);
+        assertThat(totals(postId).getUp()).isEqualTo(1);
+        assertThat(totals(postId).getDown()).isZero();
+    }
+
+    @Test
+    void updateExisting_DeletedPost_WritesNothing() {
+        postVoteRepository.upsert(voterId, postId, -1);
+        jdbc.update("UPDATE posts SET is_deleted = true, deleted_at = now() WHERE id = ?", postId);
+
+        assertThat(postVoteRepository.updateExisting(voterId, postId, 1)).isEmpty();
+        assertThat(postVoteRepository.findByUserIdAndPostId(voterId, postId)).get()
+                .extracting(PostVote::getVoteType).isEqualTo(-1);
+    }
+
+    // ---- TEST: remove returns the removed vote; a deleted post comes back without counts ----
+
+    @Test
+    void remove_ExistingVote_UncountsIt() {
+        postVoteRepository.upsert(voterId, postId, 1);
+
+        PostVoteChange change = postVoteRepository.remove(voterId, postId).orElseThrow();
+
+        assertThat(change.getPrevious()).isEqualTo(1);
+        assertThat(change.getUp()).isEqualTo(1);
+        assertThat(totals(postId).getUp()).isZero();
+        assertThat(postVoteRepository.remove(voterId, postId)).isEmpty();
+    }
+
+    @Test
+    void remove_DeletedPost_RemovesWithoutTargetColumns() {
+        postVoteRepository.upsert(voterId, postId, 1);
+        jdbc.update("UPDATE posts SET is_deleted = true, deleted_at = now() WHERE id = ?", postId);
+
+        PostVoteChange change = postVoteRepository.remove(voterId, postId).orElseThrow();
+
+        assertThat(change.getPrevious()).isEqualTo(1);
+        assertThat(change.getForumId()).isNull();
+        assertThat(change.getUp()).isNull();
+        assertThat(postVoteRepository.findByUserIdAndPostId(voterId, postId)).isEmpty();
+    }
+
+    // ---- TEST: the fold moves pending slots into the post row without changing the totals ----
+
+    @Test
+    void foldShards_DrainsSlotsIntoThePostRow() {
+        postVoteRepository.upsert(voterId, postId, 1);
+        postVoteRepository.upsert(newUser(), postId, 1);
+        postVoteRepository.upsert(newUser(), postId, -1);
+
+        assertThat(postVoteRepository.foldShards()).isPositive();
+
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM post_vote_shards WHERE post_id = ?",
+                Integer.class, postId)).isZero();
+        assertThat(jdbc.queryForObject("SELECT upvote_count FROM posts WHERE id = ?", Integer.class, postId))
+                .isEqualTo(2);
+        assertThat(jdbc.queryForObject("SELECT score FROM posts WHERE id = ?", Integer.class, postId))
+                .isEqualTo(1);
+        assertThat(totals(postId).getUp()).isEqualTo(2);
+        assertThat(totals(postId).getDown()).isEqualTo(1);
+    }
+}
@@ -1,19 +1,21 @@
 package org.example.backend.vote;
 
-import org.example.backend.comment.Comment;
 import org.example.backend.comment.CommentRepository;
-import org.example.backend.post.Post;
+import org.example.backend.post.ForumLeaderboardService;
 import org.example.backend.post.PostRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -27,6 +29,7 @@ class VoteServiceTest {
     @Mock private CommentVoteRepository commentVoteRepository;
     @Mock private PostRepository postRepository;
     @Mock private CommentRepository commentRepository;
+    @Mock private ForumLeaderboardService leaderboards;
 
     @InjectMocks
     private VoteService voteService;
@@ -45,32 +48,23 @@ class VoteServiceTest {
     // Helpers
     // -------------------------------------------------------------------------
 
-    private Post activePost(UUID id) {
-        Post post = new Post();
-        post.setId(id);
-        post.setIsDeleted(false);
-        return post;
-    }
+    private final UUID forumId = UUID.randomUUID();
 
-    private Post deletedPost(UUID id) {
-        Post post = new Post();
-        post.setId(id);
-        post.setIsDeleted(true);
-        return post;
+    private PostVoteChange postChange(Integer previous, Integer up, Integer down, UUID forum) {
+        return new PostVoteChange() {
+            public UUID getForumId() { return forum; }
+            public Integer getPrevious() { return previous; }
+            public Integer getUp() { return up; }
+            public Integer getDown() { return down; }
+        };
     }
 
-    private Comment activeComment(UUID id) {
-        Comment comment = new Comment();
-        comment.setId(id);
-        comment.setIsDeleted(false);
-        return comment;
+    private PostVoteChange postChange(Integer previous, int up, int down) {
+        return postChange(previous, up, down, forumId);
     }
 
-    private Comment deletedComment(UUID id) {
-        Comment comment = new Comment();
-        comment.setId(id);
-        comment.setIsDeleted(true);
-        return comment;
+    private VoteChange commentChange(Integer previous, int up, int down) {
+        return postChange(previous, up, down, null);
     }
 
     private VoteDTO voteDTO(UUID targetId, int value) {
@@ -89,36 +83,40 @@ class VoteServiceTest {
     // =========================================================================
 
     @Test
-    void vote_Post_NewVote_SavesNewRow() {
-        when(postRepository.findById(postId)).thenReturn(Optional.of(activePost(postId)));
-        when(postVoteRepository.findByUserIdAndPostId(userId, postId)).thenReturn(Optional.empty());
+    void vote_Post_NewVote_ReturnsCountsAfterTheVote() {
+        when(postVoteRepository.upsert(userId, postId, 1)).thenReturn(Optional.of(postChange(null, 4, 1)));
 
-        voteService.vote(voteDTO(postId, 1), VoteTargetType.POST, userId);
+        VoteCountsDTO counts = voteService.vote(voteDTO(postId, 1), VoteTargetType.POST, userId);
 
-        ArgumentCaptor<PostVote> captor = ArgumentCaptor.forClass(PostVote.class);
-        verify(postVoteRepository).save(captor.capture());
-        PostVote saved = captor.getValue();
-        assertThat(saved.getUserId()).isEqualTo(userId);
-        assertThat(saved.getPostId()).isEqualTo(postId);
-        assertThat(saved.getVoteType()).isEqualTo(1);
+        assertThat(counts).isEqualTo(new VoteCountsDTO(5, 1, 4));
+        verify(leaderboards).onVote(forumId, postId, 4);
+        verify(postRepository, never()).findById(any());
+        verify(postVoteRepository, never()).save(any());
     }
 
     @Test
-    void vote_Post_ExistingVote_UpdatesVoteType() {
-        PostVote existing = PostVote.builder().userId(userId).postId(postId).voteType(1).build();
-        when(postRepository.findById(postId)).thenReturn(Optional.of(activePost(postId)));
-        when(postVoteRepository.findByUserIdAndPostId(userId, postId)).thenReturn(Optional.of(existing));
+    void vote_Post_FlipsExistingVote() {
+        when(postVoteRepository.upsert(userId, postId, -1)).thenReturn(Optional.of(postChange(1, 4, 1)));
+
+        VoteCountsDTO counts = voteService.vote(voteDTO(postId, -1), VoteTargetType.POST, userId);
+
+        // flipping an upvote to a downvote moves the score by two
+        assertThat(counts).isEqualTo(new VoteCountsDTO(3, 2, 1));
+        verify(leaderboards).onVote(forumId, postId, 1);
+    }
 
-        voteService.vote(voteDTO(postId, -1), VoteTargetType.POST, userId);
+    @Test
+    void vote_Post_SameVoteAgain_LeavesLeaderboardAlone() {
+        when(postVoteRepository.upsert(userId, postId, 1)).thenReturn(Optional.of(postChange(1, 4, 1)));
 
-        ArgumentCaptor<PostVote> captor = ArgumentCaptor.forClass(PostVote.class);
-        verify(postVoteRepository).save(captor.capture());
-        assertThat(captor.getValue().getVoteType()).isEqualTo(-1);
+        assertThat(voteService.vote(voteDTO(postId, 1), VoteTargetType.POST, userId).getScore()).isEqualTo(3);
+        verifyNoInteractions(leaderboards);
     }
 
     @Test
     void vote_Post_PostNotFound_ThrowsIllegalArgument() {
-        when(postRepository.findById(postId)).thenReturn(Optional.empty());
+        when(postVoteRepository.upsert(userId, postId, 1)).thenReturn(Optional.empty());
+        when(postRepository.existsById(postId)).thenReturn(false);
 
         assertThatThrownBy(() -> voteService.vote(voteDTO(postId, 1), VoteTargetType.POST, userId))
                 .isInstanceOf(IllegalArgumentException.class)
@@ -127,7 +125,8 @@ class VoteServiceTest {
 
     @Test
     void vote_Post_DeletedPost_ThrowsIllegalState() {
-        when(postRepository.findById(postId)).thenReturn(Optional.of(deletedPost(postId)));
+        when(postVoteRepository.upsert(userId, postId, 1)).thenReturn(Optional.empty());
+        when(postRepository.existsById(postId)).thenReturn(true);
 
         assertThatThrownBy(() -> voteService.vote(voteDTO(postId, 1), VoteTargetType.POST, userId))
                 .isInstanceOf(IllegalStateException.class)
@@ -139,23 +138,19 @@ class VoteServiceTest {
     // =========================================================================
 
     @Test
-    void vote_Comment_NewVote_SavesNewRow() {
-        when(commentRepository.findById(commentId)).thenReturn(Optional.of(activeComment(commentId)));
-        when(commentVoteRepository.findByUserIdAndCommentId(userId, commentId)).thenReturn(Optional.empty());
+    void vote_Comment_NewVote_ReturnsCountsAfterTheVote() {
+        when(commentVoteRepository.upsert(userId, commentId, -1)).thenReturn(Optional.of(commentChange(null, 2, 0)));
 
-        voteService.vote(voteDTO(commentId, 1), VoteTargetType.COMMENT, userId);
+        VoteCountsDTO counts = voteService.vote(voteDTO(commentId, -1), VoteTargetType.COMMENT, userId);
 
-        ArgumentCaptor<CommentVote> captor = ArgumentCaptor.forClass(CommentVote.class);
-        verify(commentVoteRepository).save(captor.capture());
-        CommentVote saved = captor.getValue();
-        assertThat(saved.getUserId()).isEqualTo(userId);
-        assertThat(saved.getCommentId()).isEqualTo(commentId);
-        assertThat(saved.getVoteType()).isEqualTo(1);
+        assertThat(counts).isEqualTo(new VoteCountsDTO(2, 1, 1));
+        verifyNoInteractions(postVoteRepository, leaderboards);
     }
 
     @Test
     void vote_Comment_DeletedComment_ThrowsIllegalState() {
-        when(commentRepository.findById(commentId)).thenReturn(Optional.of(deletedComment(commentId)));
+        when(commentVoteRepository.upsert(userId, commentId, 1)).thenReturn(Optional.empty());
+        when(commentRepository.existsById(commentId)).thenReturn(true);
 
         assertThatThrownBy(() -> voteService.vote(voteDTO(commentId, 1), VoteTargetType.COMMENT, userId))
                 .isInstanceOf(IllegalStateException.class)
@@ -167,75 +162,109 @@ class VoteServiceTest {
     // =========================================================================
 
     @Test
-    void updateVote_PostVoteFound_UpdatesAndSaves() {
-        PostVote existing = PostVote.builder().userId(userId).postId(postId).voteType(1).build();
-        when(postVoteRepository.findByUserIdAndPostId(userId, postId)).thenReturn(Optional.of(existing));
-        when(postRepository.findById(postId)).thenReturn(Optional.of(activePost(postId)));
+    void updateVote_PostVoteFound_UpdatesInOneStatement() {
+        when(postVoteRepository.updateExisting(userId, postId, -1)).thenReturn(Optional.of(postChange(1, 1, 0)));
 
-        voteService.updateVote(updateVoteDTO(postId, -1), userId);
+        VoteCountsDTO counts = voteService.updateVote(updateVoteDTO(postId, -1), userId);
 
-        ArgumentCaptor<PostVote> captor = ArgumentCaptor.forClass(PostVote.class);
-        verify(postVoteRepository).save(captor.capture());
-        assertThat(captor.getValue().getVoteType()).isEqualTo(-1);
+        assertThat(counts).isEqualTo(new VoteCountsDTO(0, 1, -1));
+        verify(leaderboards).onVote(forumId, postId, -1);
         verifyNoInteractions(commentVoteRepository);
     }
 
     @Test
-    void updateVote_CommentVoteFound_UpdatesAndSaves() {
-        CommentVote existing = CommentVote.builder().userId(userId).commentId(commentId).voteType(-1).build();
-        when(postVoteRepository.findByUserIdAndPostId(userId, commentId)).thenReturn(Optional.empty());
-        when(commentVoteRepository.findByUserIdAndCommentId(userId, commentId)).thenReturn(Optional.of(existing));
-        when(commentRepository.findById(commentId)).thenReturn(Optional.of(activeComment(commentId)));
+    void updateVote_CommentVoteFound_UpdatesInOneStatement() {
+        when(postVoteRepository.updateExisting(userId, commentId, 1)).thenReturn(Optional.empty());
+        when(commentVoteRepository.updateExisting(userId, commentId, 1)).thenReturn(Optional.of(commentChange(-1, 0, 1)));
 
-        voteService.updateVote(updateVoteDTO(commentId, 1), userId);
+        VoteCountsDTO counts = voteService.updateVote(updateVoteDTO(commentId, 1), userId);
 
-        ArgumentCaptor<CommentVote> captor = ArgumentCaptor.forClass(CommentVote.class);
-        verify(commentVoteRepository).save(captor.capture());
-        assertThat(captor.getValue().getVoteType()).isEqualTo(1);
+        assertThat(counts).isEqualTo(new VoteCountsDTO(1, 0, 1));
     }
 
     @Test
     void updateVote_NeitherVoteFound_ThrowsIllegalArgument() {
         UUID unknownId = UUID.randomUUID();
-        when(postVoteRepository.findByUserIdAndPostId(userId, unknownId)).thenReturn(Optional.empty());
-        when(commentVoteRepository.findByUserIdAndCommentId(userId, unknownId)).thenReturn(Optional.empty());
+        when(postVoteRepository.updateExisting(userId, unknownId, 1)).thenReturn(Optional.empty());
+        when(commentVoteRepository.updateExisting(userId, unknownId, 1)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> voteService.updateVote(updateVoteDTO(unknownId, 1), userId))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Vote not found");
     }
 
+    @Test
+    void updateVote_PostDeleted_ThrowsIllegalState() {
+        when(postVoteRepository.updateExisting(userId, postId, 1)).thenReturn(Optional.empty());
+        when(commentVoteRepository.updateExisting(userId, postId, 1)).thenReturn(Optional.empty());
+        when(postVoteRepository.findByUserIdAndPostId(userId, postId)).thenReturn(Optional.of(new PostVote()));
+        when(postRepository.existsById(postId)).thenReturn(true);
+
+        assertThatThrownBy(() -> voteService.updateVote(updateVoteDTO(postId, 1), userId))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Cannot vote a deleted post");
+    }
+
+    @Test
+    void updateVote_CommentDeleted_ThrowsIllegalState() {
+        when(postVoteRepository.updateExisting(userId, commentId, 1)).thenReturn(Optional.empty());
+        when(commentVoteRepository.updateExisting(userId, commentId, 1)).thenReturn(Optional.empty());
+        when(postVoteRepository.findByUserIdAndPostId(userId, commentId)).thenReturn(Optional.empty());
+        when(commentVoteRepository.findByUserIdAndCommentId(userId, commentId)).thenReturn(Optional.of(new CommentVote()));
+        when(commentRepository.existsById(commentId)).thenReturn(true);
+
+        assertThatThrownBy(() -> voteService.updateVote(updateVoteDTO(commentId, 1), userId))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Cannot vote a deleted comment");
+    }
+
     // =========================================================================
     // deleteVote()
     // =========================================================================
 
     @Test
-    void deleteVote_PostVoteFound_DeletesRow() {
-        PostVote existing = PostVote.builder().userId(userId).postId(postId).voteType(1).build();
-        when(postVoteRepository.findByUserIdAndPostId(userId, postId)).thenReturn(Optional.of(existing));
+    void deleteVote_PostVoteFound_DeletesAndMovesLeaderboard() {
+        when(postVoteRepository.remove(userId, postId)).thenReturn(Optional.of(postChange(1, 5, 1)));
 
         voteService.deleteVote(postId, userId);
 
-        verify(postVoteRepository).delete(existing);
+        verify(leaderboards).onVote(forumId, postId, 3);
         verifyNoInteractions(commentVoteRepository);
     }
 
+    @Test
+    void deleteVote_PostVoteOnDeletedPost_DeletesWithoutLeaderboard() {
+        when(postVoteRepository.remove(userId, postId)).thenReturn(Optional.of(postChange(1, null, null, null)));
+
+        voteService.deleteVote(postId, userId);
+
+        verifyNoInteractions(leaderboards, commentVoteRepository);
+    }
+
     @Test
     void deleteVote_CommentVoteFound_DeletesRow() {
-        CommentVote existing = CommentVote.builder().userId(userId).commentId(commentId).voteType(-1).build();
-        when(postVoteRepository.findByUserIdAndPostId(userId, commentId)).thenReturn(Optional.empty());
-        when(commentVoteRepository.findByUserIdAndCommentId(userId, commentId)).thenReturn(Optional.of(existing));
+        when(postVoteRepository.remove(userId, commentId)).thenReturn(Optional.empty());
+        when(commentVoteRepository.remove(userId, commentId)).thenReturn(Optional.of(commentChange(-1, 0, 1)));
 
         voteService.deleteVote(commentId, userId);
 
-        verify(commentVoteRepository).delete(existing);
+        verify(commentVoteRepository).remove(userId, commentId);
+    }
+
+    @Test
+    void deleteVote_Typed_TouchesOnlyThatTable() {
+        when(commentVoteRepository.remove(userId, commentId)).thenReturn(Optional.of(commentChange(1, 1, 0)));
+
+        voteService.deleteVote(commentId, VoteTargetType.COMMENT, userId);
+
+        verifyNoInteractions(postVoteRepository);
     }
 
     @Test
     void deleteVote_NeitherVoteFound_ThrowsIllegalArgument() {
         UUID unknownId = UUID.randomUUID();
-        when(postVoteRepository.findByUserIdAndPostId(userId, unknownId)).thenReturn(Optional.empty());
-        when(commentVoteRepository.findByUserIdAndCommentId(userId, unknownId)).thenReturn(Optional.empty());
+        when(postVoteRepository.remove(userId, unknownId)).thenReturn(Optional.empty());
+        when(commentVoteRepository.remove(userId, unknownId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> voteService.deleteVote(unknownId, userId))
                 .isInstanceOf(IllegalArgumentException.class)
@@ -278,4 +307,74 @@ class VoteServiceTest {
 
         assertThat(result).isEqualTo(0);
     }
+
+    // -------------------------------------------------------------------------
+    // TEST: bulk vote state — one query per table, comments only for the leftovers
+    // -------------------------------------------------------------------------
+    private static VoteState state(UUID targetId, int voteType) {
+        return new VoteState() {
+            public UUID getTargetId() { return targetId; }
+            public Integer getVoteType() { return voteType; }
+        };
+    }
+
+    @Test
+    void getVoteStates_MixedTargets_OneQueryPerTable() {
+        UUID unvoted = UUID.randomUUID();
+        when(postVoteRepository.findStates(userId, Set.of(postId, commentId, unvoted)))
+                .thenReturn(List.of(state(postId, 1)));
+        when(commentVoteRepository.findStates(userId, Set.of(commentId, unvoted)))
+                .thenReturn(List.of(state(commentId, -1)));
+
+        Map<UUID, Integer> states = voteService.getVoteStates(List.of(postId, commentId, unvoted), userId);
+
+        assertThat(states).containsExactlyInAnyOrderEntriesOf(Map.of(postId, 1, commentId, -1));
+    }
+
+    @Test
+    void getVoteStates_AllAnsweredByPosts_SkipsCommentQuery() {
+        when(postVoteRepository.findStates(userId, Set.of(postId))).thenReturn(List.of(state(postId, -1)));
+
+        assertThat(voteService.getVoteStates(List.of(postId), userId)).containsEntry(postId, -1);
+        verifyNoInteractions(commentVoteRepository);
+    }
+
+    @Test
+    void getVoteStates_TooManyIds_Rejected() {
+        List<UUID> ids = Stream.generate(UUID::randomUUID)
+                .limit(VoteService.MAX_VOTE_STATES + 1).toList();
+
+        assertThatThrownBy(() -> voteService.getVoteStates(ids, userId)).isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(postVoteRepository);
+    }
+
+    // -------------------------------------------------------------------------
+    // TEST: exact counts include the pending counter slots
+    // -------------------------------------------------------------------------
+    private static VoteTotals totals(int up, int down) {
+        return new VoteTotals() {
+            public Integer getUp() { return up; }
+            public Integer getDown() { return down; }
+        };
+    }
+
+    @Test
+    void getCounts_PostTarget_ReturnsFoldedPlusPending() {
+        when(postVoteRepository.findTotals(postId)).thenReturn(Optional.of(totals(7, 2)));
+
+        VoteCountsDTO counts = voteService.getCounts(postId);
+
+        assertThat(counts).isEqualTo(new VoteCountsDTO(7, 2, 5));
+        verifyNoInteractions(commentVoteRepository);
+    }
+
+    @Test
+    void getCounts_FallsBackToComments_AndRejectsUnknownTargets() {
+        when(postVoteRepository.findTotals(any())).thenReturn(Optional.empty());
+        when(commentVoteRepository.findTotals(commentId)).thenReturn(Optional.of(totals(1, 3)));
+        when(commentVoteRepository.findTotals(postId)).thenReturn(Optional.empty());
+
+        assertThat(voteService.getCounts(commentId).getScore()).isEqualTo(-2);
+        assertThatThrownBy(() -> voteService.getCounts(postId)).isInstanceOf(IllegalArgumentException.class);
+    }
 }
@@ -87,6 +87,14 @@ const PostCard = ({ postBody, fullMode = false, showForumName = false }) => {
 
     useEffect(() => {
         const initializePost = async () => {
+            // Post lists carry the names inline; only fall back to the name endpoints
+            // for post bodies that don't (e.g. one passed through router state).
+            if (postBody.authorName != null && (!showForumName || postBody.forumName != null)) {
+                setFirstName(postBody.authorName);
+                if (showForumName) setForumName(postBody.forumName);
+                setLoading(false);
+                return;
+            }
             try {
                 const requests = [getModApi({ userId: postBody.ownerId })];
                 if (showForumName) requests.push(getForumNameApi({ forumId: postBody.forumId }));